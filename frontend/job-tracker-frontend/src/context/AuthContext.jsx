@@ -23,10 +23,11 @@ export const AuthProvider = ({ children }) => {
   const login = async (credentials) => {
     try {
       const response = await authAPI.login(credentials);
-      const { token, ...userData } = response.data;
+      const { token, refreshToken, ...userData } = response.data;
       
-      // Store token and user data
+      // Store tokens and user data
       localStorage.setItem('token', token);
+      localStorage.setItem('refreshToken', refreshToken);
       localStorage.setItem('user', JSON.stringify(userData));
       setUser(userData);
       
@@ -43,10 +44,11 @@ export const AuthProvider = ({ children }) => {
   const register = async (userData) => {
     try {
       const response = await authAPI.register(userData);
-      const { token, ...newUser } = response.data;
+      const { token, refreshToken, ...newUser } = response.data;
       
-      // Store token and user data
+      // Store tokens and user data
       localStorage.setItem('token', token);
+      localStorage.setItem('refreshToken', refreshToken);
       localStorage.setItem('user', JSON.stringify(newUser));
       setUser(newUser);
       
@@ -61,7 +63,13 @@ export const AuthProvider = ({ children }) => {
 
   // Logout function
   const logout = () => {
+    // Revoke refresh token server-side; ignore failures since we log out anyway
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      authAPI.logout(refreshToken).catch(() => {});
+    }
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('user');
     setUser(null);
   };
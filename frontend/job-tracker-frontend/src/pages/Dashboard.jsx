@@ -1,7 +1,7 @@
 // src/pages/Dashboard.jsx
 import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
-import { jobAPI } from '../services/api';
+import { dashboardAPI, subscribeToJobEvents } from '../services/api';
 import { 
   PlusCircle, Briefcase, Clock, CheckCircle, 
   XCircle, TrendingUp, Filter, Search 
@@ -11,21 +11,23 @@ import Layout from '../components/Layout';
 const Dashboard = () => {
   const [stats, setStats] = useState(null);
   const [recentJobs, setRecentJobs] = useState([]);
+  const [upcomingDeadlines, setUpcomingDeadlines] = useState([]);
   const [loading, setLoading] = useState(true);
 
   useEffect(() => {
     fetchData();
+    // Keep stats and recent applications current across tabs
+    return subscribeToJobEvents(() => fetchData());
   }, []);
 
   const fetchData = async () => {
     try {
-      const [statsRes, jobsRes] = await Promise.all([
-        jobAPI.getStats(),
-        jobAPI.getAll({ page: 0, size: 5, sortBy: 'createdAt', sortDir: 'desc' })
-      ]);
+      // One round trip for everything on the page
+      const response = await dashboardAPI.get();
       
-      setStats(statsRes.data);
-      setRecentJobs(jobsRes.data.content);
+      setStats(response.data.stats);
+      setRecentJobs(response.data.recentApplications);
+      setUpcomingDeadlines(response.data.upcomingDeadlines);
     } catch (error) {
       console.error('Error fetching dashboard data:', error);
     } finally {
@@ -116,6 +118,35 @@ const Dashboard = () => {
           </div>
         </div>
 
+        {/* Upcoming Deadlines */}
+        {upcomingDeadlines.length > 0 && (
+          <div className="bg-white rounded-lg shadow">
+            <div className="p-6 border-b border-gray-200">
+              <h2 className="text-xl font-bold text-gray-900 flex items-center gap-2">
+                <Clock className="w-5 h-5" />
+                Upcoming Deadlines
+              </h2>
+            </div>
+            <div className="divide-y divide-gray-200">
+              {upcomingDeadlines.map((job) => (
+                <Link
+                  key={job.id}
+                  to={`/jobs/${job.id}`}
+                  className="flex justify-between items-center p-4 hover:bg-gray-50 transition-colors"
+                >
+                  <div>
+                    <p className="font-semibold text-gray-900">{job.title}</p>
+                    <p className="text-sm text-gray-600">{job.company}</p>
+                  </div>
+                  <span className="text-sm font-medium text-gray-700">
+                    {new Date(job.deadline).toLocaleDateString()}
+                  </span>
+                </Link>
+              ))}
+            </div>
+          </div>
+        )}
+
         {/* Recent Applications */}
         <div className="bg-white rounded-lg shadow">
           <div className="p-6 border-b border-gray-200">
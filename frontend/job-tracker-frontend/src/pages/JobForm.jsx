@@ -16,7 +16,8 @@ const JobForm = () => {
     status: 'APPLIED',
     appliedDate: new Date().toISOString().split('T')[0],
     deadline: '',
-    notes: ''
+    notes: '',
+    tags: ''
   });
   const [errors, setErrors] = useState({});
   const [loading, setLoading] = useState(false);
@@ -31,7 +32,8 @@ const JobForm = () => {
   const fetchJobData = async () => {
     try {
       const response = await jobAPI.getById(id);
-      setFormData(response.data);
+      // Tags are edited as one comma-separated string
+      setFormData({ ...response.data, tags: (response.data.tags || []).join(', ') });
     } catch (error) {
       console.error('Error fetching job:', error);
       alert('Failed to load job application');
@@ -76,11 +78,16 @@ const JobForm = () => {
 
     setLoading(true);
 
+    const data = {
+      ...formData,
+      tags: formData.tags.split(',').map((tag) => tag.trim()).filter(Boolean)
+    };
+
     try {
       if (isEdit) {
-        await jobAPI.update(id, formData);
+        await jobAPI.update(id, data);
       } else {
-        await jobAPI.create(formData);
+        await jobAPI.create(data);
       }
       navigate('/jobs');
     } catch (error) {
@@ -210,6 +217,21 @@ const JobForm = () => {
               </div>
             </div>
 
+            {/* Tags */}
+            <div>
+              <label className="block text-sm font-medium text-gray-700 mb-1">
+                Tags (Optional)
+              </label>
+              <input
+                type="text"
+                name="tags"
+                value={formData.tags}
+                onChange={handleChange}
+                className="w-full px-4 py-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+                placeholder="e.g., remote, referral"
+              />
+            </div>
+
             {/* Notes */}
             <div>
               <label className="block text-sm font-medium text-gray-700 mb-1">
@@ -1,7 +1,7 @@
 // src/pages/JobList.jsx
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { Link } from 'react-router-dom';
-import { jobAPI } from '../services/api';
+import { jobAPI, subscribeToJobEvents } from '../services/api';
 import { 
   PlusCircle, Search, Filter, ChevronLeft, ChevronRight,
   Eye, Edit, Trash2
@@ -16,22 +16,35 @@ const JobList = () => {
     status: '',
     startDate: '',
     endDate: '',
+    tags: '',
+    tagMatch: 'all',
     page: 0,
     size: 10,
     sortBy: 'appliedDate',
     sortDir: 'desc'
   });
   const [pagination, setPagination] = useState({});
+  const [facets, setFacets] = useState(null);
+  // Current filters for the event subscription, which is opened once
+  const filtersRef = useRef(filters);
 
   useEffect(() => {
+    filtersRef.current = filters;
     fetchJobs();
   }, [filters]);
 
+  useEffect(() => {
+    // Refetch when applications change in another tab or on another device
+    return subscribeToJobEvents(() => fetchJobs());
+  }, []);
+
   const fetchJobs = async () => {
     setLoading(true);
     try {
-      const response = await jobAPI.getAll(filters);
+      // Counts by status, company and month for the same filters come with the page
+      const response = await jobAPI.getAll({ ...filtersRef.current, facets: true });
       setJobs(response.data.content);
+      setFacets(response.data.facets);
       setPagination({
         totalPages: response.data.totalPages,
         totalElements: response.data.totalElements,
@@ -53,6 +66,8 @@ const JobList = () => {
     if (window.confirm('Are you sure you want to delete this application?')) {
       try {
         await jobAPI.delete(id);
+        setJobs((current) => current.filter((job) => job.id !== id));
+        // Refill the page and counts without waiting for the change event
         fetchJobs();
       } catch (error) {
         console.error('Error deleting job:', error);
@@ -60,6 +75,18 @@ const JobList = () => {
     }
   };
 
+  const statusLabel = (status, label) => {
+    const count = facets?.status?.[status];
+    return count === undefined ? label : `${label} (${count})`;
+  };
+
+  // Filter the list down to one applied month (yyyy-MM)
+  const handleMonthClick = (month) => {
+    const [year, monthNumber] = month.split('-').map(Number);
+    const lastDay = new Date(year, monthNumber, 0).getDate();
+    setFilters({ ...filters, startDate: `${month}-01`, endDate: `${month}-${lastDay}`, page: 0 });
+  };
+
   const getStatusColor = (status) => {
     const colors = {
       APPLIED: 'bg-blue-100 text-blue-800',
@@ -124,13 +151,13 @@ const JobList = () => {
                 className="w-full px-4 py-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
               >
                 <option value="">All Status</option>
-                <option value="APPLIED">Applied</option>
-                <option value="SCREENING">Screening</option>
-                <option value="INTERVIEW">Interview</option>
-                <option value="OFFER">Offer</option>
-                <option value="ACCEPTED">Accepted</option>
-                <option value="REJECTED">Rejected</option>
-                <option value="WITHDRAWN">Withdrawn</option>
+                <option value="APPLIED">{statusLabel('APPLIED', 'Applied')}</option>
+                <option value="SCREENING">{statusLabel('SCREENING', 'Screening')}</option>
+                <option value="INTERVIEW">{statusLabel('INTERVIEW', 'Interview')}</option>
+                <option value="OFFER">{statusLabel('OFFER', 'Offer')}</option>
+                <option value="ACCEPTED">{statusLabel('ACCEPTED', 'Accepted')}</option>
+                <option value="REJECTED">{statusLabel('REJECTED', 'Rejected')}</option>
+                <option value="WITHDRAWN">{statusLabel('WITHDRAWN', 'Withdrawn')}</option>
               </select>
             </div>
 
@@ -161,6 +188,35 @@ const JobList = () => {
             </div>
           </div>
 
+          {/* Tags */}
+          <div className="mt-4 flex gap-4">
+            <div className="flex-1">
+              <label className="block text-sm font-medium text-gray-700 mb-1">
+                Tags
+              </label>
+              <input
+                type="text"
+                placeholder="e.g., remote, referral"
+                value={filters.tags}
+                onChange={(e) => handleFilterChange('tags', e.target.value)}
+                className="w-full px-4 py-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+              />
+            </div>
+            <div className="flex-1">
+              <label className="block text-sm font-medium text-gray-700 mb-1">
+                Match
+              </label>
+              <select
+                value={filters.tagMatch}
+                onChange={(e) => handleFilterChange('tagMatch', e.target.value)}
+                className="w-full px-4 py-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+              >
+                <option value="all">All tags</option>
+                <option value="any">Any tag</option>
+              </select>
+            </div>
+          </div>
+
           {/* Sort */}
           <div className="mt-4 flex gap-4">
             <div className="flex-1">
@@ -195,6 +251,45 @@ const JobList = () => {
           </div>
         </div>
 
+        {/* Facets */}
+        {facets && (facets.companies.length > 0 || Object.keys(facets.months).length > 0) && (
+          <div className="bg-white rounded-lg shadow p-6 grid grid-cols-1 md:grid-cols-2 gap-6">
+            <div>
+              <h2 className="text-sm font-medium text-gray-700 mb-2">Top Companies</h2>
+              <div className="flex flex-wrap gap-2">
+                {facets.companies.map(({ value, count }) => (
+                  <button
+                    key={value}
+                    onClick={() => handleFilterChange('keyword', value)}
+                    className="px-3 py-1 rounded-full bg-indigo-50 text-indigo-700 text-xs hover:bg-indigo-100"
+                  >
+                    {value} ({count})
+                  </button>
+                ))}
+                {facets.otherCompanies > 0 && (
+                  <span className="px-3 py-1 text-xs text-gray-500">
+                    +{facets.otherCompanies} at other companies
+                  </span>
+                )}
+              </div>
+            </div>
+            <div>
+              <h2 className="text-sm font-medium text-gray-700 mb-2">By Month</h2>
+              <div className="flex flex-wrap gap-2">
+                {Object.entries(facets.months).map(([month, count]) => (
+                  <button
+                    key={month}
+                    onClick={() => handleMonthClick(month)}
+                    className="px-3 py-1 rounded-full bg-gray-100 text-gray-700 text-xs hover:bg-gray-200"
+                  >
+                    {month} ({count})
+                  </button>
+                ))}
+              </div>
+            </div>
+          </div>
+        )}
+
         {/* Job List */}
         <div className="bg-white rounded-lg shadow overflow-hidden">
           {loading ? (
@@ -234,6 +329,15 @@ const JobList = () => {
                       <tr key={job.id} className="hover:bg-gray-50">
                         <td className="px-6 py-4 whitespace-nowrap">
                           <div className="text-sm font-medium text-gray-900">{job.title}</div>
+                          {job.tags?.length > 0 && (
+                            <div className="flex flex-wrap gap-1 mt-1">
+                              {job.tags.map((tag) => (
+                                <span key={tag} className="px-2 py-0.5 rounded bg-gray-100 text-gray-700 text-xs">
+                                  {tag}
+                                </span>
+                              ))}
+                            </div>
+                          )}
                         </td>
                         <td className="px-6 py-4 whitespace-nowrap">
                           <div className="text-sm text-gray-900">{job.company}</div>
@@ -26,15 +26,90 @@ api.interceptors.request.use(
   }
 );
 
+// Clear stored session and send user to login
+const forceLogout = () => {
+  localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
+  localStorage.removeItem('user');
+  window.location.href = '/login';
+};
+
+// How long a rejected refresh waits for another tab to store the tokens it got
+const OTHER_TAB_REFRESH_WAIT_MS = 3000;
+
+// Resolves with the access token once the stored refresh token differs from the given one
+// (another tab rotated it), or with null after the timeout
+const waitForOtherTabRefresh = (refreshToken) =>
+  new Promise((resolve) => {
+    let timer = null;
+    const finish = (token) => {
+      clearTimeout(timer);
+      window.removeEventListener('storage', onStorage);
+      resolve(token);
+    };
+    const check = () => {
+      const current = localStorage.getItem('refreshToken');
+      if (current && current !== refreshToken) finish(localStorage.getItem('token'));
+    };
+    // Other tabs' writes arrive as storage events; the token is written before the refresh token
+    const onStorage = (event) => {
+      if (event.key === 'refreshToken') check();
+    };
+    window.addEventListener('storage', onStorage);
+    timer = setTimeout(() => finish(null), OTHER_TAB_REFRESH_WAIT_MS);
+    check();
+  });
+
+// Single in-flight refresh shared by all requests of this tab that hit a 401
+// Tabs share the refresh token: when two refresh at once, the server rejects the second
+// use of the rotated token, so the losing tab picks up the tokens the winner stored
+let refreshPromise = null;
+
+const refreshAccessToken = () => {
+  if (!refreshPromise) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    refreshPromise = axios
+      .post(`${API_BASE_URL}/auth/refresh`, { refreshToken })
+      .then((response) => {
+        const { token, refreshToken: nextRefreshToken } = response.data;
+        localStorage.setItem('token', token);
+        localStorage.setItem('refreshToken', nextRefreshToken);
+        return token;
+      })
+      .catch(async (error) => {
+        const token = await waitForOtherTabRefresh(refreshToken);
+        if (!token) throw error;
+        return token;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
 // Response interceptor to handle errors
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
-    if (error.response?.status === 401) {
-      // Token expired or invalid - logout user
-      localStorage.removeItem('token');
-      localStorage.removeItem('user');
-      window.location.href = '/login';
+  async (error) => {
+    const originalRequest = error.config;
+    const isAuthCall = originalRequest?.url?.startsWith('/auth/');
+
+    if (error.response?.status === 401 && !isAuthCall) {
+      // Access token expired - try a single refresh, then replay the request
+      if (!originalRequest._retry && localStorage.getItem('refreshToken')) {
+        originalRequest._retry = true;
+        try {
+          const token = await refreshAccessToken();
+          originalRequest.headers.Authorization = `Bearer ${token}`;
+          return api(originalRequest);
+        } catch (refreshError) {
+          forceLogout();
+          return Promise.reject(refreshError);
+        }
+      }
+      // Refresh token missing or rejected - logout user
+      forceLogout();
     }
     return Promise.reject(error);
   }
@@ -44,6 +119,7 @@ api.interceptors.response.use(
 export const authAPI = {
   login: (credentials) => api.post('/auth/login', credentials),
   register: (userData) => api.post('/auth/register', userData),
+  logout: (refreshToken) => api.post('/auth/logout', { refreshToken }),
   checkUsername: (username) => api.get(`/auth/check-username?username=${username}`),
   checkEmail: (email) => api.get(`/auth/check-email?email=${email}`),
 };
@@ -56,6 +132,110 @@ export const jobAPI = {
   update: (id, data) => api.put(`/jobs/${id}`, data),
   delete: (id) => api.delete(`/jobs/${id}`),
   getStats: () => api.get('/jobs/stats'),
+  getTags: () => api.get('/jobs/tags'),
+  getChanges: (since) => api.get('/jobs/changes', { params: { since } }),
+};
+
+// Attachment API (resumes, cover letters); the file is sent as the raw request body
+export const attachmentAPI = {
+  upload: (file) => api.post('/attachments', file, {
+    params: { filename: file.name },
+    headers: { 'Content-Type': file.type || 'application/octet-stream' },
+  }),
+  getAll: () => api.get('/attachments'),
+  delete: (id) => api.delete(`/attachments/${id}`),
+  download: (id) => api.get(`/attachments/${id}/content`, { responseType: 'blob' }),
+  getForJob: (jobId) => api.get(`/jobs/${jobId}/attachments`),
+  attach: (jobId, attachmentId) => api.put(`/jobs/${jobId}/attachments/${attachmentId}`),
+  detach: (jobId, attachmentId) => api.delete(`/jobs/${jobId}/attachments/${attachmentId}`),
+};
+
+// Dashboard API (stats, recent applications and upcoming deadlines in one call)
+export const dashboardAPI = {
+  get: () => api.get('/dashboard'),
+};
+
+// Change events (Server-Sent Events over fetch, so the Authorization header can be sent)
+// Calls onEvent(name, data) for "change" and "resync" events; reconnects with
+// Last-Event-ID so missed changes are replayed. Returns a function that unsubscribes.
+// Failed connections are retried with exponential backoff; a rejected refresh logs out.
+const EVENTS_RETRY_MS = 3000;
+const EVENTS_MAX_RETRY_MS = 60000;
+
+export const subscribeToJobEvents = (onEvent) => {
+  const controller = new AbortController();
+  let lastEventId = null;
+
+  const dispatch = (block) => {
+    let id = null;
+    let name = 'message';
+    let data = '';
+    for (const line of block.split('\n')) {
+      if (line.startsWith('id:')) id = line.slice(3).trim();
+      else if (line.startsWith('event:')) name = line.slice(6).trim();
+      else if (line.startsWith('data:')) data += line.slice(5);
+    }
+    if (id) lastEventId = id;
+    if (data) onEvent(name, JSON.parse(data));
+  };
+
+  const connect = async () => {
+    // Consecutive attempts that did not get a stream
+    let failures = 0;
+    let refreshed = false;
+    while (!controller.signal.aborted) {
+      try {
+        const headers = { Authorization: `Bearer ${localStorage.getItem('token')}` };
+        if (lastEventId) headers['Last-Event-ID'] = lastEventId;
+        const response = await fetch(`${API_BASE_URL}/jobs/events`, { headers, signal: controller.signal });
+
+        if (response.status === 401) {
+          // A fresh token that is still rejected will not get better by refreshing again
+          if (refreshed) {
+            forceLogout();
+            return;
+          }
+          try {
+            await refreshAccessToken();
+          } catch (refreshError) {
+            // Refresh token revoked or expired (e.g. logged out in another tab)
+            if (!controller.signal.aborted) forceLogout();
+            return;
+          }
+          refreshed = true;
+          continue;
+        }
+        if (!response.ok || !response.body) {
+          throw new Error(`Job event stream request failed with status ${response.status}`);
+        }
+
+        failures = 0;
+        refreshed = false;
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += value;
+          let end;
+          while ((end = buffer.indexOf('\n\n')) >= 0) {
+            dispatch(buffer.slice(0, end));
+            buffer = buffer.slice(end + 2);
+          }
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return;
+        failures += 1;
+        console.error('Job event stream error:', error);
+      }
+      // Stream ended (timeout, dropped as slow) - reconnect after a pause, longer after each failure
+      const delay = Math.min(EVENTS_RETRY_MS * 2 ** failures, EVENTS_MAX_RETRY_MS);
+      await new Promise((resolve) => setTimeout(resolve, delay));
+    }
+  };
+
+  connect();
+  return () => controller.abort();
 };
 
 // Admin API
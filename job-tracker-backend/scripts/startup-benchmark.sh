@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+#
+# Cold-start benchmark: time from JVM launch to the first successful HTTP request
+# (GET /actuator/health returning 200, which includes a database round trip).
+#
+# Build first:   mvn -Pprod package -DskipTests
+# Usage:         scripts/startup-benchmark.sh [runs] [-- extra application args]
+#
+# Modes compared:
+#   jar       fat jar, no AOT, no CDS (the previous way of running)
+#   extracted extracted jar, no AOT, no CDS
+#   aot-cds   extracted jar with Spring AOT and the class data sharing archive
+#
+# Database settings come from the environment (SPRING_DATASOURCE_URL, ...) or the extra
+# arguments. EXTRA_CLASSPATH adds jars, e.g. a JDBC driver for a local H2 database.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+shift || true
+[[ "${1:-}" == "--" ]] && shift
+APP_ARGS=("$@")
+
+PORT=${PORT:-18080}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAR=$(ls target/job-tracker-backend-*.jar | grep -v original | head -n 1)
+APP_DIR=target/application
+APP_JAR=$APP_DIR/$(basename "$JAR")
+MAIN=com.jobtracker.JobTrackerBackendApplication
+EXTRA=${EXTRA_CLASSPATH:-}
+
+if [[ ! -f $APP_DIR/application.jsa ]]; then
+    echo "Missing $APP_DIR/application.jsa - build with: mvn -Pprod package -DskipTests" >&2
+    exit 1
+fi
+
+launch() {
+    local mode=$1
+    local common=(-Dserver.port="$PORT" -Dspring.profiles.active=prod)
+    case $mode in
+        jar)
+            exec "$JAVA" "${common[@]}" -Dloader.path="$EXTRA" -cp "$JAR" \
+                org.springframework.boot.loader.launch.PropertiesLauncher "${APP_ARGS[@]}" ;;
+        extracted)
+            exec "$JAVA" "${common[@]}" -cp "$APP_JAR${EXTRA:+:$EXTRA}" "$MAIN" "${APP_ARGS[@]}" ;;
+        aot-cds)
+            exec "$JAVA" "${common[@]}" -XX:SharedArchiveFile="$APP_DIR/application.jsa" -Xlog:cds=off \
+                -Dspring.aot.enabled=true -cp "$APP_JAR${EXTRA:+:$EXTRA}" "$MAIN" "${APP_ARGS[@]}" ;;
+    esac
+}
+
+# Milliseconds from launch until /actuator/health answers 200
+measure() {
+    local mode=$1
+    local start end pid
+    start=$(date +%s%N)
+    launch "$mode" > "target/startup-$mode.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "$mode: application exited, see target/startup-$mode.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo $(( (end - start) / 1000000 ))
+}
+
+printf "%-10s %8s %8s %8s\n" mode min median max
+for mode in jar extracted aot-cds; do
+    times=()
+    for ((i = 0; i < RUNS; i++)); do
+        times+=("$(measure "$mode")")
+    done
+    sorted=($(printf "%s\n" "${times[@]}" | sort -n))
+    printf "%-10s %6sms %6sms %6sms\n" "$mode" "${sorted[0]}" "${sorted[$((RUNS / 2))]}" "${sorted[$((RUNS - 1))]}"
+done
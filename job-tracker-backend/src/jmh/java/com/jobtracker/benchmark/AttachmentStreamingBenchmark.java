@@ -0,0 +1,168 @@
+package com.jobtracker.benchmark;
+
+import com.jobtracker.storage.ContentStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Attachment downloads to a loopback socket, several at a time: FileChannel.transferTo (what
+ * ContentStore and Tomcat's sendfile do) versus a buffered stream copy and reading the whole
+ * file into a byte[] first; plus streaming an upload into the store (hash + write)
+ * Run with -prof gc: gc.alloc.rate.norm is the heap allocated per download, which stays
+ * near zero for transferTo whatever the file size
+ *   mvn -Pbenchmark verify -DskipTests -Djmh.args="AttachmentStreamingBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgs = {"-Xmx256m"})
+public class AttachmentStreamingBenchmark {
+
+	@Param({"1048576", "20971520"})
+	private int fileSize;
+
+	private Path root;
+
+	private ContentStore store;
+
+	private String sha256;
+
+	private ServerSocketChannel server;
+
+	private final ExecutorService drains = Executors.newCachedThreadPool();
+
+	/**
+	 * One client connection per benchmark thread, like concurrent downloads
+	 */
+	@State(Scope.Thread)
+	public static class Connection {
+
+		private SocketChannel socket;
+
+		private OutputStream out;
+
+		@Setup
+		public void connect(AttachmentStreamingBenchmark benchmark) throws IOException {
+			socket = SocketChannel.open(benchmark.server.getLocalAddress());
+			out = Channels.newOutputStream(socket);
+		}
+
+		@TearDown
+		public void close() throws IOException {
+			socket.close();
+		}
+	}
+
+	@Setup
+	public void setUp() throws IOException {
+		root = Files.createTempDirectory("attachment-benchmark");
+		store = new ContentStore(root, Long.MAX_VALUE);
+		sha256 = store.store(new PatternInputStream(fileSize)).sha256();
+
+		// The "client": reads and discards whatever is sent on each connection
+		server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		drains.submit(() -> {
+			while (server.isOpen()) {
+				SocketChannel client = server.accept();
+				drains.submit(() -> drain(client));
+			}
+			return null;
+		});
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		server.close();
+		drains.shutdownNow();
+		try (Stream<Path> files = Files.walk(root)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(file);
+			}
+		}
+	}
+
+	@Benchmark
+	public long transferTo(Connection connection) throws IOException {
+		return store.transferTo(sha256, 0, fileSize, connection.socket);
+	}
+
+	@Benchmark
+	public long bufferedCopy(Connection connection) throws IOException {
+		try (InputStream in = Files.newInputStream(store.path(sha256))) {
+			return in.transferTo(connection.out);
+		}
+	}
+
+	@Benchmark
+	public long readAllBytes(Connection connection) throws IOException {
+		byte[] content = Files.readAllBytes(store.path(sha256));
+		connection.out.write(content);
+		return content.length;
+	}
+
+	@Benchmark
+	public ContentStore.StoredContent upload() throws IOException {
+		// Same content every time, so after hashing the new copy is discarded as a duplicate
+		return store.store(new PatternInputStream(fileSize));
+	}
+
+	private static Void drain(SocketChannel client) throws IOException {
+		try (client) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+			while (client.read(buffer) >= 0) {
+				buffer.clear();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Generated content of a given length, so uploads do not need the file in memory either
+	 */
+	private static final class PatternInputStream extends InputStream {
+
+		private long remaining;
+
+		PatternInputStream(long length) {
+			this.remaining = length;
+		}
+
+		@Override
+		public int read() {
+			return remaining-- > 0 ? (int) (remaining & 0x7f) : -1;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int n = (int) Math.min(length, remaining);
+			for (int i = 0; i < n; i++) {
+				buffer[offset + i] = (byte) ((remaining - i - 1) & 0x7f);
+			}
+			remaining -= n;
+			return n;
+		}
+	}
+
+}
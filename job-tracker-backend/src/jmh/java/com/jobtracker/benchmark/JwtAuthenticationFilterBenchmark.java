@@ -0,0 +1,65 @@
+package com.jobtracker.benchmark;
+
+import com.jobtracker.security.JwtAuthenticationFilter;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JwtAuthenticationFilter: header parsing, token validation and setting
+ * up the security context. ANONYMOUS (no Authorization header) is the baseline of the mock
+ * request and filter chain; the difference to BEARER is what authentication adds
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+	public enum Auth {
+		BEARER,
+		ANONYMOUS
+	}
+
+	@Param({"BEARER", "ANONYMOUS"})
+	private Auth auth;
+
+	private JwtAuthenticationFilter filter;
+
+	private String authorization;
+
+	@Setup
+	public void setUp() {
+		var tokenProvider = JwtTokenProviderBenchmark.newProvider(900000L);
+		filter = new JwtAuthenticationFilter();
+		ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+		if (auth == Auth.BEARER) {
+			authorization = "Bearer " + tokenProvider.generateAccessToken(42L, "alice", "USER");
+		}
+	}
+
+	@Benchmark
+	public Object doFilter() throws ServletException, IOException {
+		// OncePerRequestFilter marks the request as filtered, so each invocation needs a new one
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jobs");
+		if (authorization != null) {
+			request.addHeader("Authorization", authorization);
+		}
+		try {
+			filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+			return SecurityContextHolder.getContext().getAuthentication();
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+}
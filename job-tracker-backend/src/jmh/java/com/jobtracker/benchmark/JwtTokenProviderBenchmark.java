@@ -0,0 +1,85 @@
+package com.jobtracker.benchmark;
+
+import com.jobtracker.security.JwtTokenProvider;
+import com.jobtracker.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token validation as done on every authenticated request, and token generation
+ * as done on login and refresh
+ * EXPIRED and TAMPERED measure the rejection paths, which go through JJWT exceptions
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+	public enum Token {
+		VALID,
+		EXPIRED,
+		TAMPERED
+	}
+
+	static final String SECRET = "BenchmarkSecretKeyThatIsAtLeast256BitsLongForHS256AlgorithmUse";
+
+	private JwtTokenProvider tokenProvider;
+
+	/**
+	 * Token to validate; only parseAccessToken is run per kind of token
+	 */
+	@State(Scope.Benchmark)
+	public static class Tokens {
+
+		@Param({"VALID", "EXPIRED", "TAMPERED"})
+		private Token token;
+
+		private String value;
+
+		@Setup
+		public void setUp() {
+			JwtTokenProvider tokenProvider = newProvider(900000L);
+			value = switch (token) {
+				case VALID -> tokenProvider.generateAccessToken(42L, "alice", "USER");
+				case EXPIRED -> newProvider(-60000L).generateAccessToken(42L, "alice", "USER");
+				case TAMPERED -> {
+					String valid = tokenProvider.generateAccessToken(42L, "alice", "USER");
+					yield valid.substring(0, valid.length() - 4) + "AAAA";
+				}
+			};
+		}
+
+	}
+
+	@Setup
+	public void setUp() {
+		tokenProvider = newProvider(900000L);
+	}
+
+	@Benchmark
+	public UserPrincipal parseAccessToken(Tokens tokens) {
+		return tokenProvider.parseAccessToken(tokens.value);
+	}
+
+	@Benchmark
+	public String generateAccessToken() {
+		return tokenProvider.generateAccessToken(42L, "alice", "USER");
+	}
+
+	static JwtTokenProvider newProvider(long expirationMs) {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(provider, "jwtExpirationMs", expirationMs);
+		ReflectionTestUtils.setField(provider, "refreshExpirationMs", 604800000L);
+		ReflectionTestUtils.setField(provider, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.invokeMethod(provider, "init");
+		return provider;
+	}
+
+}
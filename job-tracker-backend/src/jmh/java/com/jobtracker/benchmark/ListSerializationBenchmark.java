@@ -0,0 +1,113 @@
+package com.jobtracker.benchmark;
+
+import com.jobtracker.JobTrackerBackendApplication;
+import com.jobtracker.dto.JobApplicationSummary;
+import com.jobtracker.dto.PageResponse;
+import com.jobtracker.service.JobApplicationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/jobs list path: projection + PageResponse + Jackson (PAGE_RESPONSE) versus
+ * JDBC rows written straight to the JSON generator (STREAMING), at several page sizes
+ * Runs the service layer of a full application context on an in-memory H2 database;
+ * output goes to a discarding stream. Run with the GC profiler for bytes per request:
+ * mvn -Pbenchmark verify -DskipTests -Djmh.args="ListSerializationBenchmark -prof gc"
+ * (gc.alloc.rate.norm is bytes allocated per invocation)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListSerializationBenchmark {
+
+	public enum Path {
+		PAGE_RESPONSE,
+		STREAMING
+	}
+
+	private static final String USERNAME = "bench-user";
+
+	@Param({"PAGE_RESPONSE", "STREAMING"})
+	private Path path;
+
+	@Param({"10", "100", "1000"})
+	private int pageSize;
+
+	private ConfigurableApplicationContext context;
+
+	private JobApplicationService jobApplicationService;
+
+	// Like the MVC message converter, leaves the response stream open
+	private ObjectWriter pageWriter;
+
+	private Long userId;
+
+	private final OutputStream out = OutputStream.nullOutputStream();
+
+	@Setup
+	public void setUp() {
+		// Command-line arguments override application.properties
+		context = new SpringApplicationBuilder(JobTrackerBackendApplication.class).run(
+				"--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.jpa.show-sql=false",
+				"--spring.main.web-application-type=none",
+				"--jobtracker.archive.enabled=false",
+				"--logging.level.root=WARN",
+				"--logging.level.com.jobtracker=WARN",
+				"--logging.level.org.springframework.security=WARN");
+		jobApplicationService = context.getBean(JobApplicationService.class);
+		pageWriter = context.getBean(JsonMapper.class).writer().without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+
+		JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+		jdbc.update("INSERT INTO users (username, email, password, role, created_at) VALUES (?, ?, 'x', 'USER', ?)",
+				USERNAME, USERNAME + "@example.com", Timestamp.valueOf(LocalDateTime.now()));
+		userId = jdbc.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, USERNAME);
+
+		List<Object[]> rows = new ArrayList<>();
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		for (int i = 0; i < 1000; i++) {
+			rows.add(new Object[] {"Software Engineer " + i, "Company " + (i % 50), "APPLIED",
+					Date.valueOf(LocalDate.of(2026, 1, 1).plusDays(i % 300)), null, "Notes " + i, userId, now, now});
+		}
+		jdbc.batchUpdate("INSERT INTO job_applications (title, company, status, applied_date, deadline, notes, user_id, "
+				+ "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public void listPage() {
+		if (path == Path.STREAMING) {
+			jobApplicationService.streamJobApplications(userId, null, null, null, null, 0, pageSize,
+					"appliedDate", "desc", out);
+			return;
+		}
+		PageResponse<JobApplicationSummary> page = jobApplicationService.getJobApplications(USERNAME, null, null,
+				null, null, null, 0, pageSize, "appliedDate", "desc", false);
+		pageWriter.writeValue(out, page);
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.jobtracker.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request logging cost of the default (DEBUG, plain text) setup versus the prod profile
+ * (INFO, JSON, async). Output goes to a discarding stream so only formatting, level checks
+ * and hand-off are measured, not terminal I/O.
+ * Each invocation emits the log calls of one authenticated list request: security and
+ * application DEBUG lines, SQL statements as logged by show-sql, and one INFO line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingOverheadBenchmark {
+
+	public enum Output {
+		PATTERN_SYNC,
+		JSON_SYNC,
+		JSON_ASYNC
+	}
+
+	@Param({"PATTERN_SYNC", "JSON_SYNC", "JSON_ASYNC"})
+	private Output output;
+
+	@Param({"DEBUG", "INFO"})
+	private String level;
+
+	private LoggerContext context;
+
+	private Logger securityLogger;
+
+	private Logger appLogger;
+
+	private Logger sqlLogger;
+
+	@Setup
+	public void setUp() {
+		context = new LoggerContext();
+
+		OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+		sink.setContext(context);
+		sink.setEncoder(encoder());
+		sink.setOutputStream(OutputStream.nullOutputStream());
+		sink.start();
+
+		Appender<ILoggingEvent> appender = sink;
+		if (output == Output.JSON_ASYNC) {
+			AsyncAppender async = new AsyncAppender();
+			async.setContext(context);
+			async.setQueueSize(8192);
+			async.setNeverBlock(true);
+			async.addAppender(sink);
+			async.start();
+			appender = async;
+		}
+
+		Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+		root.setLevel(Level.INFO);
+		root.addAppender(appender);
+
+		securityLogger = context.getLogger("org.springframework.security.web.FilterChainProxy");
+		appLogger = context.getLogger("com.jobtracker.security.JwtAuthenticationFilter");
+		sqlLogger = context.getLogger("org.hibernate.SQL");
+		context.getLogger("org.springframework.security").setLevel(Level.toLevel(level));
+		context.getLogger("com.jobtracker").setLevel(Level.toLevel(level));
+		sqlLogger.setLevel(Level.toLevel(level));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.stop();
+	}
+
+	@Benchmark
+	public void requestLogging() {
+		securityLogger.debug("Securing {} {}", "GET", "/api/jobs");
+		securityLogger.debug("Set SecurityContextHolder to {}", "anonymous SecurityContext");
+		appLogger.debug("Set authentication for user: {}", "alice");
+		securityLogger.debug("Secured {} {}", "GET", "/api/jobs");
+		sqlLogger.debug("select u1_0.id,u1_0.created_at,u1_0.email,u1_0.password,u1_0.role,u1_0.username from users u1_0 where u1_0.username=?");
+		sqlLogger.debug("select ja1_0.id,ja1_0.applied_date,ja1_0.company,ja1_0.created_at,ja1_0.deadline,ja1_0.notes,ja1_0.status,ja1_0.title,ja1_0.updated_at,ja1_0.user_id from job_applications ja1_0 where ja1_0.user_id=? order by ja1_0.applied_date desc limit ?,?");
+		sqlLogger.debug("select count(ja1_0.id) from job_applications ja1_0 where ja1_0.user_id=?");
+		appLogger.info("Listed {} job applications for user {}", 10, "alice");
+	}
+
+	private Encoder<ILoggingEvent> encoder() {
+		if (output == Output.PATTERN_SYNC) {
+			PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+			encoder.setContext(context);
+			encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%15.15t] %-40.40logger{39} : %m%n");
+			encoder.start();
+			return encoder;
+		}
+		JsonEncoder encoder = new JsonEncoder();
+		encoder.setContext(context);
+		encoder.start();
+		return encoder;
+	}
+
+}
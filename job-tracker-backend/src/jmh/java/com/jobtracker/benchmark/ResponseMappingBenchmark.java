@@ -0,0 +1,92 @@
+package com.jobtracker.benchmark;
+
+import com.jobtracker.dto.JobApplicationResponse;
+import com.jobtracker.dto.PageResponse;
+import com.jobtracker.entity.JobApplication;
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.entity.User;
+import com.jobtracker.service.JobApplicationService;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping (JobApplicationService.mapToResponse) and Jackson serialization of
+ * PageResponse<JobApplicationResponse>, per page of detached entities
+ * mapToResponse is private and is called through a method handle; serialization writes
+ * to a discarding stream
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+	private static final List<String> TAGS = List.of("referral", "remote");
+
+	@Param({"10", "100"})
+	private int pageSize;
+
+	private MethodHandle mapToResponse;
+
+	private JobApplicationService jobApplicationService;
+
+	private List<JobApplication> entities;
+
+	private PageResponse<JobApplicationResponse> page;
+
+	private ObjectWriter pageWriter;
+
+	@Setup
+	public void setUp() throws Throwable {
+		jobApplicationService = new JobApplicationService();
+		mapToResponse = MethodHandles.privateLookupIn(JobApplicationService.class, MethodHandles.lookup())
+			.findVirtual(JobApplicationService.class, "mapToResponse",
+					MethodType.methodType(JobApplicationResponse.class, JobApplication.class, List.class));
+
+		User user = new User();
+		user.setId(42L);
+		user.setUsername("alice");
+		LocalDateTime now = LocalDateTime.of(2026, 1, 20, 14, 30, 12, 345_000_000);
+		entities = new ArrayList<>(pageSize);
+		for (int i = 0; i < pageSize; i++) {
+			JobApplication entity = new JobApplication("Senior Software Engineer " + i, "Company " + (i % 37),
+					ApplicationStatus.values()[i % ApplicationStatus.values().length],
+					LocalDate.of(2026, 1, 1).plusDays(i), i % 3 == 0 ? LocalDate.of(2026, 3, 1) : null,
+					"Referral from a former colleague. Second round scheduled.", user);
+			entity.setId((long) 1000 + i);
+			entity.setCreatedAt(now.minusDays(i));
+			entity.setUpdatedAt(now);
+			entities.add(entity);
+		}
+		page = new PageResponse<>(mapPage(), 0, pageSize, 1234, 1234 / pageSize + 1, false);
+		pageWriter = JsonMapper.builder().build().writer();
+	}
+
+	@Benchmark
+	public List<JobApplicationResponse> mapPage() throws Throwable {
+		List<JobApplicationResponse> content = new ArrayList<>(entities.size());
+		for (JobApplication entity : entities) {
+			content.add((JobApplicationResponse) mapToResponse.invokeExact(jobApplicationService, entity, TAGS));
+		}
+		return content;
+	}
+
+	@Benchmark
+	public void serializePage() {
+		pageWriter.writeValue(OutputStream.nullOutputStream(), page);
+	}
+
+}
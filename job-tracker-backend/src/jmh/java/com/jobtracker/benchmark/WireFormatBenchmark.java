@@ -0,0 +1,95 @@
+package com.jobtracker.benchmark;
+
+import com.jobtracker.dto.JobApplicationResponse;
+import com.jobtracker.dto.JobApplicationSummary;
+import com.jobtracker.dto.PageResponse;
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.service.JobApplicationService.JobApplicationStats;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON versus CBOR and Smile for the /api/jobs response types: serialization time per payload,
+ * and payload size (printed once per fork as "payload bytes")
+ * PAGE is a list page of 100 summaries, RESPONSE a single application with notes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+	public enum Format {
+		JSON,
+		CBOR,
+		SMILE
+	}
+
+	public enum Payload {
+		PAGE,
+		RESPONSE,
+		STATS
+	}
+
+	@Param({"JSON", "CBOR", "SMILE"})
+	private Format format;
+
+	@Param({"PAGE", "RESPONSE", "STATS"})
+	private Payload payload;
+
+	private ObjectMapper mapper;
+
+	private Object value;
+
+	@Setup
+	public void setUp() {
+		mapper = switch (format) {
+			case JSON -> JsonMapper.builder().build();
+			case CBOR -> new CBORMapper();
+			case SMILE -> new SmileMapper();
+		};
+		value = switch (payload) {
+			case PAGE -> page(100);
+			case RESPONSE -> response();
+			case STATS -> new JobApplicationStats(120L, 40L, 25L, 20L, 5L, 2L, 28L);
+		};
+		System.out.printf("%n%s %s payload bytes: %d%n", format, payload, mapper.writeValueAsBytes(value).length);
+	}
+
+	@Benchmark
+	public byte[] serialize() {
+		return mapper.writeValueAsBytes(value);
+	}
+
+	private static PageResponse<JobApplicationSummary> page(int size) {
+		LocalDateTime now = LocalDateTime.of(2026, 1, 20, 14, 30, 12, 345_000_000);
+		List<JobApplicationSummary> content = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			content.add(new JobApplicationSummary((long) 1000 + i, "Senior Software Engineer " + i, "Company " + (i % 37),
+					ApplicationStatus.values()[i % ApplicationStatus.values().length],
+					LocalDate.of(2026, 1, 1).plusDays(i), i % 3 == 0 ? LocalDate.of(2026, 3, 1) : null,
+					now.minusDays(i), now));
+		}
+		return new PageResponse<>(content, 0, size, 1234, 13, false);
+	}
+
+	private static JobApplicationResponse response() {
+		LocalDateTime now = LocalDateTime.of(2026, 1, 20, 14, 30, 12, 345_000_000);
+		return new JobApplicationResponse(1001L, "Senior Software Engineer", "Acme Corporation", ApplicationStatus.INTERVIEW,
+				LocalDate.of(2026, 1, 15), LocalDate.of(2026, 3, 1),
+				"Referral from a former colleague. Second round scheduled, prepare system design questions.",
+				42L, "alice", now.minusDays(5), now, List.of("referral", "remote"));
+	}
+
+}
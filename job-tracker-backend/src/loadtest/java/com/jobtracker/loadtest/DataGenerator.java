@@ -0,0 +1,170 @@
+package com.jobtracker.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeds load-test users and their job applications with batch inserts
+ * Users are load-user-0..N-1, all with password {@link #PASSWORD}. Data is skewed the way
+ * real accounts are: application counts per user are log-normal around the requested mean,
+ * most applications are recent and still APPLIED or REJECTED, a few companies get most
+ * applications, and notes are mostly short or missing with a long tail.
+ * The same seed produces the same data
+ */
+class DataGenerator {
+
+	static final String USERNAME_PREFIX = "load-user-";
+
+	static final String PASSWORD = "loadtest123";
+
+	static final String[] TITLE_WORDS = {"Backend", "Frontend", "Platform", "Data", "Mobile", "Security",
+			"Infrastructure", "Machine Learning", "Full Stack", "Site Reliability"};
+
+	private static final String[] LEVELS = {"Junior", "", "", "Senior", "Senior", "Staff", "Principal"};
+
+	private static final String[] ROLES = {"Engineer", "Engineer", "Developer", "Architect", "Engineering Manager"};
+
+	private static final String[] COMPANY_WORDS = {"Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark",
+			"Wayne", "Wonka", "Tyrell", "Cyberdyne", "Soylent", "Aperture", "Vandelay", "Pied Piper", "Massive Dynamic"};
+
+	private static final String[] COMPANY_SUFFIXES = {"Labs", "Systems", "Corporation", "Technologies", "Group",
+			"Software", "Analytics", "Cloud"};
+
+	private static final String[] STATUSES = {"APPLIED", "SCREENING", "INTERVIEW", "OFFER", "ACCEPTED", "REJECTED", "WITHDRAWN"};
+
+	private static final int[] STATUS_WEIGHTS = {45, 12, 10, 3, 1, 25, 4};
+
+	private static final String[] NOTE_WORDS = {"referral", "recruiter", "called", "follow", "up", "next", "week",
+			"system", "design", "round", "take-home", "salary", "range", "remote", "hybrid", "team", "on-site",
+			"prepare", "questions", "about", "the", "stack", "and", "culture"};
+
+	private static final int BATCH_SIZE = 1000;
+
+	private final JdbcTemplate jdbc;
+
+	private final Random random;
+
+	DataGenerator(JdbcTemplate jdbc, long seed) {
+		this.jdbc = jdbc;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Insert the users and their applications, returning the number of applications
+	 * Does nothing and returns -1 if load-test users already exist
+	 */
+	long seed(int users, int applicationsPerUser) {
+		Integer existing = jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE username LIKE ?", Integer.class,
+				USERNAME_PREFIX + "%");
+		if (existing != null && existing > 0) {
+			return -1;
+		}
+
+		// Hash once; BCrypt per user would dominate seeding time
+		String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		List<Object[]> userRows = new ArrayList<>(users);
+		for (int i = 0; i < users; i++) {
+			userRows.add(new Object[] {USERNAME_PREFIX + i, USERNAME_PREFIX + i + "@example.com", hash, now});
+		}
+		for (List<Object[]> batch : batches(userRows)) {
+			jdbc.batchUpdate("INSERT INTO users (username, email, password, role, created_at) VALUES (?, ?, ?, 'USER', ?)",
+					batch);
+		}
+
+		List<Map<String, Object>> ids = jdbc.queryForList("SELECT id FROM users WHERE username LIKE ? ORDER BY id",
+				USERNAME_PREFIX + "%");
+		LocalDate today = LocalDate.now();
+		List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+		long total = 0;
+		for (Map<String, Object> user : ids) {
+			long userId = ((Number) user.get("id")).longValue();
+			int count = applicationCount(applicationsPerUser);
+			for (int i = 0; i < count; i++) {
+				rows.add(application(userId, today));
+				if (rows.size() == BATCH_SIZE) {
+					insertApplications(rows);
+					rows.clear();
+				}
+			}
+			total += count;
+		}
+		if (!rows.isEmpty()) {
+			insertApplications(rows);
+		}
+		return total;
+	}
+
+	static String title(Random random) {
+		String level = LEVELS[random.nextInt(LEVELS.length)];
+		String title = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + ROLES[random.nextInt(ROLES.length)];
+		return level.isEmpty() ? title : level + " " + title;
+	}
+
+	static String company(Random random) {
+		// Cubing a uniform value skews picks towards the first companies
+		int index = (int) (COMPANY_WORDS.length * COMPANY_SUFFIXES.length * Math.pow(random.nextDouble(), 3));
+		return COMPANY_WORDS[index % COMPANY_WORDS.length] + " " + COMPANY_SUFFIXES[index / COMPANY_WORDS.length];
+	}
+
+	static String status(Random random) {
+		int pick = random.nextInt(100);
+		for (int i = 0; i < STATUSES.length; i++) {
+			pick -= STATUS_WEIGHTS[i];
+			if (pick < 0) {
+				return STATUSES[i];
+			}
+		}
+		return STATUSES[0];
+	}
+
+	private Object[] application(long userId, LocalDate today) {
+		// Most applications are from the last few months, a few are up to two years old
+		LocalDate appliedDate = today.minusDays(Math.min(730, (long) (-60 * Math.log(1 - random.nextDouble()))));
+		LocalDate deadline = random.nextInt(100) < 35 ? appliedDate.plusDays(7 + random.nextInt(54)) : null;
+		Timestamp createdAt = Timestamp.valueOf(appliedDate.atTime(9 + random.nextInt(10), random.nextInt(60)));
+		return new Object[] {title(random), company(random), status(random), Date.valueOf(appliedDate),
+				deadline == null ? null : Date.valueOf(deadline), notes(), userId, createdAt, createdAt};
+	}
+
+	private int applicationCount(int mean) {
+		// Log-normal with sigma 0.8, shifted so the mean stays at the requested value
+		return Math.max(1, (int) Math.round(mean * Math.exp(0.8 * random.nextGaussian() - 0.32)));
+	}
+
+	private String notes() {
+		if (random.nextInt(100) < 30) {
+			return null;
+		}
+		// Pareto lengths: mostly a sentence, sometimes pages of interview notes
+		int length = (int) Math.min(4000, 40 / Math.pow(1 - random.nextDouble(), 1 / 1.2));
+		StringBuilder notes = new StringBuilder(length + 16);
+		while (notes.length() < length) {
+			notes.append(NOTE_WORDS[random.nextInt(NOTE_WORDS.length)]).append(' ');
+		}
+		return notes.toString().trim();
+	}
+
+	private void insertApplications(List<Object[]> rows) {
+		jdbc.batchUpdate("INSERT INTO job_applications (title, company, status, applied_date, deadline, notes, user_id, "
+				+ "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+	}
+
+	private static List<List<Object[]>> batches(List<Object[]> rows) {
+		List<List<Object[]>> batches = new ArrayList<>();
+		for (int i = 0; i < rows.size(); i += BATCH_SIZE) {
+			batches.add(rows.subList(i, Math.min(rows.size(), i + BATCH_SIZE)));
+		}
+		return batches;
+	}
+
+}
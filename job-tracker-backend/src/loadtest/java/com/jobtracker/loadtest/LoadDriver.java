@@ -0,0 +1,272 @@
+package com.jobtracker.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load: each client logs in as a random load-test user, then sends requests
+ * drawn from the operation mix back to back until the run ends
+ * Latencies are only recorded while measuring, per operation in microseconds, together with
+ * the number of failed (non-2xx or unreachable) requests
+ */
+class LoadDriver {
+
+	enum Operation {
+		LOGIN,
+		LIST,
+		FILTER,
+		SEARCH,
+		STATS,
+		CREATE,
+		UPDATE
+	}
+
+	/**
+	 * Latencies and error count of one operation over the measured period
+	 */
+	record Result(Operation operation, Histogram latencies, long errors) {
+	}
+
+	private static final String[] SEARCH_TERMS = {"backend", "senior", "data", "platform", "acme", "globex", "engineer",
+			"labs", "staff", "cloud"};
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	private final String baseUrl;
+
+	private final int users;
+
+	private final Map<Operation, Integer> mix;
+
+	private final int totalWeight;
+
+	private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+
+	private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+
+	private volatile boolean measuring;
+
+	private volatile boolean running = true;
+
+	private CountDownLatch done;
+
+	LoadDriver(String baseUrl, int users, Map<Operation, Integer> mix) {
+		this.baseUrl = baseUrl;
+		this.users = users;
+		this.mix = mix;
+		this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+		for (Operation operation : Operation.values()) {
+			recorders.put(operation, new Recorder(3));
+			errors.put(operation, new AtomicLong());
+		}
+	}
+
+	/**
+	 * Start the clients; nothing is recorded until {@link #measure} is called
+	 */
+	void start(int clients, long seed) {
+		done = new CountDownLatch(clients);
+		for (int i = 0; i < clients; i++) {
+			long clientSeed = seed + i;
+			Thread.ofVirtual().name("load-client-" + i).start(() -> {
+				try {
+					new Client(new Random(clientSeed)).run();
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Record for the given duration and return the per-operation results
+	 * Operations with zero weight in the mix (other than LOGIN) are left out
+	 */
+	List<Result> measure(Duration duration) throws InterruptedException {
+		recorders.values().forEach(Recorder::reset);
+		errors.values().forEach(count -> count.set(0));
+		measuring = true;
+		Thread.sleep(duration);
+		measuring = false;
+
+		List<Result> results = new ArrayList<>();
+		for (Operation operation : Operation.values()) {
+			if (operation == Operation.LOGIN || mix.getOrDefault(operation, 0) > 0) {
+				results.add(new Result(operation, recorders.get(operation).getIntervalHistogram(),
+						errors.get(operation).get()));
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Stop the clients and wait for their in-flight requests
+	 */
+	void stop() throws InterruptedException {
+		running = false;
+		done.await();
+	}
+
+	/**
+	 * One simulated user session; not shared between threads
+	 */
+	private final class Client {
+
+		private final Random random;
+
+		private final String username;
+
+		private String token;
+
+		private final List<Long> knownIds = new ArrayList<>();
+
+		Client(Random random) {
+			this.random = random;
+			this.username = DataGenerator.USERNAME_PREFIX + random.nextInt(users);
+		}
+
+		void run() {
+			while (running) {
+				try {
+					if (token == null) {
+						login();
+					} else {
+						execute(pick());
+					}
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+
+		private Operation pick() {
+			int pick = random.nextInt(totalWeight);
+			for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+				pick -= entry.getValue();
+				if (pick < 0) {
+					return entry.getKey();
+				}
+			}
+			return Operation.LIST;
+		}
+
+		private void execute(Operation operation) throws InterruptedException {
+			switch (operation) {
+				case LOGIN -> login();
+				case LIST -> list(Operation.LIST, "page=" + random.nextInt(3) + "&size=10");
+				case FILTER -> list(Operation.FILTER, "status=" + DataGenerator.status(random) + "&size=10");
+				case SEARCH -> list(Operation.SEARCH, "keyword=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]);
+				case STATS -> send(Operation.STATS, authorized("/api/jobs/stats").GET());
+				case CREATE -> {
+					JsonNode created = send(Operation.CREATE, authorized("/api/jobs")
+							.POST(HttpRequest.BodyPublishers.ofString(applicationJson())));
+					remember(created);
+				}
+				case UPDATE -> {
+					if (knownIds.isEmpty()) {
+						list(Operation.LIST, "size=10");
+						return;
+					}
+					Long id = knownIds.get(random.nextInt(knownIds.size()));
+					send(Operation.UPDATE, authorized("/api/jobs/" + id)
+							.PUT(HttpRequest.BodyPublishers.ofString(applicationJson())));
+				}
+			}
+		}
+
+		private void login() throws InterruptedException {
+			String body = jsonMapper.writeValueAsString(Map.of("username", username, "password", DataGenerator.PASSWORD));
+			JsonNode response = send(Operation.LOGIN, request("/api/auth/login")
+					.POST(HttpRequest.BodyPublishers.ofString(body)));
+			token = response == null ? null : response.path("token").asString(null);
+		}
+
+		private void list(Operation operation, String query) throws InterruptedException {
+			JsonNode page = send(operation, authorized("/api/jobs?" + query).GET());
+			if (page != null) {
+				knownIds.clear();
+				page.path("content").forEach(this::remember);
+			}
+		}
+
+		private void remember(JsonNode application) {
+			if (application != null && application.has("id")) {
+				knownIds.add(application.get("id").asLong());
+			}
+		}
+
+		private String applicationJson() {
+			LocalDate appliedDate = LocalDate.now().minusDays(random.nextInt(30));
+			return jsonMapper.writeValueAsString(Map.of(
+					"title", DataGenerator.title(random),
+					"company", DataGenerator.company(random),
+					"status", DataGenerator.status(random),
+					"appliedDate", appliedDate.toString(),
+					"notes", "Added by the load test"));
+		}
+
+		private HttpRequest.Builder authorized(String path) {
+			return request(path).header("Authorization", "Bearer " + token);
+		}
+
+		private HttpRequest.Builder request(String path) {
+			return HttpRequest.newBuilder(URI.create(baseUrl + path))
+					.timeout(Duration.ofSeconds(30))
+					.header("Content-Type", "application/json")
+					.header("Accept", "application/json");
+		}
+
+		/**
+		 * Send and record the request, returning the parsed body of a 2xx response or null
+		 * Connection failures count as errors; a 401 drops the token so the client logs in again
+		 */
+		private JsonNode send(Operation operation, HttpRequest.Builder builder) throws InterruptedException {
+			long start = System.nanoTime();
+			HttpResponse<String> response;
+			try {
+				response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+			} catch (IOException ex) {
+				if (measuring) {
+					errors.get(operation).incrementAndGet();
+				}
+				return null;
+			}
+			long micros = (System.nanoTime() - start) / 1000;
+			boolean ok = response.statusCode() / 100 == 2;
+			if (measuring) {
+				recorders.get(operation).recordValue(micros);
+				if (!ok) {
+					errors.get(operation).incrementAndGet();
+				}
+			}
+			if (response.statusCode() == 401) {
+				token = null;
+			}
+			return ok ? jsonMapper.readTree(response.body()) : null;
+		}
+
+	}
+
+}
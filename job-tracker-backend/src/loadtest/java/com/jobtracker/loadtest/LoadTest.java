@@ -0,0 +1,217 @@
+package com.jobtracker.loadtest;
+
+import com.jobtracker.JobTrackerBackendApplication;
+import com.jobtracker.loadtest.LoadDriver.Operation;
+import com.jobtracker.loadtest.LoadDriver.Result;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Offline end-to-end load test of the REST API
+ * By default starts the application on a random port against an in-memory H2 database,
+ * seeds it with {@link DataGenerator} and drives it with {@link LoadDriver}. With baseUrl=...
+ * it targets a running instance instead, seeding through jdbcUrl=... if given (otherwise the
+ * load-test users must already exist).
+ * Prints throughput and latency percentiles per operation plus the Hibernate cache hit ratios
+ * (from /actuator/prometheus) over the measured period, and writes them as JSON to out=...
+ * <p>
+ * mvn -Ploadtest verify -DskipTests -Dloadtest.args="users=1000 clients=64 duration=60"
+ */
+public class LoadTest {
+
+	private static final String DEFAULT_MIX = "login:2,list:35,filter:15,search:15,stats:13,create:10,update:10";
+
+	private static final Pattern CACHE_REQUESTS = Pattern.compile(
+			"^hibernate_cache_requests_total\\{.*?cache=\"(\\w+)\".*?result=\"(\\w+)\".*?}\\s+(\\S+)", Pattern.MULTILINE);
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			int eq = arg.indexOf('=');
+			if (eq < 0) {
+				throw new IllegalArgumentException("Expected key=value, got " + arg);
+			}
+			options.put(arg.substring(0, eq), arg.substring(eq + 1));
+		}
+		int users = Integer.parseInt(options.getOrDefault("users", "200"));
+		int applicationsPerUser = Integer.parseInt(options.getOrDefault("appsPerUser", "50"));
+		int clients = Integer.parseInt(options.getOrDefault("clients", "32"));
+		Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+		Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+		long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+		Map<Operation, Integer> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+		String out = options.getOrDefault("out", "target/loadtest-results.json");
+
+		ConfigurableApplicationContext context = null;
+		String baseUrl = options.get("baseUrl");
+		JdbcTemplate jdbc = null;
+		if (baseUrl == null) {
+			context = startEmbedded();
+			baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+			jdbc = context.getBean(JdbcTemplate.class);
+		} else if (options.containsKey("jdbcUrl")) {
+			jdbc = new JdbcTemplate(new DriverManagerDataSource(options.get("jdbcUrl"),
+					options.getOrDefault("jdbcUsername", "root"), options.getOrDefault("jdbcPassword", "")));
+		}
+
+		try {
+			if (jdbc != null) {
+				long started = System.nanoTime();
+				long applications = new DataGenerator(jdbc, seed).seed(users, applicationsPerUser);
+				if (applications < 0) {
+					System.out.println("Load-test users already exist, skipping data generation");
+				} else {
+					System.out.printf("Seeded %d users and %d applications in %d ms%n", users, applications,
+							(System.nanoTime() - started) / 1_000_000);
+				}
+			}
+
+			System.out.printf("Driving %s with %d clients: %ds warmup, %ds measured, mix %s%n", baseUrl, clients,
+					warmup.toSeconds(), duration.toSeconds(), mix);
+			LoadDriver driver = new LoadDriver(baseUrl, users, mix);
+			driver.start(clients, seed);
+			Thread.sleep(warmup);
+			Map<String, Double> cacheBefore = cacheRequests(baseUrl);
+			List<Result> results = driver.measure(duration);
+			Map<String, Double> cacheAfter = cacheRequests(baseUrl);
+			driver.stop();
+
+			Map<String, Object> report = report(options, clients, duration, results, cacheBefore, cacheAfter);
+			File file = new File(out);
+			if (file.getParentFile() != null) {
+				file.getParentFile().mkdirs();
+			}
+			JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build().writeValue(file, report);
+			System.out.println("Results written to " + file.getAbsolutePath());
+		} finally {
+			if (context != null) {
+				context.close();
+			}
+		}
+	}
+
+	private static ConfigurableApplicationContext startEmbedded() {
+		// A DevTools restart would re-run main with the Spring arguments below
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		// Command-line arguments override application.properties
+		return new SpringApplicationBuilder(JobTrackerBackendApplication.class).run(
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.jpa.show-sql=false",
+				"--jobtracker.archive.enabled=false",
+				"--jobtracker.sql.statement-budget.mode=off",
+				"--logging.level.root=WARN",
+				"--logging.level.com.jobtracker=WARN",
+				"--logging.level.org.springframework.security=WARN");
+	}
+
+	private static Map<Operation, Integer> parseMix(String mix) {
+		Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+		for (String entry : mix.split(",")) {
+			String[] parts = entry.split(":");
+			weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+		}
+		return weights;
+	}
+
+	/**
+	 * Hibernate cache request counts by "cache.result", e.g. natural_id.hit
+	 * Empty if the metrics cannot be scraped
+	 */
+	private static Map<String, Double> cacheRequests(String baseUrl) {
+		Map<String, Double> counts = new HashMap<>();
+		try (HttpClient client = HttpClient.newHttpClient()) {
+			HttpResponse<String> response = client.send(
+					HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus")).GET().build(),
+					HttpResponse.BodyHandlers.ofString());
+			Matcher matcher = CACHE_REQUESTS.matcher(response.body());
+			while (matcher.find()) {
+				counts.merge(matcher.group(1) + "." + matcher.group(2), Double.parseDouble(matcher.group(3)), Double::sum);
+			}
+		} catch (Exception ex) {
+			System.out.println("Could not read cache metrics: " + ex.getMessage());
+		}
+		return counts;
+	}
+
+	private static Map<String, Object> report(Map<String, String> options, int clients, Duration duration,
+			List<Result> results, Map<String, Double> cacheBefore, Map<String, Double> cacheAfter) {
+		double seconds = duration.toMillis() / 1000.0;
+		Map<String, Object> operations = new LinkedHashMap<>();
+		long total = 0;
+		long totalErrors = 0;
+
+		System.out.printf("%n%-8s %9s %9s %7s %9s %9s %9s %9s %9s%n", "op", "count", "req/s", "errors",
+				"p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+		for (Result result : results) {
+			Histogram latencies = result.latencies();
+			long count = latencies.getTotalCount();
+			total += count;
+			totalErrors += result.errors();
+			Map<String, Object> operation = new LinkedHashMap<>();
+			operation.put("count", count);
+			operation.put("throughput", count / seconds);
+			operation.put("errors", result.errors());
+			operation.put("p50Ms", millis(latencies, 50));
+			operation.put("p90Ms", millis(latencies, 90));
+			operation.put("p99Ms", millis(latencies, 99));
+			operation.put("p999Ms", millis(latencies, 99.9));
+			operation.put("maxMs", latencies.getMaxValue() / 1000.0);
+			operations.put(result.operation().name().toLowerCase(), operation);
+			System.out.printf("%-8s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", result.operation().name().toLowerCase(),
+					count, count / seconds, result.errors(), millis(latencies, 50), millis(latencies, 90),
+					millis(latencies, 99), millis(latencies, 99.9), latencies.getMaxValue() / 1000.0);
+		}
+		System.out.printf("%-8s %9d %9.1f %7d%n", "total", total, total / seconds, totalErrors);
+
+		Map<String, Object> cache = new LinkedHashMap<>();
+		for (String name : List.of("second_level", "natural_id")) {
+			double hits = cacheAfter.getOrDefault(name + ".hit", 0.0) - cacheBefore.getOrDefault(name + ".hit", 0.0);
+			double misses = cacheAfter.getOrDefault(name + ".miss", 0.0) - cacheBefore.getOrDefault(name + ".miss", 0.0);
+			Map<String, Object> ratio = new LinkedHashMap<>();
+			ratio.put("hits", (long) hits);
+			ratio.put("misses", (long) misses);
+			ratio.put("hitRatio", hits + misses > 0 ? hits / (hits + misses) : null);
+			cache.put(name, ratio);
+			System.out.printf("%s cache: %d hits, %d misses, hit ratio %s%n", name, (long) hits, (long) misses,
+					hits + misses > 0 ? "%.3f".formatted(hits / (hits + misses)) : "n/a");
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("options", new LinkedHashMap<>(options));
+		report.put("clients", clients);
+		report.put("durationSeconds", seconds);
+		report.put("throughput", total / seconds);
+		report.put("errors", totalErrors);
+		report.put("operations", operations);
+		report.put("cache", cache);
+		return report;
+	}
+
+	private static double millis(Histogram latencies, double percentile) {
+		return latencies.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+}
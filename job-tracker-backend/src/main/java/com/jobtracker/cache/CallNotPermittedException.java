@@ -0,0 +1,15 @@
+package com.jobtracker.cache;
+
+import com.jobtracker.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+
+/**
+ * Thrown by an open circuit breaker instead of running the call
+ */
+public class CallNotPermittedException extends ServiceUnavailableException {
+    
+    public CallNotPermittedException(String breaker, Duration retryAfter) {
+        super("Temporarily unavailable (circuit breaker " + breaker + " is open)", retryAfter);
+    }
+}
@@ -0,0 +1,222 @@
+package com.jobtracker.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Count-based circuit breaker around calls to a slow or failing dependency
+ * Closed: calls go through and their outcome is recorded over the last window-size calls.
+ * Once the failure rate or the slow-call rate reaches its threshold the breaker opens and
+ * rejects calls with CallNotPermittedException. After open-duration a single probe call is
+ * let through (half-open): if it is fast and succeeds the breaker closes, otherwise it opens again.
+ * Only exceptions matching the failure predicate count as failures; others are rethrown unrecorded.
+ * State is exported as jobtracker.circuitbreaker.state (0 closed, 1 open, 2 half-open)
+ */
+public class CircuitBreaker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    private static final byte SUCCESS = 0;
+    private static final byte SLOW = 1;
+    private static final byte FAILED = 2;
+    
+    private final String name;
+    private final ResultCacheProperties.Breaker settings;
+    private final Predicate<Throwable> isFailure;
+    private final LongSupplier nanoTime;
+    private final Counter rejected;
+    
+    // Outcomes of the most recent calls, as a ring buffer; guarded by this
+    private final byte[] window;
+    private int next;
+    private int recorded;
+    private int slowCalls;
+    private int failedCalls;
+    
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+    
+    public CircuitBreaker(String name, ResultCacheProperties.Breaker settings,
+                          Predicate<Throwable> isFailure, MeterRegistry meterRegistry) {
+        this(name, settings, isFailure, meterRegistry, System::nanoTime);
+    }
+    
+    CircuitBreaker(String name, ResultCacheProperties.Breaker settings,
+                   Predicate<Throwable> isFailure, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.name = name;
+        this.settings = settings;
+        this.isFailure = isFailure;
+        this.nanoTime = nanoTime;
+        this.window = new byte[settings.getWindowSize()];
+        this.rejected = Counter.builder("jobtracker.circuitbreaker.rejected")
+                .description("Calls rejected because the circuit breaker was open")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("jobtracker.circuitbreaker.state", this, breaker -> breaker.state().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Run the call if the breaker allows it, recording its latency and outcome
+     *
+     * @throws CallNotPermittedException if the breaker is open
+     */
+    public <T> T execute(Supplier<T> call) {
+        boolean probe = acquirePermission();
+        long start = nanoTime.getAsLong();
+        boolean recordedOutcome = false;
+        try {
+            T result = call.get();
+            recordedOutcome = true;
+            onComplete(probe, nanoTime.getAsLong() - start, false);
+            return result;
+        } catch (RuntimeException ex) {
+            if (isFailure.test(ex)) {
+                recordedOutcome = true;
+                onComplete(probe, nanoTime.getAsLong() - start, true);
+            }
+            throw ex;
+        } finally {
+            if (probe && !recordedOutcome) {
+                releaseProbe();
+            }
+        }
+    }
+    
+    /**
+     * Whether a call made now would be let through
+     * Does not take the half-open probe slot
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> openElapsed();
+            case HALF_OPEN -> !probeInFlight;
+        };
+    }
+    
+    public synchronized State state() {
+        return state;
+    }
+    
+    /**
+     * Whether the exception counts as a failure of the dependency
+     */
+    public boolean isFailure(Throwable ex) {
+        return isFailure.test(ex);
+    }
+    
+    /**
+     * Let the call through or throw; returns whether it is the half-open probe
+     */
+    private synchronized boolean acquirePermission() {
+        if (state == State.OPEN && openElapsed()) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+            logger.info("Circuit breaker {} is half-open, letting a probe call through", name);
+        }
+        
+        if (state == State.OPEN || (state == State.HALF_OPEN && probeInFlight)) {
+            rejected.increment();
+            Duration retryAfter = state == State.OPEN
+                ? settings.getOpenDuration().minusNanos(nanoTime.getAsLong() - openedAt)
+                : Duration.ofSeconds(1);
+            throw new CallNotPermittedException(name, retryAfter);
+        }
+        
+        if (state == State.HALF_OPEN) {
+            probeInFlight = true;
+            return true;
+        }
+        return false;
+    }
+    
+    private synchronized void onComplete(boolean probe, long elapsedNanos, boolean failed) {
+        boolean slow = elapsedNanos > settings.getSlowCallDuration().toNanos();
+        
+        if (probe) {
+            probeInFlight = false;
+            if (failed || slow) {
+                open();
+            } else {
+                close();
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            // Started before the breaker opened
+            return;
+        }
+        
+        record(failed ? FAILED : slow ? SLOW : SUCCESS);
+        if (recorded >= settings.getMinimumCalls()
+                && (rate(failedCalls) >= settings.getFailureRateThreshold()
+                    || rate(slowCalls) >= settings.getSlowCallRateThreshold())) {
+            logger.warn("Circuit breaker {} opening: {} of {} recent calls failed, {} were slow",
+                name, failedCalls, recorded, slowCalls);
+            open();
+        }
+    }
+    
+    private synchronized void releaseProbe() {
+        probeInFlight = false;
+    }
+    
+    private void record(byte outcome) {
+        if (recorded == window.length) {
+            forget(window[next]);
+        } else {
+            recorded++;
+        }
+        window[next] = outcome;
+        next = (next + 1) % window.length;
+        if (outcome == SLOW) {
+            slowCalls++;
+        } else if (outcome == FAILED) {
+            failedCalls++;
+        }
+    }
+    
+    private void forget(byte outcome) {
+        if (outcome == SLOW) {
+            slowCalls--;
+        } else if (outcome == FAILED) {
+            failedCalls--;
+        }
+    }
+    
+    private double rate(int calls) {
+        return (double) calls / recorded;
+    }
+    
+    private boolean openElapsed() {
+        return nanoTime.getAsLong() - openedAt >= settings.getOpenDuration().toNanos();
+    }
+    
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoTime.getAsLong();
+    }
+    
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        slowCalls = 0;
+        failedCalls = 0;
+        logger.info("Circuit breaker {} closed again", name);
+    }
+}
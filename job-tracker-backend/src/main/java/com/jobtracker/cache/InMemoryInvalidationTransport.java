@@ -0,0 +1,25 @@
+package com.jobtracker.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for the pub/sub broker
+ * Delivers synchronously to every subscriber; buses sharing one instance behave like
+ * nodes sharing a broker. With a single node this makes the bus a no-op
+ */
+public class InMemoryInvalidationTransport implements InvalidationTransport {
+    
+    private final List<Consumer<String>> receivers = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public void send(String payload) {
+        receivers.forEach(receiver -> receiver.accept(payload));
+    }
+    
+    @Override
+    public void subscribe(Consumer<String> receiver) {
+        receivers.add(receiver);
+    }
+}
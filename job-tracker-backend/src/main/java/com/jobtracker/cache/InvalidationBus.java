@@ -0,0 +1,143 @@
+package com.jobtracker.cache;
+
+import com.jobtracker.cache.InvalidationMessage.Entity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Propagates cache invalidations between backend nodes
+ * Published invalidations are coalesced per entity and user and sent as one batch every
+ * flush interval, or as soon as max-batch-size users are pending.
+ * A batch is "<node id>|J:42,U:7"; nodes skip their own batches and hand every
+ * message to the listeners subscribed for its entity, which evict local entries.
+ * Counted in jobtracker.invalidation.messages (stage=published|sent|received)
+ */
+public class InvalidationBus {
+    
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+    
+    private record Key(Entity entity, Long userId) {
+    }
+    
+    private final InvalidationTransport transport;
+    private final int maxBatchSize;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    
+    private final Set<Key> pending = ConcurrentHashMap.newKeySet();
+    private final Map<Entity, List<Consumer<Long>>> listeners = new EnumMap<>(Entity.class);
+    
+    private final Counter published;
+    private final Counter sent;
+    private final Counter received;
+    
+    public InvalidationBus(InvalidationTransport transport, int maxBatchSize, MeterRegistry meterRegistry) {
+        this.transport = transport;
+        this.maxBatchSize = maxBatchSize;
+        for (Entity entity : Entity.values()) {
+            listeners.put(entity, new CopyOnWriteArrayList<>());
+        }
+        this.published = messageCounter("published", meterRegistry);
+        this.sent = messageCounter("sent", meterRegistry);
+        this.received = messageCounter("received", meterRegistry);
+        transport.subscribe(this::receive);
+    }
+    
+    /**
+     * Call the listener with the user id of every invalidation of the entity from other nodes
+     */
+    public void subscribe(Entity entity, Consumer<Long> listener) {
+        listeners.get(entity).add(listener);
+    }
+    
+    /**
+     * Queue an invalidation for the next batch
+     */
+    public void publish(Entity entity, Long userId) {
+        published.increment();
+        pending.add(new Key(entity, userId));
+        if (pending.size() >= maxBatchSize) {
+            flush();
+        }
+    }
+    
+    /**
+     * Queue an invalidation once the current transaction commits
+     * Nothing is published if it rolls back
+     */
+    public void publishAfterCommit(Entity entity, Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(entity, userId);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(entity, userId);
+            }
+        });
+    }
+    
+    /**
+     * Send everything pending as one batch
+     */
+    @Scheduled(fixedDelayString = "${jobtracker.invalidation.flush-interval:PT0.05S}")
+    public void flush() {
+        List<String> batch = new ArrayList<>();
+        for (Key key : pending) {
+            if (pending.remove(key)) {
+                batch.add(new InvalidationMessage(key.entity(), key.userId()).encode());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transport.send(nodeId + "|" + String.join(",", batch));
+            sent.increment(batch.size());
+        } catch (RuntimeException ex) {
+            // Other nodes keep serving their entries until they expire
+            logger.warn("Could not send {} cache invalidations: {}", batch.size(), ex.getMessage());
+        }
+    }
+    
+    private void receive(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        
+        for (String encoded : payload.substring(separator + 1).split(",")) {
+            try {
+                InvalidationMessage message = InvalidationMessage.decode(encoded);
+                received.increment();
+                listeners.get(message.entity()).forEach(listener -> listener.accept(message.userId()));
+            } catch (RuntimeException ex) {
+                logger.warn("Skipping cache invalidation {}: {}", encoded, ex.getMessage());
+            }
+        }
+    }
+    
+    private static Counter messageCounter(String stage, MeterRegistry meterRegistry) {
+        return Counter.builder("jobtracker.invalidation.messages")
+                .description("Cache invalidation messages by stage; published - sent is what coalescing saved")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
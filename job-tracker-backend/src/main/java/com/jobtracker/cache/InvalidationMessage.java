@@ -0,0 +1,42 @@
+package com.jobtracker.cache;
+
+/**
+ * Tells other nodes that cached data of a user changed
+ * Receivers evict unconditionally, so no version is carried. Encoded as "J:42" on the wire
+ */
+public record InvalidationMessage(Entity entity, Long userId) {
+    
+    public enum Entity {
+        // The user row (second-level cache)
+        USER('U'),
+        // The user's job applications (statistics, list pages)
+        JOB_APPLICATION('J');
+        
+        private final char code;
+        
+        Entity(char code) {
+            this.code = code;
+        }
+        
+        static Entity fromCode(char code) {
+            for (Entity entity : values()) {
+                if (entity.code == code) {
+                    return entity;
+                }
+            }
+            throw new IllegalArgumentException("Unknown invalidation entity: " + code);
+        }
+    }
+    
+    public String encode() {
+        return entity.code + ":" + userId;
+    }
+    
+    public static InvalidationMessage decode(String encoded) {
+        String[] parts = encoded.split(":");
+        if (parts.length != 2 || parts[0].length() != 1) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + encoded);
+        }
+        return new InvalidationMessage(Entity.fromCode(parts[0].charAt(0)), Long.valueOf(parts[1]));
+    }
+}
@@ -0,0 +1,34 @@
+package com.jobtracker.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cross-node cache invalidation configuration (jobtracker.invalidation.*)
+ * Use the redis transport whenever more than one backend instance runs
+ */
+@Data
+@ConfigurationProperties(prefix = "jobtracker.invalidation")
+public class InvalidationProperties {
+    
+    public enum Transport {
+        // Single node (or tests): invalidations stay in this process
+        IN_MEMORY,
+        // Redis pub/sub channel shared by all nodes
+        REDIS
+    }
+    
+    private Transport transport = Transport.IN_MEMORY;
+    
+    private String redisUri = "redis://localhost:6379";
+    
+    private String channel = "jobtracker.invalidation";
+    
+    // Pending invalidations are sent together this often
+    private Duration flushInterval = Duration.ofMillis(50);
+    
+    // ...or as soon as this many are pending
+    private int maxBatchSize = 500;
+}
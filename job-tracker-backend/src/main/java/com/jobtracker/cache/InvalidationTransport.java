@@ -0,0 +1,14 @@
+package com.jobtracker.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Pub/sub channel the invalidation bus sends its batches over
+ * Every payload sent is delivered to every subscriber, including the sender's own node
+ */
+public interface InvalidationTransport {
+    
+    void send(String payload);
+    
+    void subscribe(Consumer<String> receiver);
+}
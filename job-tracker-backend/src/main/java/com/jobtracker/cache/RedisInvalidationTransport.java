@@ -0,0 +1,57 @@
+package com.jobtracker.cache;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+
+import java.util.function.Consumer;
+
+/**
+ * Invalidation transport over a Redis pub/sub channel
+ * Publishing is fire-and-forget: a node that misses a batch (e.g. while reconnecting)
+ * serves its cached data until it expires
+ */
+public class RedisInvalidationTransport implements InvalidationTransport, AutoCloseable {
+    
+    private final RedisClient client;
+    private final StatefulRedisConnection<String, String> connection;
+    private final StatefulRedisPubSubConnection<String, String> subscription;
+    private final String channel;
+    
+    public RedisInvalidationTransport(String uri, String channel) {
+        this(RedisClient.create(uri), channel);
+    }
+    
+    RedisInvalidationTransport(RedisClient client, String channel) {
+        this.client = client;
+        this.connection = client.connect();
+        this.subscription = client.connectPubSub();
+        this.channel = channel;
+    }
+    
+    @Override
+    public void send(String payload) {
+        connection.async().publish(channel, payload);
+    }
+    
+    @Override
+    public void subscribe(Consumer<String> receiver) {
+        subscription.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void message(String messageChannel, String message) {
+                if (channel.equals(messageChannel)) {
+                    receiver.accept(message);
+                }
+            }
+        });
+        subscription.sync().subscribe(channel);
+    }
+    
+    @Override
+    public void close() {
+        subscription.close();
+        connection.close();
+        client.shutdown();
+    }
+}
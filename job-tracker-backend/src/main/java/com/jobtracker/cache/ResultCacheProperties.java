@@ -0,0 +1,50 @@
+package com.jobtracker.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Stale-while-revalidate cache of job list pages and statistics (jobtracker.result-cache.*)
+ * and the circuit breaker around the queries behind it
+ */
+@Data
+@ConfigurationProperties(prefix = "jobtracker.result-cache")
+public class ResultCacheProperties {
+    
+    // Cache results at all; when off every call goes to the database
+    private boolean enabled = true;
+    
+    // Results younger than this are served without touching the database
+    private Duration freshFor = Duration.ofSeconds(5);
+    
+    // Older results are served while a background refresh runs, up to this age
+    private Duration maxStale = Duration.ofMinutes(5);
+    
+    // Cached results per cache (stats, list pages) on this node
+    private long maximumSize = 10_000;
+    
+    private Breaker breaker = new Breaker();
+    
+    @Data
+    public static class Breaker {
+        // Number of most recent calls the rates are computed over
+        private int windowSize = 50;
+        
+        // Rates are not evaluated before this many calls
+        private int minimumCalls = 10;
+        
+        // Share of failed calls that opens the breaker
+        private double failureRateThreshold = 0.5;
+        
+        // Calls taking longer than this count as slow
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        
+        // Share of slow calls that opens the breaker
+        private double slowCallRateThreshold = 0.5;
+        
+        // How long the breaker stays open before letting a probe call through
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,116 @@
+package com.jobtracker.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key into one execution
+ * The first caller runs the loader; callers arriving while it is in flight wait for
+ * and share its result (or exception). Nothing is cached: once the call completes,
+ * the next caller runs the loader again. A waiter gives up after the wait timeout and runs
+ * the loader itself, so one stuck call does not hold up every request with its key.
+ * Calls are counted in jobtracker.singleflight.calls (result=executed|shared|timed_out) and the
+ * share of calls that were deduplicated is exposed as jobtracker.singleflight.dedup.ratio
+ */
+public class SingleFlight<K, V> {
+    
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    
+    private final Duration waitTimeout;
+    
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    
+    public SingleFlight(String name, Duration waitTimeout, MeterRegistry meterRegistry) {
+        this.waitTimeout = waitTimeout;
+        FunctionCounter.builder("jobtracker.singleflight.calls", executed, AtomicLong::get)
+                .description("Coalesced calls that ran the loader, shared an in-flight result or stopped waiting for it")
+                .tag("name", name)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder("jobtracker.singleflight.calls", shared, AtomicLong::get)
+                .tag("name", name)
+                .tag("result", "shared")
+                .register(meterRegistry);
+        FunctionCounter.builder("jobtracker.singleflight.calls", timedOut, AtomicLong::get)
+                .tag("name", name)
+                .tag("result", "timed_out")
+                .register(meterRegistry);
+        Gauge.builder("jobtracker.singleflight.dedup.ratio", this, SingleFlight::dedupRatio)
+                .description("Share of calls that were served by another call's execution")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Run the loader, or wait for the in-flight call with the same key
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            shared.incrementAndGet();
+            try {
+                return await(existing);
+            } catch (TimeoutException ex) {
+                // Waited too long for the in-flight call; run the loader without sharing it
+                shared.decrementAndGet();
+                timedOut.incrementAndGet();
+                return loader.get();
+            }
+        }
+        
+        executed.incrementAndGet();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+    
+    /**
+     * Share of calls so far that did not run the loader themselves
+     */
+    public double dedupRatio() {
+        long sharedCalls = shared.get();
+        long total = executed.get() + sharedCalls;
+        return total == 0 ? 0 : (double) sharedCalls / total;
+    }
+    
+    /**
+     * Result of the in-flight call, waiting at most the wait timeout
+     */
+    private V await(CompletableFuture<V> flight) throws TimeoutException {
+        try {
+            return flight.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced call", ex);
+        } catch (ExecutionException ex) {
+            // Rethrow the loader's own exception, as if this caller had run it
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.jobtracker.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of recent results that serves stale data while refreshing it in the background
+ * Each result is stored with the data version it was loaded at. A result of the current version is
+ * served as is while younger than fresh-for, and after that served as stale while one background
+ * refresh per key reloads it. A different version (the data changed) or no result means loading
+ * on the caller's thread. Loads go through the circuit breaker; while it is open, or when a load
+ * fails with a database failure, whatever result is cached is served as cache-only, and callers
+ * without one get the breaker's 503. Results older than max-stale are dropped.
+ * Requests are counted in jobtracker.result_cache.requests (result=fresh|stale|cache_only|miss)
+ */
+public class StaleWhileRevalidateCache<K, V> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StaleWhileRevalidateCache.class);
+    
+    /**
+     * How current a served result is
+     */
+    public enum Freshness {
+        // Loaded for this request, or younger than fresh-for
+        FRESH,
+        // Older than fresh-for; a background refresh was started
+        STALE,
+        // Served without asking the database, which is unavailable
+        CACHE_ONLY;
+        
+        public String headerValue() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+    
+    public record Result<V>(V value, Freshness freshness, Duration age) {
+        
+        public static <V> Result<V> loaded(V value) {
+            return new Result<>(value, Freshness.FRESH, Duration.ZERO);
+        }
+    }
+    
+    private record Entry<V>(V value, long version, long loadedAt) {
+    }
+    
+    private final Cache<K, Entry<V>> entries;
+    
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+    
+    private final Duration freshFor;
+    private final CircuitBreaker breaker;
+    private final Executor refreshExecutor;
+    private final LongSupplier nanoTime;
+    
+    private final Map<Freshness, Counter> served = new EnumMap<>(Freshness.class);
+    private final Counter misses;
+    
+    public StaleWhileRevalidateCache(String name, ResultCacheProperties properties, CircuitBreaker breaker,
+                                     Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this(name, properties, breaker, refreshExecutor, meterRegistry, System::nanoTime);
+    }
+    
+    StaleWhileRevalidateCache(String name, ResultCacheProperties properties, CircuitBreaker breaker,
+                              Executor refreshExecutor, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getMaxStale())
+                .build();
+        this.freshFor = properties.getFreshFor();
+        this.breaker = breaker;
+        this.refreshExecutor = refreshExecutor;
+        this.nanoTime = nanoTime;
+        
+        for (Freshness freshness : Freshness.values()) {
+            served.put(freshness, requestCounter(name, freshness.name().toLowerCase(), meterRegistry));
+        }
+        this.misses = requestCounter(name, "miss", meterRegistry);
+    }
+    
+    /**
+     * Cached result for the key at the given data version, loading it if needed
+     *
+     * @throws CallNotPermittedException if the breaker is open and nothing is cached
+     */
+    public Result<V> get(K key, long version, Supplier<V> loader) {
+        Entry<V> entry = entries.getIfPresent(key);
+        
+        if (entry != null && entry.version() == version) {
+            Duration age = Duration.ofNanos(nanoTime.getAsLong() - entry.loadedAt());
+            if (age.compareTo(freshFor) < 0) {
+                return serve(entry, Freshness.FRESH, age);
+            }
+            if (breaker.isCallPermitted()) {
+                refreshInBackground(key, version, loader);
+                return serve(entry, Freshness.STALE, age);
+            }
+            return serve(entry, Freshness.CACHE_ONLY, age);
+        }
+        
+        misses.increment();
+        try {
+            return Result.loaded(load(key, version, loader));
+        } catch (CallNotPermittedException ex) {
+            if (entry == null) {
+                throw ex;
+            }
+        } catch (RuntimeException ex) {
+            if (entry == null || !breaker.isFailure(ex)) {
+                throw ex;
+            }
+            logger.warn("Load failed, serving cached result: {}", ex.getMessage());
+        }
+        // Older data version, but better than an error while the database is unavailable
+        return serve(entry, Freshness.CACHE_ONLY, Duration.ofNanos(nanoTime.getAsLong() - entry.loadedAt()));
+    }
+    
+    /**
+     * Number of cached results (approximate)
+     */
+    public long size() {
+        return entries.estimatedSize();
+    }
+    
+    private V load(K key, long version, Supplier<V> loader) {
+        V value = breaker.execute(loader);
+        Entry<V> loaded = new Entry<>(value, version, nanoTime.getAsLong());
+        // A slow load must not replace a result of a newer version
+        entries.asMap().merge(key, loaded,
+            (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+        return value;
+    }
+    
+    private void refreshInBackground(K key, long version, Supplier<V> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, version, loader);
+                } catch (RuntimeException ex) {
+                    logger.debug("Background refresh failed: {}", ex.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshing.remove(key);
+        }
+    }
+    
+    private Result<V> serve(Entry<V> entry, Freshness freshness, Duration age) {
+        served.get(freshness).increment();
+        return new Result<>(entry.value(), freshness, age);
+    }
+    
+    private static Counter requestCounter(String name, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("jobtracker.result_cache.requests")
+                .description("Result cache requests by how they were served")
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,69 @@
+package com.jobtracker.cache;
+
+import com.jobtracker.cache.InvalidationMessage.Entity;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user version of job application data on this node
+ * The version changes after every committed write of the user's applications, so a key
+ * that includes it never matches results computed before a write the caller has seen.
+ * Versions come from one node-wide sequence and are never reused; users that have not
+ * written since startup are at version 0
+ * Writes are published on the invalidation bus, and writes on other nodes move the user
+ * to a new version here too, so this node reloads its cached results of the user
+ */
+@Component
+public class UserDataVersions {
+    
+    @Autowired
+    private InvalidationBus invalidationBus;
+    
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    public void init() {
+        invalidationBus.subscribe(Entity.JOB_APPLICATION, this::bump);
+    }
+    
+    /**
+     * Current version of the user's data
+     */
+    public long current(Long userId) {
+        return versions.getOrDefault(userId, 0L);
+    }
+    
+    /**
+     * Move the user to a new version once the current transaction commits, on all nodes
+     * Nothing changes if it rolls back
+     */
+    public void bumpAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bumpAndPublish(userId);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bumpAndPublish(userId);
+            }
+        });
+    }
+    
+    private void bumpAndPublish(Long userId) {
+        bump(userId);
+        invalidationBus.publish(Entity.JOB_APPLICATION, userId);
+    }
+    
+    private void bump(Long userId) {
+        versions.put(userId, sequence.incrementAndGet());
+    }
+}
@@ -0,0 +1,23 @@
+package com.jobtracker.config;
+
+import com.jobtracker.storage.AttachmentProperties;
+import com.jobtracker.storage.ContentStore;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Attachment storage configuration
+ * File content goes to the content-addressed store on disk, metadata to the user's shard
+ */
+@Configuration
+@EnableConfigurationProperties(AttachmentProperties.class)
+public class AttachmentConfig {
+    
+    @Bean
+    public ContentStore contentStore(AttachmentProperties properties) {
+        return new ContentStore(Path.of(properties.getRoot()), properties.getMaxSize().toBytes());
+    }
+}
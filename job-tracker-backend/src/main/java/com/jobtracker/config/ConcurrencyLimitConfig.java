@@ -0,0 +1,35 @@
+package com.jobtracker.config;
+
+import com.jobtracker.limit.AdaptiveConcurrencyLimiter;
+import com.jobtracker.limit.ConcurrencyLimitFilter;
+import com.jobtracker.limit.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Adaptive concurrency limit configuration
+ * On by default (jobtracker.concurrency-limit.enabled); keeps in-flight database-bound
+ * requests near what the connection pool can serve instead of letting Tomcat threads queue
+ */
+@Configuration
+@ConditionalOnBooleanProperty(name = "jobtracker.concurrency-limit.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig {
+    
+    @Bean
+    public AdaptiveConcurrencyLimiter concurrencyLimiter(ConcurrencyLimitProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+    }
+    
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                                         ConcurrencyLimitProperties properties,
+                                                         JsonMapper jsonMapper) {
+        return new ConcurrencyLimitFilter(concurrencyLimiter, properties, jsonMapper);
+    }
+}
@@ -0,0 +1,36 @@
+package com.jobtracker.config;
+
+import com.jobtracker.cache.InMemoryInvalidationTransport;
+import com.jobtracker.cache.InvalidationBus;
+import com.jobtracker.cache.InvalidationProperties;
+import com.jobtracker.cache.InvalidationTransport;
+import com.jobtracker.cache.RedisInvalidationTransport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cross-node cache invalidation configuration
+ * Mutations publish on the bus; every node evicts its in-process entries for the user
+ * (second-level User cache, result cache and single-flight keys via UserDataVersions)
+ */
+@Configuration
+@EnableConfigurationProperties(InvalidationProperties.class)
+public class InvalidationConfig {
+    
+    @Bean
+    public InvalidationTransport invalidationTransport(InvalidationProperties properties) {
+        return switch (properties.getTransport()) {
+            case IN_MEMORY -> new InMemoryInvalidationTransport();
+            case REDIS -> new RedisInvalidationTransport(properties.getRedisUri(), properties.getChannel());
+        };
+    }
+    
+    @Bean
+    public InvalidationBus invalidationBus(InvalidationTransport invalidationTransport,
+                                           InvalidationProperties properties,
+                                           MeterRegistry meterRegistry) {
+        return new InvalidationBus(invalidationTransport, properties.getMaxBatchSize(), meterRegistry);
+    }
+}
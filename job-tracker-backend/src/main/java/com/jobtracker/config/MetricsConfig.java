@@ -0,0 +1,60 @@
+package com.jobtracker.config;
+
+import com.jobtracker.metrics.SqlStatementCounter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Metrics Configuration
+ * Hooks the SQL statement counter into Hibernate so statement counts per request can be exported
+ * and exports second-level cache statistics
+ */
+@Configuration
+public class MetricsConfig {
+    
+    /**
+     * Register statement counter as Hibernate statement inspector
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(SqlStatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+    
+    /**
+     * Export second-level and natural-id cache hit/miss/put counts as hibernate.cache.requests
+     * Hit ratio = hit / (hit + miss), per cache tag
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            
+            registerCacheCounter(registry, stats, "second_level", "hit", Statistics::getSecondLevelCacheHitCount);
+            registerCacheCounter(registry, stats, "second_level", "miss", Statistics::getSecondLevelCacheMissCount);
+            registerCacheCounter(registry, stats, "second_level", "put", Statistics::getSecondLevelCachePutCount);
+            registerCacheCounter(registry, stats, "natural_id", "hit", Statistics::getNaturalIdCacheHitCount);
+            registerCacheCounter(registry, stats, "natural_id", "miss", Statistics::getNaturalIdCacheMissCount);
+            registerCacheCounter(registry, stats, "natural_id", "put", Statistics::getNaturalIdCachePutCount);
+        };
+    }
+    
+    private void registerCacheCounter(MeterRegistry registry, Statistics stats,
+                                      String cache, String result,
+                                      ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder("hibernate.cache.requests", stats, count)
+                .description("Hibernate cache requests by cache and result")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+}
\ No newline at end of file
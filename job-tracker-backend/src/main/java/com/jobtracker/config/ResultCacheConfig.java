@@ -0,0 +1,32 @@
+package com.jobtracker.config;
+
+import com.jobtracker.cache.CircuitBreaker;
+import com.jobtracker.cache.ResultCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.PersistenceException;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+
+/**
+ * Result cache configuration
+ * Provides the circuit breaker around the job list and statistics queries; only database
+ * errors (including connection pool timeouts) count as failures, not bad requests
+ */
+@Configuration
+@EnableConfigurationProperties(ResultCacheProperties.class)
+public class ResultCacheConfig {
+    
+    @Bean
+    public CircuitBreaker databaseCircuitBreaker(ResultCacheProperties properties, MeterRegistry meterRegistry) {
+        return new CircuitBreaker("database", properties.getBreaker(), ResultCacheConfig::isDatabaseFailure, meterRegistry);
+    }
+    
+    private static boolean isDatabaseFailure(Throwable ex) {
+        return ex instanceof DataAccessException
+            || ex instanceof TransactionException
+            || ex instanceof PersistenceException;
+    }
+}
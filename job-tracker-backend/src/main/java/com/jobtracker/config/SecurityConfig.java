@@ -1,6 +1,7 @@
 package com.jobtracker.config;
 
 import com.jobtracker.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -81,8 +82,16 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/error").permitAll()
                 
+                // Re-dispatch of an already authorised async request (event streams);
+                // the stateless JWT context is not carried over to it
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
+                // Health checks and Prometheus scraping
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                
                 // Admin-only endpoints
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
@@ -0,0 +1,132 @@
+package com.jobtracker.config;
+
+import com.jobtracker.sharding.ConsistentHashRing;
+import com.jobtracker.sharding.ShardContextFilter;
+import com.jobtracker.sharding.ShardDirectory;
+import com.jobtracker.sharding.ShardQueryExecutor;
+import com.jobtracker.sharding.ShardRebalancer;
+import com.jobtracker.sharding.ShardRoutingDataSource;
+import com.jobtracker.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * User-id sharding configuration
+ * Enabled with jobtracker.sharding.enabled=true; each user's job applications then
+ * live on the shard chosen by the hash ring. Not combinable with read/write routing
+ */
+@Configuration
+@ConditionalOnBooleanProperty("jobtracker.sharding.enabled")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+    
+    /**
+     * Directory shard connection pool from spring.datasource.*
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource directoryDataSource(DataSourceProperties properties, ShardingProperties sharding,
+                                               @Value("${jobtracker.datasource.routing.enabled:false}") boolean routing) {
+        if (routing) {
+            throw new IllegalStateException("jobtracker.sharding and jobtracker.datasource.routing cannot both be enabled");
+        }
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(sharding.getDirectoryShard());
+        return dataSource;
+    }
+    
+    /**
+     * DataSource used by JPA and JDBC: routes over the directory and one pool per configured shard
+     */
+    @Bean
+    @Primary
+    public ShardRoutingDataSource shardRoutingDataSource(HikariDataSource directoryDataSource,
+                                                         DataSourceProperties directoryProperties,
+                                                         ShardingProperties sharding) {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put(sharding.getDirectoryShard(), directoryDataSource);
+        for (ShardingProperties.Shard shard : sharding.getShards()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(directoryProperties.determineDriverClassName())
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            dataSource.setPoolName(shard.getName());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            shards.put(shard.getName(), dataSource);
+        }
+        return new ShardRoutingDataSource(shards, sharding.getDirectoryShard());
+    }
+    
+    /**
+     * Flyway is configured with the routing DataSource, i.e. the directory shard;
+     * apply the same migrations to every other shard as well
+     */
+    @Bean
+    public FlywayMigrationStrategy shardFlywayMigrationStrategy(ShardRoutingDataSource shardRoutingDataSource,
+                                                                ShardingProperties sharding) {
+        return flyway -> {
+            flyway.migrate();
+            for (ShardingProperties.Shard shard : sharding.getShards()) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shardRoutingDataSource.getShard(shard.getName()))
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+    
+    // Assignments are loaded from a table created by the migrations
+    @Bean
+    @DependsOn("flywayInitializer")
+    public ShardDirectory shardDirectory(ShardingProperties sharding, HikariDataSource directoryDataSource) {
+        List<String> names = new ArrayList<>();
+        names.add(sharding.getDirectoryShard());
+        sharding.getShards().forEach(shard -> names.add(shard.getName()));
+        
+        ShardDirectory directory = new ShardDirectory(
+                new ConsistentHashRing(names, sharding.getVirtualNodes()),
+                sharding.getDirectoryShard(),
+                directoryDataSource);
+        directory.load();
+        return directory;
+    }
+    
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardDirectory shardDirectory, ShardRoutingDataSource shardRoutingDataSource,
+                                           ShardingProperties sharding) {
+        return new ShardRebalancer(shardDirectory, shardRoutingDataSource, sharding.getMoveDrainTimeout());
+    }
+    
+    @Bean
+    public ShardQueryExecutor shardQueryExecutor(ShardDirectory shardDirectory,
+                                                 PlatformTransactionManager transactionManager) {
+        return new ShardQueryExecutor(shardDirectory, transactionManager);
+    }
+    
+    @Bean
+    public ShardContextFilter shardContextFilter(ShardDirectory shardDirectory) {
+        return new ShardContextFilter(shardDirectory);
+    }
+}
@@ -29,6 +29,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOriginPatterns(allowedOrigins.split(","))  // Changed from allowedOrigins
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Data-Freshness", "Age", "Retry-After", "Content-Disposition", "Content-Range", "ETag")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -41,6 +42,9 @@ public class WebConfig implements WebMvcConfigurer {
         configuration.setAllowedOriginPatterns(Arrays.asList(allowedOrigins.split(",")));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        // Let the frontend read cache freshness, retry hints and download metadata
+        configuration.setExposedHeaders(List.of("X-Data-Freshness", "Age", "Retry-After",
+                "Content-Disposition", "Content-Range", "ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
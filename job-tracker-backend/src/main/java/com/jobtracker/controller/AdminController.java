@@ -1,13 +1,21 @@
 package com.jobtracker.controller;
 
+import com.jobtracker.dto.ApiResponse;
+import com.jobtracker.dto.RoleUpdateRequest;
+import com.jobtracker.dto.ShardMoveRequest;
 import com.jobtracker.entity.User;
+import com.jobtracker.metrics.SqlStatementBudget;
 import com.jobtracker.service.UserService;
+import com.jobtracker.sharding.ShardRebalancer;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -23,14 +31,22 @@ public class AdminController {
     @Autowired
     private UserService userService;
     
+    // Present only when sharding is enabled
+    @Autowired(required = false)
+    private ShardRebalancer shardRebalancer;
+    
     /**
      * Get all users (Admin only)
      * GET /api/admin/users
      */
     @GetMapping("/users")
+    @SqlStatementBudget(3)
     public ResponseEntity<List<UserSummary>> getAllUsers() {
         List<User> users = userService.getAllUsers();
         
+        // Counts come from grouped queries instead of loading each user's applications
+        Map<Long, Long> counts = userService.getJobApplicationCounts();
+        
         List<UserSummary> userSummaries = users.stream()
             .map(user -> new UserSummary(
                 user.getId(),
@@ -38,7 +54,7 @@ public class AdminController {
                 user.getEmail(),
                 user.getRole().name(),
                 user.getCreatedAt(),
-                user.getJobApplications().size()
+                counts.getOrDefault(user.getId(), 0L).intValue()
             ))
             .collect(Collectors.toList());
         
@@ -50,6 +66,7 @@ public class AdminController {
      * GET /api/admin/users/{id}
      */
     @GetMapping("/users/{id}")
+    @SqlStatementBudget(3)
     public ResponseEntity<UserSummary> getUserById(@PathVariable Long id) {
         User user = userService.findById(id);
         
@@ -59,12 +76,52 @@ public class AdminController {
             user.getEmail(),
             user.getRole().name(),
             user.getCreatedAt(),
-            user.getJobApplications().size()
+            (int) userService.getJobApplicationCount(user.getId())
+        );
+        
+        return ResponseEntity.ok(userSummary);
+    }
+    
+    /**
+     * Change a user's role (Admin only)
+     * PUT /api/admin/users/{id}/role
+     */
+    @PutMapping("/users/{id}/role")
+    @SqlStatementBudget(4)
+    public ResponseEntity<UserSummary> updateUserRole(@PathVariable Long id,
+                                                      @Valid @RequestBody RoleUpdateRequest request) {
+        User user = userService.updateRole(id, request.getRole());
+        
+        UserSummary userSummary = new UserSummary(
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getRole().name(),
+            user.getCreatedAt(),
+            (int) userService.getJobApplicationCount(user.getId())
         );
         
         return ResponseEntity.ok(userSummary);
     }
     
+    /**
+     * Move a user's job applications to another shard (Admin only)
+     * POST /api/admin/users/{id}/shard
+     */
+    @PostMapping("/users/{id}/shard")
+    public ResponseEntity<ApiResponse> moveUserShard(@PathVariable Long id,
+                                                     @Valid @RequestBody ShardMoveRequest request) {
+        if (shardRebalancer == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponse(false, "Sharding is not enabled"));
+        }
+        
+        userService.findById(id);
+        int moved = shardRebalancer.moveUser(id, request.getShard());
+        return ResponseEntity.ok(new ApiResponse(true,
+                "Moved " + moved + " rows of user " + id + " to " + request.getShard()));
+    }
+    
     /**
      * User summary DTO for admin view
      */
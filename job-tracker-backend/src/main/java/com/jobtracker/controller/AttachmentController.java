@@ -0,0 +1,233 @@
+package com.jobtracker.controller;
+
+import com.jobtracker.dto.ApiResponse;
+import com.jobtracker.dto.AttachmentResponse;
+import com.jobtracker.exception.PayloadTooLargeException;
+import com.jobtracker.metrics.SqlStatementBudget;
+import com.jobtracker.security.UserPrincipal;
+import com.jobtracker.service.AttachmentService;
+import com.jobtracker.service.AttachmentService.StoredAttachment;
+import com.jobtracker.storage.AttachmentProperties;
+import com.jobtracker.storage.ByteRange;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * REST Controller for attachments: the user's library of files (resumes, cover letters, ...)
+ * and which of them are attached to each job application
+ * Files are uploaded as the raw request body and downloaded with Range support;
+ * neither direction holds a whole file in memory
+ */
+@RestController
+@RequestMapping("/api")
+public class AttachmentController {
+    
+    // Request attributes of Tomcat's sendfile support (org.apache.tomcat.util.net.Constants)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    private static final int MAX_FILENAME_LENGTH = 255;
+    private static final int MAX_CONTENT_TYPE_LENGTH = 100;
+    
+    @Autowired
+    private AttachmentService attachmentService;
+    
+    @Autowired
+    private AttachmentProperties properties;
+    
+    /**
+     * Upload a file to the user's library
+     * POST /api/attachments?filename=resume.pdf with the file as the body and its type as Content-Type
+     * Uploading content the user already has returns the existing attachment with 200
+     * 
+     * @param filename Name the file is downloaded as
+     * @param authentication Current authenticated user
+     * @param request Request whose body is the file
+     * @return Created (201) or existing (200) attachment
+     */
+    @PostMapping("/attachments")
+    @SqlStatementBudget(3)
+    public ResponseEntity<AttachmentResponse> uploadAttachment(
+            @RequestParam String filename,
+            Authentication authentication,
+            HttpServletRequest request) throws IOException {
+        
+        long maxSize = properties.getMaxSize().toBytes();
+        if (request.getContentLengthLong() > maxSize) {
+            throw new PayloadTooLargeException("Attachments may be at most " + maxSize + " bytes");
+        }
+        
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        StoredAttachment stored = attachmentService.upload(
+            principal.getId(), sanitizeFilename(filename), contentType(request), request.getInputStream()
+        );
+        return ResponseEntity.status(stored.existing() ? HttpStatus.OK : HttpStatus.CREATED).body(stored.attachment());
+    }
+    
+    /**
+     * List the user's attachments, newest first
+     * GET /api/attachments
+     */
+    @GetMapping("/attachments")
+    @SqlStatementBudget(1)
+    public ResponseEntity<List<AttachmentResponse>> getAttachments(Authentication authentication) {
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(attachmentService.getAttachments(principal.getId()));
+    }
+    
+    /**
+     * Delete an attachment from the library and from every application it is attached to
+     * DELETE /api/attachments/{id}
+     */
+    @DeleteMapping("/attachments/{id}")
+    @SqlStatementBudget(2)
+    public ResponseEntity<ApiResponse> deleteAttachment(@PathVariable Long id, Authentication authentication) {
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        attachmentService.deleteAttachment(id, principal.getId());
+        return ResponseEntity.ok(new ApiResponse(true, "Attachment deleted successfully"));
+    }
+    
+    /**
+     * Download an attachment's content
+     * GET /api/attachments/{id}/content
+     * Supports a single Range (206 Partial Content) and If-None-Match; the ETag is the content hash.
+     * On Tomcat the file is handed to the connector's sendfile, otherwise it is copied with
+     * FileChannel.transferTo; either way the content does not pass through the heap
+     * 
+     * @param id Attachment ID
+     * @param range Range header (optional)
+     * @param ifRange Only honour the range if the ETag still matches (optional)
+     * @param ifNoneMatch ETag the client has cached (optional)
+     */
+    @GetMapping("/attachments/{id}/content")
+    @SqlStatementBudget(1)
+    public void downloadAttachment(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        AttachmentResponse attachment = attachmentService.getAttachment(id, principal.getId());
+        
+        // Content never changes, so its hash is a strong validator
+        String etag = "\"" + attachment.getSha256() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=86400");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag.equals(ifNoneMatch)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        
+        long length = attachment.getSizeBytes();
+        ByteRange requested = ifRange == null || etag.equals(ifRange) ? ByteRange.parse(range, length) : null;
+        if (requested != null) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, requested.contentRange(length));
+        }
+        response.setContentType(attachment.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachment.getFilename(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        if (length == 0) {
+            response.setContentLengthLong(0);
+            return;
+        }
+        
+        ByteRange sent = requested != null ? requested : ByteRange.full(length);
+        response.setContentLengthLong(sent.length());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // The connector sends the file after this method returns, from its poller thread
+            request.setAttribute(SENDFILE_FILENAME, attachmentService.contentPath(attachment).toString());
+            request.setAttribute(SENDFILE_START, sent.start());
+            request.setAttribute(SENDFILE_END, sent.end() + 1);
+            return;
+        }
+        attachmentService.transferContent(attachment, sent.start(), sent.length(),
+            Channels.newChannel(response.getOutputStream()));
+    }
+    
+    /**
+     * List the files attached to a job application
+     * GET /api/jobs/{jobId}/attachments
+     */
+    @GetMapping("/jobs/{jobId}/attachments")
+    @SqlStatementBudget(1)
+    public ResponseEntity<List<AttachmentResponse>> getJobApplicationAttachments(
+            @PathVariable Long jobId,
+            Authentication authentication) {
+        
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(attachmentService.getJobApplicationAttachments(jobId, principal.getId()));
+    }
+    
+    /**
+     * Attach a file from the library to a job application
+     * PUT /api/jobs/{jobId}/attachments/{attachmentId}
+     */
+    @PutMapping("/jobs/{jobId}/attachments/{attachmentId}")
+    @SqlStatementBudget(4)
+    public ResponseEntity<AttachmentResponse> attach(
+            @PathVariable Long jobId,
+            @PathVariable Long attachmentId,
+            Authentication authentication) {
+        
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(attachmentService.attach(jobId, attachmentId, principal.getId()));
+    }
+    
+    /**
+     * Detach a file from a job application; it stays in the library
+     * DELETE /api/jobs/{jobId}/attachments/{attachmentId}
+     */
+    @DeleteMapping("/jobs/{jobId}/attachments/{attachmentId}")
+    @SqlStatementBudget(1)
+    public ResponseEntity<ApiResponse> detach(
+            @PathVariable Long jobId,
+            @PathVariable Long attachmentId,
+            Authentication authentication) {
+        
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        attachmentService.detach(jobId, attachmentId, principal.getId());
+        return ResponseEntity.ok(new ApiResponse(true, "Attachment detached successfully"));
+    }
+    
+    /**
+     * Keep the last path segment of a client-supplied name
+     */
+    private static String sanitizeFilename(String filename) {
+        String name = filename.substring(Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1).strip();
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("filename is required");
+        }
+        return name.length() > MAX_FILENAME_LENGTH ? name.substring(0, MAX_FILENAME_LENGTH) : name;
+    }
+    
+    private static String contentType(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null || contentType.isBlank() || contentType.length() > MAX_CONTENT_TYPE_LENGTH) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        return contentType;
+    }
+}
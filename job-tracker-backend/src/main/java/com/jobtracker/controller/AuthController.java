@@ -3,10 +3,14 @@ package com.jobtracker.controller;
 import com.jobtracker.dto.ApiResponse;
 import com.jobtracker.dto.JwtResponse;
 import com.jobtracker.dto.LoginRequest;
+import com.jobtracker.dto.RefreshTokenRequest;
 import com.jobtracker.dto.RegisterRequest;
 import com.jobtracker.entity.User;
+import com.jobtracker.metrics.SqlStatementBudget;
 import com.jobtracker.security.JwtTokenProvider;
+import com.jobtracker.security.RefreshTokenStore;
 import com.jobtracker.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,7 +23,7 @@ import org.springframework.web.bind.annotation.*;
 
 /**
  * REST Controller for authentication operations
- * Handles user registration and login
+ * Handles user registration, login and token refresh
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -35,29 +39,22 @@ public class AuthController {
     @Autowired
     private JwtTokenProvider tokenProvider;
     
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+    
     /**
      * Register a new user
      * POST /api/auth/register
      */
     @PostMapping("/register")
+    @SqlStatementBudget(3)
     public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
         try {
             // Create new user
             User user = userService.registerUser(registerRequest);
             
-            // Generate JWT token
-            String jwt = tokenProvider.generateTokenFromUsername(user.getUsername());
-            
-            // Return JWT response
-            JwtResponse jwtResponse = new JwtResponse(
-                jwt,
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getRole().name()
-            );
-            
-            return ResponseEntity.status(HttpStatus.CREATED).body(jwtResponse);
+            // Generate access and refresh tokens
+            return ResponseEntity.status(HttpStatus.CREATED).body(buildJwtResponse(user));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -69,6 +66,7 @@ public class AuthController {
      * POST /api/auth/login
      */
     @PostMapping("/login")
+    @SqlStatementBudget(2)
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         try {
             // Authenticate user
@@ -81,33 +79,61 @@ public class AuthController {
             
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
-            // Generate JWT token
-            String jwt = tokenProvider.generateToken(authentication);
-            
             // Get user details
-            User user = userService.findByUsername(loginRequest.getUsername());
+            User user = userService.findByUsername(authentication.getName());
             
-            // Return JWT response
-            JwtResponse jwtResponse = new JwtResponse(
-                jwt,
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getRole().name()
-            );
-            
-            return ResponseEntity.ok(jwtResponse);
+            // Generate access and refresh tokens
+            return ResponseEntity.ok(buildJwtResponse(user));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(new ApiResponse(false, "Invalid username or password"));
         }
     }
     
+    /**
+     * Exchange a refresh token for a new access and refresh token pair
+     * The presented refresh token is revoked (rotation); reusing it is rejected, as are
+     * tokens of users that no longer exist
+     * POST /api/auth/refresh
+     */
+    @PostMapping("/refresh")
+    @SqlStatementBudget(1)
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        Claims claims = tokenProvider.parseRefreshToken(refreshRequest.getRefreshToken());
+        
+        // Reload user so role changes take effect on refresh
+        User user = claims != null ? userService.findOptionalById(claims.get("uid", Long.class)).orElse(null) : null;
+        
+        if (user == null || !refreshTokenStore.revoke(claims.getId(), claims.getExpiration())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiResponse(false, "Invalid or expired refresh token"));
+        }
+        
+        return ResponseEntity.ok(buildJwtResponse(user));
+    }
+    
+    /**
+     * Revoke a refresh token
+     * POST /api/auth/logout
+     */
+    @PostMapping("/logout")
+    @SqlStatementBudget(0)
+    public ResponseEntity<ApiResponse> logout(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        Claims claims = tokenProvider.parseRefreshToken(refreshRequest.getRefreshToken());
+        
+        if (claims != null) {
+            refreshTokenStore.revoke(claims.getId(), claims.getExpiration());
+        }
+        
+        return ResponseEntity.ok(new ApiResponse(true, "Logged out successfully"));
+    }
+    
     /**
      * Check if username is available
      * GET /api/auth/check-username?username=john
      */
     @GetMapping("/check-username")
+    @SqlStatementBudget(1)
     public ResponseEntity<ApiResponse> checkUsername(@RequestParam String username) {
         boolean exists = userService.existsByUsername(username);
         return ResponseEntity.ok(
@@ -120,10 +146,27 @@ public class AuthController {
      * GET /api/auth/check-email?email=john@example.com
      */
     @GetMapping("/check-email")
+    @SqlStatementBudget(1)
     public ResponseEntity<ApiResponse> checkEmail(@RequestParam String email) {
         boolean exists = userService.existsByEmail(email);
         return ResponseEntity.ok(
             new ApiResponse(!exists, exists ? "Email is already registered" : "Email is available")
         );
     }
+    
+    /**
+     * Build JWT response with a fresh access and refresh token pair
+     */
+    private JwtResponse buildJwtResponse(User user) {
+        String role = user.getRole().name();
+        
+        return new JwtResponse(
+            tokenProvider.generateAccessToken(user.getId(), user.getUsername(), role),
+            tokenProvider.generateRefreshToken(user.getId(), user.getUsername()),
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            role
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.jobtracker.controller;
+
+import com.jobtracker.dto.DashboardResponse;
+import com.jobtracker.metrics.SqlStatementBudget;
+import com.jobtracker.security.UserPrincipal;
+import com.jobtracker.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for the dashboard page
+ * Replaces separate stats and list calls with a single round trip
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    /**
+     * Get statistics, recent applications and upcoming deadlines of the current user
+     * GET /api/dashboard
+     * 
+     * @param authentication Current authenticated user
+     * @return Dashboard data
+     */
+    @GetMapping
+    @SqlStatementBudget(4)
+    public ResponseEntity<DashboardResponse> getDashboard(Authentication authentication) {
+        // User id comes from the token, so no user lookup is needed
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(dashboardService.getDashboard(principal.getId()));
+    }
+}
@@ -1,34 +1,77 @@
 package com.jobtracker.controller;
 
+import com.jobtracker.cache.StaleWhileRevalidateCache.Result;
 import com.jobtracker.dto.ApiResponse;
+import com.jobtracker.dto.FacetedPageResponse;
+import com.jobtracker.dto.JobApplicationChanges;
+import com.jobtracker.dto.JobApplicationFields;
 import com.jobtracker.dto.JobApplicationRequest;
 import com.jobtracker.dto.JobApplicationResponse;
+import com.jobtracker.dto.JobApplicationSummary;
 import com.jobtracker.dto.PageResponse;
 import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.events.JobEventBroker;
+import com.jobtracker.facets.FacetIndex;
+import com.jobtracker.metrics.SqlStatementBudget;
+import com.jobtracker.security.UserPrincipal;
+import com.jobtracker.service.JobApplicationResultCache;
 import com.jobtracker.service.JobApplicationService;
+import com.jobtracker.tags.TagFilter;
+import com.jobtracker.tags.TagIndex;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for Job Application operations
  * Handles CRUD operations with pagination, filtering, sorting, and search
  * All operations are user-specific - users can only access their own job applications
+ * Responses are JSON unless the client asks for CBOR (application/cbor) or
+ * Smile (application/x-jackson-smile) in the Accept header; /stream is JSON only
+ * /events is a text/event-stream of changes
+ * GET /api/jobs and /api/jobs/{id} accept fields=a,b,c to return (and select) only those fields
+ * GET /api/jobs accepts tags=a,b with tagMatch=all|any to list only applications with those tags,
+ * and facets=true to add counts by status, company and month of the whole filtered list
+ * GET /api/jobs (without fields) and /stats may be served from cache; X-Data-Freshness
+ * (fresh, stale or cache-only) and Age (seconds) tell how current the data is. Facets are
+ * always counted from current data, so they only add up to a fresh page
  */
 @RestController
 @RequestMapping("/api/jobs")
 //@CrossOrigin(origins = "*", maxAge = 3600)
 public class JobApplicationController {
     
+    static final String FRESHNESS_HEADER = "X-Data-Freshness";
+    
     @Autowired
     private JobApplicationService jobApplicationService;
     
+    @Autowired
+    private JobApplicationResultCache resultCache;
+    
+    @Autowired
+    private JobEventBroker jobEventBroker;
+    
+    @Autowired
+    private TagIndex tagIndex;
+    
+    @Autowired
+    private FacetIndex facetIndex;
+    
     /**
      * Create a new job application
      * POST /api/jobs
@@ -38,6 +81,7 @@ public class JobApplicationController {
      * @return Created job application
      */
     @PostMapping
+    @SqlStatementBudget(3)
     public ResponseEntity<JobApplicationResponse> createJobApplication(
             @Valid @RequestBody JobApplicationRequest request,
             Authentication authentication) {
@@ -49,7 +93,7 @@ public class JobApplicationController {
     
     /**
      * Get all job applications with pagination, filtering, sorting, and search
-     * GET /api/jobs?page=0&size=10&sortBy=appliedDate&sortDir=desc&status=APPLIED&keyword=developer
+     * GET /api/jobs?page=0&size=10&sortBy=appliedDate&sortDir=desc&status=APPLIED&keyword=developer&tags=remote
      * 
      * @param page Page number (default: 0)
      * @param size Page size (default: 10)
@@ -59,11 +103,18 @@ public class JobApplicationController {
      * @param keyword Search in title or company (optional)
      * @param startDate Filter by applied date from (optional)
      * @param endDate Filter by applied date to (optional)
+     * @param includeArchived Also list archived (old, closed) applications (default: false)
+     * @param tags Comma-separated tags the applications must have (optional, not with fields)
+     * @param tagMatch all - every one of the tags, or any - at least one of them (default: all)
+     * @param fields Comma-separated summary fields to return; id is always included (optional)
+     * @param facets Also return counts by status, company and month for the filters (default: false);
+     *               these are current even when the page itself is served stale
      * @param authentication Current authenticated user
-     * @return Paginated list of job applications
+     * @return Paginated list of job application summaries (without notes, with tags)
      */
     @GetMapping
-    public ResponseEntity<PageResponse<JobApplicationResponse>> getAllJobApplications(
+    @SqlStatementBudget(5)
+    public ResponseEntity<PageResponse<?>> getAllJobApplications(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "appliedDate") String sortBy,
@@ -72,13 +123,111 @@ public class JobApplicationController {
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) String tags,
+            @RequestParam(defaultValue = "all") String tagMatch,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean facets,
             Authentication authentication) {
         
         String username = authentication.getName();
-        PageResponse<JobApplicationResponse> response = jobApplicationService.getJobApplications(
-            username, status, keyword, startDate, endDate, page, size, sortBy, sortDir
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        TagFilter tagFilter = TagFilter.parse(tags, tagMatch);
+        if (fields != null) {
+            if (tagFilter != null) {
+                throw new IllegalArgumentException("tags cannot be combined with fields");
+            }
+            List<String> selected = JobApplicationFields.parse(fields, JobApplicationFields.SUMMARY);
+            PageResponse<Map<String, Object>> fieldPage = jobApplicationService.getJobApplicationFields(
+                username, status, keyword, startDate, endDate, page, size, sortBy, sortDir, includeArchived, selected
+            );
+            return ResponseEntity.ok(facets ? new FacetedPageResponse<>(fieldPage, facetIndex.facets(
+                principal.getId(), status, keyword, startDate, endDate, null, includeArchived)) : fieldPage);
+        }
+        
+        // Served from the result cache; identical concurrent misses share one query
+        Result<PageResponse<JobApplicationSummary>> result = resultCache.getJobApplications(
+            principal.getId(), username, status, keyword, startDate, endDate, tagFilter,
+            page, size, sortBy, sortDir, includeArchived
+        );
+        // Facets are counted from the in-memory columns, not cached with the page: a stale page
+        // (see X-Data-Freshness) may be behind them until its refresh lands
+        PageResponse<JobApplicationSummary> body = facets
+            ? new FacetedPageResponse<>(result.value(), facetIndex.facets(
+                principal.getId(), status, keyword, startDate, endDate, tagFilter, includeArchived))
+            : result.value();
+        return ResponseEntity.ok().headers(freshnessHeaders(result)).body(body);
+    }
+    
+    /**
+     * Stream job application summaries as JSON
+     * GET /api/jobs/stream (same parameters and response as GET /api/jobs, without includeArchived)
+     * Rows are written to the response as they are read; no entities or lists are built
+     * 
+     * @param authentication Current authenticated user
+     * @param response Response the JSON is written to
+     */
+    @GetMapping("/stream")
+    public void streamAllJobApplications(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "appliedDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) ApplicationStatus status,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication,
+            HttpServletResponse response) throws IOException {
+        
+        // User id comes from the token, so no user lookup is needed
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jobApplicationService.streamJobApplications(
+            principal.getId(), status, keyword, startDate, endDate, page, size, sortBy, sortDir,
+            response.getOutputStream()
         );
-        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Get applications changed or deleted since a cursor (delta sync)
+     * GET /api/jobs/changes?since=2026-01-15T10:00:00
+     * Start with any past time (or a full load's time), then pass back the returned cursor
+     * 
+     * @param since Cursor from the previous call
+     * @param limit Most changes to return (default and maximum: jobtracker.changes.max-page-size)
+     * @param authentication Current authenticated user
+     * @return Changed summaries, deleted ids, the next cursor and whether more changes follow
+     */
+    @GetMapping("/changes")
+    @SqlStatementBudget(2)
+    public ResponseEntity<JobApplicationChanges> getChanges(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "500") int limit,
+            Authentication authentication) {
+        
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(jobApplicationService.getChangesSince(principal.getId(), since, limit));
+    }
+    
+    /**
+     * Stream changes to the user's job applications as Server-Sent Events
+     * GET /api/jobs/events
+     * Each create, update or delete is pushed as a "change" event once committed;
+     * comment lines are sent as heartbeats. A reconnecting client sends Last-Event-ID
+     * and gets the events it missed, or a "resync" event if it has to refetch
+     * 
+     * @param lastEventId Id of the last event the client received (optional)
+     * @param authentication Current authenticated user
+     * @return Event stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            Authentication authentication) {
+        
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return jobEventBroker.subscribe(principal.getId(), lastEventId);
     }
     
     /**
@@ -86,15 +235,23 @@ public class JobApplicationController {
      * GET /api/jobs/{id}
      * 
      * @param id Job application ID
+     * @param fields Comma-separated fields to return; id is always included (optional)
      * @param authentication Current authenticated user
      * @return Job application details
      */
     @GetMapping("/{id}")
-    public ResponseEntity<JobApplicationResponse> getJobApplicationById(
+    @SqlStatementBudget(3)
+    public ResponseEntity<?> getJobApplicationById(
             @PathVariable Long id,
+            @RequestParam(required = false) String fields,
             Authentication authentication) {
         
         String username = authentication.getName();
+        if (fields != null) {
+            List<String> selected = JobApplicationFields.parse(fields, JobApplicationFields.RESPONSE);
+            return ResponseEntity.ok(jobApplicationService.getJobApplicationFieldsById(id, username, selected));
+        }
+        
         JobApplicationResponse response = jobApplicationService.getJobApplicationById(id, username);
         return ResponseEntity.ok(response);
     }
@@ -109,6 +266,7 @@ public class JobApplicationController {
      * @return Updated job application
      */
     @PutMapping("/{id}")
+    @SqlStatementBudget(5)
     public ResponseEntity<JobApplicationResponse> updateJobApplication(
             @PathVariable Long id,
             @Valid @RequestBody JobApplicationRequest request,
@@ -128,6 +286,7 @@ public class JobApplicationController {
      * @return Success message
      */
     @DeleteMapping("/{id}")
+    @SqlStatementBudget(6)
     public ResponseEntity<ApiResponse> deleteJobApplication(
             @PathVariable Long id,
             Authentication authentication) {
@@ -145,11 +304,36 @@ public class JobApplicationController {
      * @return Statistics including counts by status
      */
     @GetMapping("/stats")
+    @SqlStatementBudget(2)
     public ResponseEntity<JobApplicationService.JobApplicationStats> getStatistics(
             Authentication authentication) {
         
-        String username = authentication.getName();
-        JobApplicationService.JobApplicationStats stats = jobApplicationService.getStatistics(username);
-        return ResponseEntity.ok(stats);
+        // Served from the result cache; concurrent misses of the same user share one query
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        Result<JobApplicationService.JobApplicationStats> result = resultCache.getStatistics(principal.getId());
+        return ResponseEntity.ok().headers(freshnessHeaders(result)).body(result.value());
+    }
+    
+    /**
+     * Get the user's tags with the number of applications carrying each
+     * GET /api/jobs/tags
+     * 
+     * @param authentication Current authenticated user
+     * @return Tag counts, sorted by tag
+     */
+    @GetMapping("/tags")
+    @SqlStatementBudget(1)
+    public ResponseEntity<Map<String, Long>> getTags(Authentication authentication) {
+        
+        // Answered from the tag index; the user id comes from the token
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(tagIndex.counts(principal.getId()));
+    }
+    
+    private static HttpHeaders freshnessHeaders(Result<?> result) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(FRESHNESS_HEADER, result.freshness().headerValue());
+        headers.set(HttpHeaders.AGE, String.valueOf(result.age().toSeconds()));
+        return headers;
     }
 }
\ No newline at end of file
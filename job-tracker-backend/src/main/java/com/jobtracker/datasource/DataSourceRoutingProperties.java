@@ -0,0 +1,34 @@
+package com.jobtracker.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write routing configuration (jobtracker.datasource.routing.*)
+ * The primary is configured through the standard spring.datasource.* properties;
+ * health-check-interval is read directly by ReadWriteRoutingDataSource's scheduled check
+ */
+@Data
+@ConfigurationProperties(prefix = "jobtracker.datasource.routing")
+public class DataSourceRoutingProperties {
+    
+    // Route read-only transactions to replicas
+    private boolean enabled = false;
+    
+    // After a user's write, their reads go to the primary for this long
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    
+    private List<Replica> replicas = new ArrayList<>();
+    
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,167 @@
+package com.jobtracker.datasource;
+
+import com.jobtracker.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to healthy replicas (round robin) and everything else to the primary
+ * Falls back to the primary when no replica is healthy or when the current user committed
+ * a write within the read-your-writes window; a replica that refuses a connection is marked
+ * unhealthy and the read is served by the primary
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the transaction's read-only flag
+ * is known when the connection is actually fetched
+ * Owns the replica pools and closes them on shutdown; the primary pool is a bean of its own
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+    
+    static final String PRIMARY = "primary";
+    
+    private final DataSource primary;
+    
+    private final Map<String, DataSource> replicas;
+    
+    private final List<String> replicaKeys;
+    
+    private final Set<String> healthyReplicas = ConcurrentHashMap.newKeySet();
+    
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    
+    private final ReadYourWritesTracker readYourWritesTracker;
+    
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      ReadYourWritesTracker readYourWritesTracker) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.healthyReplicas.addAll(replicaKeys);
+        
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = currentUserId();
+        
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Start the user's read-your-writes window once the write commits
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWritesTracker.recordWrite(userId);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        
+        if (userId != null && readYourWritesTracker.mustReadPrimary(userId)) {
+            return PRIMARY;
+        }
+        
+        String replica = nextHealthyReplica();
+        return replica != null ? replica : PRIMARY;
+    }
+    
+    /**
+     * Connection for the current transaction; reads retry on the primary when the replica fails
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource replica = replicas.get(key);
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        
+        try {
+            return replica.getConnection();
+        } catch (SQLException ex) {
+            if (healthyReplicas.remove(key)) {
+                logger.warn("Replica {} refused a connection, routing its reads to the primary", key, ex);
+            }
+            return primary.getConnection();
+        }
+    }
+    
+    /**
+     * Validate every replica and update the healthy set
+     */
+    @Scheduled(fixedDelayString = "${jobtracker.datasource.routing.health-check-interval:PT10S}")
+    public void checkReplicaHealth() {
+        for (String key : replicaKeys) {
+            boolean healthy;
+            try (Connection connection = replicas.get(key).getConnection()) {
+                healthy = connection.isValid(2);
+            } catch (Exception ex) {
+                healthy = false;
+            }
+            
+            if (healthy && healthyReplicas.add(key)) {
+                logger.info("Replica {} is healthy again", key);
+            } else if (!healthy && healthyReplicas.remove(key)) {
+                logger.warn("Replica {} failed health check, routing its reads to the primary", key);
+            }
+        }
+        readYourWritesTracker.evictExpired();
+    }
+    
+    /**
+     * Close the replica pools, which are owned by this DataSource rather than registered as beans
+     */
+    public void close() {
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            if (replica.getValue() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    logger.warn("Failed to close replica {}", replica.getKey(), ex);
+                }
+            }
+        }
+    }
+    
+    private String nextHealthyReplica() {
+        int size = replicaKeys.size();
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), size));
+            if (healthyReplicas.contains(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+    
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+}
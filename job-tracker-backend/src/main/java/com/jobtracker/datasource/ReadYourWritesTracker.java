@@ -0,0 +1,51 @@
+package com.jobtracker.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks users who recently committed a write
+ * Their reads go to the primary for a short window, so they never see a replica
+ * that has not yet caught up with their own changes
+ */
+public class ReadYourWritesTracker {
+    
+    private final long windowMs;
+    
+    // userId -> end of primary-read window (epoch millis)
+    private final ConcurrentHashMap<Long, Long> recentWriters = new ConcurrentHashMap<>();
+    
+    public ReadYourWritesTracker(Duration window) {
+        this.windowMs = window.toMillis();
+    }
+    
+    /**
+     * Record that the user just committed a write
+     */
+    public void recordWrite(Long userId) {
+        recentWriters.put(userId, System.currentTimeMillis() + windowMs);
+    }
+    
+    /**
+     * Check if the user's reads must still go to the primary
+     */
+    public boolean mustReadPrimary(Long userId) {
+        Long until = recentWriters.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until <= System.currentTimeMillis()) {
+            recentWriters.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Drop expired windows of users who have not read since
+     */
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        recentWriters.values().removeIf(until -> until <= now);
+    }
+}
@@ -0,0 +1,22 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Attachment metadata returned to clients; content is downloaded from /api/attachments/{id}/content
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentResponse {
+    private Long id;
+    private String filename;
+    private String contentType;
+    private Long sizeBytes;
+    private String sha256;
+    private LocalDateTime createdAt;
+}
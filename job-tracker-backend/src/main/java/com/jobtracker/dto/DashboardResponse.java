@@ -0,0 +1,20 @@
+package com.jobtracker.dto;
+
+import com.jobtracker.service.JobApplicationService.JobApplicationStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything the dashboard page shows, served by GET /api/dashboard in one response
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponse {
+    private JobApplicationStats stats;
+    private List<JobApplicationSummary> recentApplications;
+    private List<JobApplicationSummary> upcomingDeadlines;
+}
@@ -0,0 +1,19 @@
+package com.jobtracker.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Page of GET /api/jobs with the facet counts of the whole filtered list (facets=true)
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class FacetedPageResponse<T> extends PageResponse<T> {
+    private JobApplicationFacets facets;
+    
+    public FacetedPageResponse(PageResponse<T> page, JobApplicationFacets facets) {
+        super(page.getContent(), page.getPageNumber(), page.getPageSize(),
+              page.getTotalElements(), page.getTotalPages(), page.isLast());
+        this.facets = facets;
+    }
+}
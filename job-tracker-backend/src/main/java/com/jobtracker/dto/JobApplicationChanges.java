@@ -0,0 +1,25 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Result of GET /api/jobs/changes: what changed since the client's cursor
+ * Pass cursor as since on the next call, right away while hasMore is set; changes near
+ * the cursor may be repeated, so clients apply them by id. With resync the client must
+ * reload everything, as deletions that old are no longer recorded, and there is no cursor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobApplicationChanges {
+    private List<JobApplicationSummary> changed;
+    private List<Long> deleted;
+    private LocalDateTime cursor;
+    private boolean hasMore;
+    private boolean resync;
+}
@@ -0,0 +1,26 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change to one of the user's job applications, pushed over GET /api/jobs/events
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobApplicationEvent {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+    
+    private Type type;
+    private Long jobApplicationId;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,33 @@
+package com.jobtracker.dto;
+
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts of the applications matching a job list filter, by status, company and applied month
+ * The status counts ignore the status filter itself, so they show what choosing another
+ * status would list. Companies are the top ones by count (ties by name); applications at
+ * all other companies are summed in otherCompanies. Months are "yyyy-MM", oldest first
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobApplicationFacets {
+    private Map<ApplicationStatus, Long> status;
+    private List<FacetCount> companies;
+    private long otherCompanies;
+    private Map<String, Long> months;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String value;
+        private long count;
+    }
+}
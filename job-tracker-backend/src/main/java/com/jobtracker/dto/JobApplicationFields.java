@@ -0,0 +1,48 @@
+// JobApplicationFields.java
+package com.jobtracker.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Whitelist of fields selectable with the fields= parameter on job endpoints
+ * Names are the JSON property names; only these ever reach a query
+ */
+public final class JobApplicationFields {
+    
+    // Fields of JobApplicationSummary (list endpoint)
+    public static final Set<String> SUMMARY = Set.of(
+        "id", "title", "company", "status", "appliedDate", "deadline", "createdAt", "updatedAt"
+    );
+    
+    // Fields of JobApplicationResponse (single application endpoint)
+    public static final Set<String> RESPONSE = Set.of(
+        "id", "title", "company", "status", "appliedDate", "deadline", "notes",
+        "userId", "username", "createdAt", "updatedAt"
+    );
+    
+    private JobApplicationFields() {
+    }
+    
+    /**
+     * Parse a comma-separated field list, keeping request order
+     * id is always included so clients can key the results
+     */
+    public static List<String> parse(String fields, Set<String> allowed) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return new ArrayList<>(selected);
+    }
+}
@@ -4,9 +4,11 @@ package com.jobtracker.dto;
 import com.jobtracker.entity.JobApplication.ApplicationStatus;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 public class JobApplicationRequest {
@@ -25,4 +27,8 @@ public class JobApplicationRequest {
     private LocalDate deadline;
     
     private String notes;
+    
+    // Free-form tags (remote, referral, ...); left unchanged on update when absent
+    @Size(max = 20, message = "At most 20 tags are allowed")
+    private List<@Size(max = 50, message = "Tags may be at most 50 characters") String> tags;
 }
\ No newline at end of file
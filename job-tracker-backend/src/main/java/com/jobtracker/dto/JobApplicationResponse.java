@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -24,4 +25,5 @@ public class JobApplicationResponse {
     private String username;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private List<String> tags;
 }
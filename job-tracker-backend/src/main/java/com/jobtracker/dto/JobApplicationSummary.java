@@ -0,0 +1,47 @@
+// JobApplicationSummary.java
+package com.jobtracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * List view of a job application
+ * Leaves out the TEXT notes column; full notes are served by GET /api/jobs/{id}
+ * Tags are filled in by GET /api/jobs (from the tag index) for applications that have any,
+ * and left out otherwise
+ */
+@Data
+@NoArgsConstructor
+public class JobApplicationSummary {
+    private Long id;
+    private String title;
+    private String company;
+    private ApplicationStatus status;
+    private LocalDate appliedDate;
+    private LocalDate deadline;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> tags;
+    
+    // Used by JPQL constructor expressions, which select the columns only
+    public JobApplicationSummary(Long id, String title, String company, ApplicationStatus status,
+                                 LocalDate appliedDate, LocalDate deadline,
+                                 LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.company = company;
+        this.status = status;
+        this.appliedDate = appliedDate;
+        this.deadline = deadline;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -8,14 +8,16 @@ import lombok.Data;
 @AllArgsConstructor
 public class JwtResponse {
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private Long id;
     private String username;
     private String email;
     private String role;
     
-    public JwtResponse(String token, Long id, String username, String email, String role) {
+    public JwtResponse(String token, String refreshToken, Long id, String username, String email, String role) {
         this.token = token;
+        this.refreshToken = refreshToken;
         this.id = id;
         this.username = username;
         this.email = email;
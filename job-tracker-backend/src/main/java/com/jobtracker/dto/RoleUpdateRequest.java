@@ -0,0 +1,12 @@
+// RoleUpdateRequest.java
+package com.jobtracker.dto;
+
+import com.jobtracker.entity.User.Role;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class RoleUpdateRequest {
+    @NotNull(message = "Role is required")
+    private Role role;
+}
@@ -0,0 +1,11 @@
+// ShardMoveRequest.java
+package com.jobtracker.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class ShardMoveRequest {
+    @NotBlank(message = "Target shard is required")
+    private String shard;
+}
@@ -0,0 +1,58 @@
+package com.jobtracker.entity;
+
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a closed job application, moved out of job_applications by the archiver
+ * Keeps the original id and timestamps so the row can be restored unchanged
+ * Rows are only written with INSERT ... SELECT, never through this entity
+ */
+@Entity
+@Table(name = "job_applications_archive", indexes = {
+    @Index(name = "idx_archive_user_id", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedJobApplication {
+    
+    @Id
+    private Long id;
+    
+    @Column(nullable = false)
+    private String title;
+    
+    @Column(nullable = false)
+    private String company;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private ApplicationStatus status;
+    
+    @Column(name = "applied_date", nullable = false)
+    private LocalDate appliedDate;
+    
+    @Column(name = "deadline")
+    private LocalDate deadline;
+    
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+    
+    // Plain column: archived rows are never navigated from the user
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,47 @@
+package com.jobtracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * File a user attached to their job applications (resume, cover letter, ...)
+ * Only metadata is stored here; the content is in the ContentStore under its sha256.
+ * A user has one row per distinct content, which any number of applications can reference
+ */
+@Entity
+@Table(name = "attachments", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_attachments_user_sha256", columnNames = {"user_id", "sha256"})
+}, indexes = {
+    @Index(name = "idx_attachments_sha256", columnList = "sha256")
+})
+@Data
+@NoArgsConstructor
+public class Attachment {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false, length = 64)
+    private String sha256;
+    
+    @Column(nullable = false)
+    private String filename;
+    
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+    
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -18,7 +18,9 @@ import java.time.LocalDateTime;
 @Table(name = "job_applications", indexes = {
     @Index(name = "idx_user_id", columnList = "user_id"),
     @Index(name = "idx_status", columnList = "status"),
-    @Index(name = "idx_applied_date", columnList = "applied_date")
+    @Index(name = "idx_applied_date", columnList = "applied_date"),
+    @Index(name = "idx_user_updated_at", columnList = "user_id, updated_at"),
+    @Index(name = "idx_status_updated_at", columnList = "status, updated_at")
 })
 @Data
 @NoArgsConstructor
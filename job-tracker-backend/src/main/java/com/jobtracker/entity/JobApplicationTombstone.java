@@ -0,0 +1,30 @@
+package com.jobtracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted job application, so delta sync can report the deletion
+ * Keeps the id of the deleted application; purged after jobtracker.changes.tombstone-retention
+ * Rows are only written with a native INSERT, never through this entity
+ */
+@Entity
+@Table(name = "job_application_tombstones", indexes = {
+    @Index(name = "idx_tombstone_user_deleted_at", columnList = "user_id, deleted_at")
+})
+@Data
+@NoArgsConstructor
+public class JobApplicationTombstone {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -13,9 +17,13 @@ import java.util.List;
 /**
  * User entity representing application users
  * Contains authentication and profile information
+ * Cached in the second-level cache by id and by username (natural id)
  */
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Neither the default region name (User##NaturalId) nor a dotted one resolves as a Caffeine config path
+@NaturalIdCache(region = "user-natural-id")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,6 +33,7 @@ public class User {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @NaturalId
     @Column(nullable = false, unique = true, length = 50)
     private String username;
     
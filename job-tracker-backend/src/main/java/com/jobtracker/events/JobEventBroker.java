@@ -0,0 +1,237 @@
+package com.jobtracker.events;
+
+import com.jobtracker.dto.JobApplicationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user fan-out of job application changes to open event streams
+ * Events are published after the mutating transaction commits and kept in a short
+ * per-user history, so a reconnecting client gets what it missed since its Last-Event-ID.
+ * If that is no longer available (history trimmed, node restarted) it gets a resync
+ * event and refetches instead. Streams are per node; a client only sees changes made
+ * through the node it is connected to
+ */
+@Component
+public class JobEventBroker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JobEventBroker.class);
+    
+    static final String CHANGE = "change";
+    static final String RESYNC = "resync";
+    
+    @Value("${jobtracker.events.buffer-size:64}")
+    private int bufferSize;
+    
+    @Value("${jobtracker.events.replay-size:100}")
+    private int replaySize;
+    
+    @Value("${jobtracker.events.replay-window:PT5M}")
+    private Duration replayWindow;
+    
+    @Value("${jobtracker.events.timeout:PT30M}")
+    private Duration timeout;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Event ids are <bootId>-<sequence>; ids from before a restart never match
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    
+    /**
+     * Open streams and recent events of one user
+     * Only accessed inside channels.compute*, which serialises access per user
+     */
+    private static final class Channel {
+        final List<JobEventConnection> connections = new ArrayList<>();
+        final Deque<Stored> history = new ArrayDeque<>();
+        // Events up to this sequence are no longer in history
+        long floor;
+        
+        Channel(long floor) {
+            this.floor = floor;
+        }
+    }
+    
+    private record Stored(long sequence, long publishedAt, JobApplicationEvent event) {
+    }
+    
+    @PostConstruct
+    public void registerMetrics() {
+        meterRegistry.gauge("jobtracker.events.connections", openStreams);
+    }
+    
+    /**
+     * Publish a change to the user's streams once the current transaction commits
+     * Nothing is published if it rolls back
+     */
+    public void publishAfterCommit(Long userId, JobApplicationEvent.Type type, Long jobApplicationId) {
+        JobApplicationEvent event = new JobApplicationEvent(type, jobApplicationId, LocalDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(userId, event);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(userId, event);
+            }
+        });
+    }
+    
+    /**
+     * Open an event stream for the user
+     * With a Last-Event-ID, missed events are replayed first (or a resync event is sent)
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        JobEventConnection connection = new JobEventConnection(emitter, bufferSize);
+        
+        channels.compute(userId, (id, channel) -> {
+            if (channel == null) {
+                channel = new Channel(sequence.get());
+            }
+            connection.offer(new JobEventConnection.Message(null, null, "connected"));
+            if (lastEventId != null) {
+                replay(channel, lastEventId, connection);
+            }
+            channel.connections.add(connection);
+            return channel;
+        });
+        openStreams.incrementAndGet();
+        
+        Runnable unsubscribe = () -> {
+            connection.close();
+            channels.computeIfPresent(userId, (id, channel) -> {
+                if (channel.connections.remove(connection)) {
+                    openStreams.decrementAndGet();
+                }
+                return channel;
+            });
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(() -> {
+            unsubscribe.run();
+            emitter.complete();
+        });
+        emitter.onError(ex -> unsubscribe.run());
+        
+        connection.sendQueued();
+        Thread.ofVirtual().name("job-events-" + userId).start(connection::run);
+        return emitter;
+    }
+    
+    /**
+     * Heartbeat to every open stream, dropping closed ones and trimming old history
+     * Users without streams and without recent events are forgotten
+     */
+    @Scheduled(fixedDelayString = "${jobtracker.events.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        long cutoff = System.nanoTime() - replayWindow.toNanos();
+        for (Long userId : channels.keySet()) {
+            channels.computeIfPresent(userId, (id, channel) -> {
+                offerAll(channel, new JobEventConnection.Message(null, null, "heartbeat"));
+                while (!channel.history.isEmpty() && channel.history.peekFirst().publishedAt() - cutoff < 0) {
+                    channel.floor = channel.history.pollFirst().sequence();
+                }
+                return channel.connections.isEmpty() && channel.history.isEmpty() ? null : channel;
+            });
+        }
+    }
+    
+    /**
+     * Number of open streams on this node
+     */
+    public int connectionCount() {
+        return openStreams.get();
+    }
+    
+    private void publish(Long userId, JobApplicationEvent event) {
+        channels.compute(userId, (id, channel) -> {
+            long seq = sequence.incrementAndGet();
+            if (channel == null) {
+                channel = new Channel(seq - 1);
+            }
+            channel.history.addLast(new Stored(seq, System.nanoTime(), event));
+            if (channel.history.size() > replaySize) {
+                channel.floor = channel.history.pollFirst().sequence();
+            }
+            offerAll(channel, new JobEventConnection.Message(eventId(seq), CHANGE, event));
+            return channel;
+        });
+        meterRegistry.counter("jobtracker.events.published").increment();
+    }
+    
+    /**
+     * Offer a message to every stream of the channel, closing those that cannot keep up
+     */
+    private void offerAll(Channel channel, JobEventConnection.Message message) {
+        channel.connections.removeIf(connection -> {
+            if (connection.offer(message)) {
+                return false;
+            }
+            openStreams.decrementAndGet();
+            meterRegistry.counter("jobtracker.events.dropped").increment();
+            logger.debug("Dropped slow or closed event stream");
+            return true;
+        });
+    }
+    
+    /**
+     * Queue the events after lastEventId, or a resync event if some are no longer known
+     */
+    private void replay(Channel channel, String lastEventId, JobEventConnection connection) {
+        long last = parseSequence(lastEventId);
+        List<Stored> missed = channel.history.stream().filter(stored -> stored.sequence() > last).toList();
+        
+        if (last < channel.floor || missed.size() >= connection.remaining()) {
+            connection.offer(new JobEventConnection.Message(eventId(sequence.get()), RESYNC, "{}"));
+            return;
+        }
+        for (Stored stored : missed) {
+            connection.offer(new JobEventConnection.Message(eventId(stored.sequence()), CHANGE, stored.event()));
+        }
+    }
+    
+    private String eventId(long seq) {
+        return bootId + "-" + seq;
+    }
+    
+    /**
+     * Sequence of an event id from this run, or -1 for unknown ids (forces a resync)
+     */
+    private long parseSequence(String eventId) {
+        String prefix = bootId + "-";
+        if (!eventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
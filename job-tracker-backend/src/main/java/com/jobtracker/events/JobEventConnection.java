@@ -0,0 +1,129 @@
+package com.jobtracker.events;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * One open event stream: a bounded queue drained into the SseEmitter by a virtual thread
+ * Publishers never block on a client; when the queue is full the client is too slow
+ * and the connection is closed (it reconnects and resumes from its Last-Event-ID)
+ */
+final class JobEventConnection {
+    
+    /**
+     * Event, or comment when name is null (heartbeats)
+     */
+    record Message(String id, String name, Object data) {
+    }
+    
+    // Tells the sender to complete the emitter and stop
+    private static final Message CLOSE = new Message(null, null, null);
+    
+    private final SseEmitter emitter;
+    private final BlockingQueue<Message> queue;
+    private boolean closed;
+    
+    JobEventConnection(SseEmitter emitter, int bufferSize) {
+        this.emitter = emitter;
+        // One extra slot so CLOSE always fits
+        this.queue = new ArrayBlockingQueue<>(bufferSize + 1);
+    }
+    
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+    
+    /**
+     * Queue a message without blocking
+     * Returns false if the connection is closed or its buffer was full (it is closed then)
+     */
+    synchronized boolean offer(Message message) {
+        if (closed) {
+            return false;
+        }
+        if (queue.remainingCapacity() > 1 && queue.offer(message)) {
+            return true;
+        }
+        close();
+        return false;
+    }
+    
+    /**
+     * Space left in the buffer
+     */
+    synchronized int remaining() {
+        return closed ? 0 : queue.remainingCapacity() - 1;
+    }
+    
+    synchronized boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Stop sending; pending messages are discarded
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.clear();
+        queue.offer(CLOSE);
+    }
+    
+    /**
+     * Send what is queued so far (connected comment, replayed events) on the calling thread
+     * Called before the emitter is handed to Spring MVC, so the emitter buffers these sends and
+     * the request thread writes them; the send loop only starts writing once the request
+     * thread is done with the response
+     */
+    synchronized void sendQueued() {
+        try {
+            Message message;
+            while ((message = queue.peek()) != null && message != CLOSE) {
+                queue.poll();
+                emitter.send(toEvent(message));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            close();
+        }
+    }
+    
+    /**
+     * Send loop, run on the connection's own virtual thread
+     * While idle it is parked on the queue, so an open connection holds no platform thread
+     */
+    void run() {
+        try {
+            while (true) {
+                Message message = queue.take();
+                if (message == CLOSE) {
+                    emitter.complete();
+                    return;
+                }
+                emitter.send(toEvent(message));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away or the request already completed
+            close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            close();
+        }
+    }
+    
+    private static SseEmitter.SseEventBuilder toEvent(Message message) {
+        if (message.name() == null) {
+            return SseEmitter.event().comment(String.valueOf(message.data()));
+        }
+        
+        return SseEmitter.event()
+                .id(message.id())
+                .name(message.name())
+                .data(message.data(), MediaType.APPLICATION_JSON);
+    }
+}
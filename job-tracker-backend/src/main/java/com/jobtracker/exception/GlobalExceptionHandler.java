@@ -1,6 +1,7 @@
 // GlobalExceptionHandler.java
 package com.jobtracker.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -60,6 +61,60 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
     
+    /**
+     * Handle temporarily unavailable dependencies (e.g. an open circuit breaker)
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            null
+        );
+        
+        // Retry-After is in whole seconds, at least 1
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .body(errorResponse);
+    }
+    
+    /**
+     * Handle uploads over the size limit
+     */
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handlePayloadTooLargeException(PayloadTooLargeException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.CONTENT_TOO_LARGE.value(),
+            "Content Too Large",
+            ex.getMessage(),
+            null
+        );
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONTENT_TOO_LARGE);
+    }
+    
+    /**
+     * Handle ranges past the end of a file
+     */
+    @ExceptionHandler(RangeNotSatisfiableException.class)
+    public ResponseEntity<ErrorResponse> handleRangeNotSatisfiableException(RangeNotSatisfiableException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value(),
+            "Range Not Satisfiable",
+            ex.getMessage(),
+            null
+        );
+        
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + ex.getLength())
+            .body(errorResponse);
+    }
+    
     /**
      * Handle authentication failures
      */
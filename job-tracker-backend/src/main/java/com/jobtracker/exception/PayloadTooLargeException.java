@@ -0,0 +1,12 @@
+package com.jobtracker.exception;
+
+/**
+ * Request body is larger than the endpoint accepts
+ * Mapped to 413 Content Too Large
+ */
+public class PayloadTooLargeException extends RuntimeException {
+    
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
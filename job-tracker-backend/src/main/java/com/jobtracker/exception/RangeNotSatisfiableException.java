@@ -0,0 +1,19 @@
+package com.jobtracker.exception;
+
+/**
+ * Range request that does not overlap the resource
+ * Mapped to 416 Range Not Satisfiable, with the file length in Content-Range
+ */
+public class RangeNotSatisfiableException extends RuntimeException {
+    
+    private final long length;
+    
+    public RangeNotSatisfiableException(long length) {
+        super("Requested range is outside the " + length + " byte file");
+        this.length = length;
+    }
+    
+    public long getLength() {
+        return length;
+    }
+}
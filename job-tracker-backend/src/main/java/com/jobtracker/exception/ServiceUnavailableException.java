@@ -0,0 +1,21 @@
+package com.jobtracker.exception;
+
+import java.time.Duration;
+
+/**
+ * Request could not be served right now; the client should retry after the given delay
+ * Mapped to 503 Service Unavailable with a Retry-After header
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    
+    private final Duration retryAfter;
+    
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+    
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,245 @@
+package com.jobtracker.facets;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobtracker.cache.UserDataVersions;
+import com.jobtracker.dto.JobApplicationFacets;
+import com.jobtracker.dto.JobApplicationFacets.FacetCount;
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.repository.JobApplicationRepository;
+import com.jobtracker.tags.IdBitmap;
+import com.jobtracker.tags.TagFilter;
+import com.jobtracker.tags.TagIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Per-user columnar snapshot of the job list's filter and facet columns
+ * Each user's applications (hot and archived) are loaded with one query into parallel arrays;
+ * companies are dictionary-encoded, so keyword matches on company and company counts are
+ * per distinct company rather than per row. Facets for a filter are then counted in a single
+ * pass over the arrays, with a bounded heap for the top companies. Snapshots are kept until
+ * the user's data version changes, like the tag index.
+ * Counted in jobtracker.facets.index (result=hit|load)
+ */
+@Component
+public class FacetIndex {
+    
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+    
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+    
+    @Autowired
+    private TagIndex tagIndex;
+    
+    @Autowired
+    private UserDataVersions userDataVersions;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Users whose snapshot is kept in memory
+    @Value("${jobtracker.facets.index.maximum-size:10000}")
+    private long maximumSize;
+    
+    // Companies listed by count; the rest are summed
+    @Value("${jobtracker.facets.top-companies:10}")
+    private int topCompanies;
+    
+    private Cache<Long, Snapshot> snapshots;
+    
+    private Counter hits;
+    private Counter loads;
+    
+    /**
+     * Column arrays, one entry per application; titles and company keys are lower case
+     * Months are counted from year 0 (year * 12 + month - 1) and offset by minMonth
+     */
+    private record Snapshot(long version,
+                            long[] ids,
+                            byte[] statuses,
+                            int[] companies,
+                            String[] titles,
+                            long[] appliedDays,
+                            int[] months,
+                            boolean[] archived,
+                            String[] companyNames,
+                            String[] companyKeys,
+                            int minMonth,
+                            int monthCount) {
+    }
+    
+    @PostConstruct
+    public void init() {
+        snapshots = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        hits = lookupCounter("hit");
+        loads = lookupCounter("load");
+    }
+    
+    /**
+     * Facet counts of the user's applications matching the job list filters
+     */
+    public JobApplicationFacets facets(Long userId,
+                                       ApplicationStatus status,
+                                       String keyword,
+                                       LocalDate startDate,
+                                       LocalDate endDate,
+                                       TagFilter tagFilter,
+                                       boolean includeArchived) {
+        Snapshot snapshot = snapshot(userId);
+        IdBitmap candidates = tagFilter != null ? tagIndex.match(userId, tagFilter) : null;
+        String needle = keyword == null || keyword.isBlank() ? null : keyword.trim().toLowerCase(Locale.ROOT);
+        long from = startDate != null ? startDate.toEpochDay() : Long.MIN_VALUE;
+        long to = endDate != null ? endDate.toEpochDay() : Long.MAX_VALUE;
+        
+        // Keyword matches on company are decided once per distinct company
+        boolean[] companyMatches = new boolean[snapshot.companyNames().length];
+        for (int c = 0; c < companyMatches.length; c++) {
+            companyMatches[c] = needle == null || snapshot.companyKeys()[c].contains(needle);
+        }
+        
+        long[] statusCounts = new long[STATUSES.length];
+        long[] companyCounts = new long[companyMatches.length];
+        long[] monthCounts = new long[snapshot.monthCount()];
+        for (int i = 0; i < snapshot.ids().length; i++) {
+            if ((snapshot.archived()[i] && !includeArchived)
+                    || snapshot.appliedDays()[i] < from || snapshot.appliedDays()[i] > to
+                    || (!companyMatches[snapshot.companies()[i]] && !snapshot.titles()[i].contains(needle))
+                    || (candidates != null && !candidates.contains(snapshot.ids()[i]))) {
+                continue;
+            }
+            statusCounts[snapshot.statuses()[i]]++;
+            if (status != null && snapshot.statuses()[i] != status.ordinal()) {
+                continue;
+            }
+            companyCounts[snapshot.companies()[i]]++;
+            monthCounts[snapshot.months()[i] - snapshot.minMonth()]++;
+        }
+        
+        Map<ApplicationStatus, Long> statuses = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus value : STATUSES) {
+            statuses.put(value, statusCounts[value.ordinal()]);
+        }
+        
+        Map<String, Long> months = new LinkedHashMap<>();
+        for (int m = 0; m < monthCounts.length; m++) {
+            if (monthCounts[m] > 0) {
+                int month = snapshot.minMonth() + m;
+                months.put(String.format("%04d-%02d", month / 12, month % 12 + 1), monthCounts[m]);
+            }
+        }
+        
+        List<FacetCount> companies = topCompanies(snapshot, companyCounts);
+        long other = 0;
+        for (long count : companyCounts) {
+            other += count;
+        }
+        for (FacetCount company : companies) {
+            other -= company.getCount();
+        }
+        return new JobApplicationFacets(statuses, companies, other, months);
+    }
+    
+    /**
+     * Companies with the highest counts, highest first, ties by name
+     * The heap holds at most topCompanies entries, with the weakest on top to be evicted
+     */
+    private List<FacetCount> topCompanies(Snapshot snapshot, long[] counts) {
+        Comparator<Integer> weakestFirst = Comparator.<Integer>comparingLong(c -> counts[c])
+                .thenComparing(c -> snapshot.companyNames()[c], Comparator.reverseOrder());
+        PriorityQueue<Integer> top = new PriorityQueue<>(weakestFirst);
+        for (int c = 0; c < counts.length; c++) {
+            if (counts[c] == 0) {
+                continue;
+            }
+            top.add(c);
+            if (top.size() > topCompanies) {
+                top.poll();
+            }
+        }
+        
+        List<FacetCount> companies = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int c = top.poll();
+            companies.add(new FacetCount(snapshot.companyNames()[c], counts[c]));
+        }
+        Collections.reverse(companies);
+        return companies;
+    }
+    
+    private Snapshot snapshot(Long userId) {
+        // Read the version first: a write committed during the load moves it on, forcing a reload
+        long version = userDataVersions.current(userId);
+        Snapshot snapshot = snapshots.getIfPresent(userId);
+        if (snapshot != null && snapshot.version() == version) {
+            hits.increment();
+            return snapshot;
+        }
+        
+        loads.increment();
+        List<Object[]> rows = jobApplicationRepository.findFacetRowsByUserId(userId);
+        int size = rows.size();
+        long[] ids = new long[size];
+        byte[] statuses = new byte[size];
+        int[] companies = new int[size];
+        String[] titles = new String[size];
+        long[] appliedDays = new long[size];
+        int[] months = new int[size];
+        boolean[] archived = new boolean[size];
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> companyNames = new ArrayList<>();
+        int minMonth = Integer.MAX_VALUE;
+        int maxMonth = Integer.MIN_VALUE;
+        
+        for (int i = 0; i < size; i++) {
+            Object[] row = rows.get(i);
+            LocalDate appliedDate = (LocalDate) row[4];
+            ids[i] = (Long) row[0];
+            statuses[i] = (byte) ApplicationStatus.valueOf((String) row[1]).ordinal();
+            companies[i] = dictionary.computeIfAbsent((String) row[2], name -> {
+                companyNames.add(name);
+                return companyNames.size() - 1;
+            });
+            titles[i] = ((String) row[3]).toLowerCase(Locale.ROOT);
+            appliedDays[i] = appliedDate.toEpochDay();
+            months[i] = appliedDate.getYear() * 12 + appliedDate.getMonthValue() - 1;
+            archived[i] = (Boolean) row[5];
+            minMonth = Math.min(minMonth, months[i]);
+            maxMonth = Math.max(maxMonth, months[i]);
+        }
+        
+        String[] companyKeys = new String[companyNames.size()];
+        for (int c = 0; c < companyKeys.length; c++) {
+            companyKeys[c] = companyNames.get(c).toLowerCase(Locale.ROOT);
+        }
+        snapshot = new Snapshot(version, ids, statuses, companies, titles, appliedDays, months, archived,
+            companyNames.toArray(String[]::new), companyKeys,
+            size > 0 ? minMonth : 0, size > 0 ? maxMonth - minMonth + 1 : 0);
+        snapshots.put(userId, snapshot);
+        return snapshot;
+    }
+    
+    private Counter lookupCounter(String result) {
+        return Counter.builder("jobtracker.facets.index")
+                .description("Facet index lookups answered from memory (hit) or after loading the user's columns (load)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
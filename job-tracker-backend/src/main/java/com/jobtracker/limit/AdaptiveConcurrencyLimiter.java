@@ -0,0 +1,150 @@
+package com.jobtracker.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to measured latency (gradient) and backs off on failures (AIMD)
+ * Each completed request's latency is compared with the long-term average: while it stays within
+ * rtt-tolerance the limit grows by about sqrt(limit), and as latency rises the limit shrinks with
+ * the ratio, so queueing for database connections shows up as a smaller limit. A request that
+ * fails with a 5xx multiplies the limit by backoff-ratio. The limit never grows while less than
+ * half of it is in use.
+ * Requests over the limit are rejected at once rather than queued. Low-priority requests only get
+ * low-priority-share of the limit, so cheap requests still get through when searches pile up.
+ * Exported as jobtracker.concurrency.limit, .in_flight and .rejected (by priority)
+ */
+public class AdaptiveConcurrencyLimiter {
+    
+    public enum Priority { HIGH, LOW }
+    
+    private final ConcurrencyLimitProperties properties;
+    private final LongSupplier nanoTime;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+    
+    // Guarded by this; limit is also read without the lock when admitting
+    private volatile double limit;
+    private double longRtt;
+    
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+    
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry,
+                               LongSupplier nanoTime) {
+        this.properties = properties;
+        this.nanoTime = nanoTime;
+        this.limit = properties.getInitialLimit();
+        
+        Gauge.builder("jobtracker.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("jobtracker.concurrency.in_flight", inFlight, AtomicInteger::get)
+                .description("Requests currently holding a concurrency slot")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("jobtracker.concurrency.rejected")
+                    .description("Requests shed because the concurrency limit was reached")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+    
+    /**
+     * Take a slot for a request, or return null if it should be shed
+     * The returned permit must be released exactly once
+     */
+    public Permit tryAcquire(Priority priority) {
+        int allowed = allowed(priority);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1, nanoTime.getAsLong());
+            }
+        }
+    }
+    
+    public int getLimit() {
+        return (int) limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    private int allowed(Priority priority) {
+        int total = (int) limit;
+        if (priority == Priority.HIGH) {
+            return total;
+        }
+        return Math.max(1, (int) (total * properties.getLowPriorityShare()));
+    }
+    
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        double rtt = Math.max(1, rttNanos);
+        if (longRtt == 0) {
+            longRtt = rtt;
+        } else {
+            longRtt += (rtt - longRtt) / properties.getLongWindow();
+        }
+        // Recover quickly once latency drops well below the long-term average
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+        
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longRtt / rtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        if (estimate > limit && inFlightAtStart < limit / 2) {
+            // Not using the current limit, so no evidence a higher one would be fine
+            return;
+        }
+        setLimit(limit * (1 - properties.getSmoothing()) + estimate * properties.getSmoothing());
+    }
+    
+    private synchronized void onDropped() {
+        setLimit(limit * properties.getBackoffRatio());
+    }
+    
+    private void setLimit(double newLimit) {
+        limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), newLimit));
+    }
+    
+    /**
+     * A request's slot; release it when the request completes
+     */
+    public final class Permit {
+        
+        private final int inFlightAtStart;
+        private final long startedAt;
+        
+        private Permit(int inFlightAtStart, long startedAt) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startedAt = startedAt;
+        }
+        
+        /**
+         * Release the slot; its latency adjusts the limit, or a failure backs it off
+         */
+        public void release(boolean failed) {
+            inFlight.decrementAndGet();
+            if (failed) {
+                onDropped();
+            } else {
+                onSample(nanoTime.getAsLong() - startedAt, inFlightAtStart);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.jobtracker.limit;
+
+import com.jobtracker.exception.GlobalExceptionHandler.ErrorResponse;
+import com.jobtracker.limit.AdaptiveConcurrencyLimiter.Permit;
+import com.jobtracker.limit.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Applies the adaptive concurrency limit to /api/jobs/**, /api/dashboard and /api/admin/**
+ * Runs after Spring Security, so only authenticated requests take a slot. Searches and
+ * exports (GET on a low-priority path) are low priority; single-item reads, writes, stats
+ * and the dashboard are high priority. Shed requests get 503 with Retry-After straight away,
+ * with the same error body as GlobalExceptionHandler
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    private final AdaptiveConcurrencyLimiter limiter;
+    
+    private final ConcurrencyLimitProperties properties;
+    
+    private final JsonMapper jsonMapper;
+    
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ConcurrencyLimitProperties properties,
+                                  JsonMapper jsonMapper) {
+        this.limiter = limiter;
+        this.properties = properties;
+        this.jsonMapper = jsonMapper;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        boolean limited = path.equals("/api/jobs") || path.startsWith("/api/jobs/")
+            || path.equals("/api/dashboard") || path.startsWith("/api/admin/");
+        return !limited || properties.getExcludedPaths().contains(path);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Permit permit = limiter.tryAcquire(priority(request));
+        if (permit == null) {
+            reject(response);
+            return;
+        }
+        
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            permit.release(failed);
+        }
+    }
+    
+    /**
+     * 503 with Retry-After in whole seconds (at least 1) and an ErrorResponse body
+     */
+    private void reject(HttpServletResponse response) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            "Server is busy, please retry",
+            null
+        );
+        
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+    
+    private Priority priority(HttpServletRequest request) {
+        boolean search = HttpMethod.GET.matches(request.getMethod())
+            && properties.getLowPriorityPaths().contains(path(request));
+        return search ? Priority.LOW : Priority.HIGH;
+    }
+    
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
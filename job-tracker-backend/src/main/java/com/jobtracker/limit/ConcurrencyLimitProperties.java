@@ -0,0 +1,52 @@
+package com.jobtracker.limit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptive concurrency limit configuration (jobtracker.concurrency-limit.*)
+ * Applies to /api/jobs/**, /api/dashboard and /api/admin/**; the limit moves between min-limit and
+ * max-limit and should start near the database connection pool size
+ */
+@Data
+@ConfigurationProperties(prefix = "jobtracker.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    
+    // Limit concurrent requests at all
+    private boolean enabled = true;
+    
+    private int initialLimit = 20;
+    
+    private int minLimit = 4;
+    
+    private int maxLimit = 200;
+    
+    // Latency may grow by this factor over its long-term average before the limit shrinks
+    private double rttTolerance = 1.5;
+    
+    // Number of samples the long-term latency average is taken over
+    private int longWindow = 600;
+    
+    // Weight of each new limit estimate, 0..1
+    private double smoothing = 0.2;
+    
+    // Limit is multiplied by this when a request fails with a 5xx
+    private double backoffRatio = 0.9;
+    
+    // Low-priority requests may only use this share of the limit; the rest is kept for cheap ones
+    private double lowPriorityShare = 0.75;
+    
+    // GET endpoints that run searches or exports (exact paths)
+    private List<String> lowPriorityPaths = new ArrayList<>(List.of(
+        "/api/jobs", "/api/jobs/stream", "/api/jobs/changes", "/api/admin/users"));
+    
+    // Long-lived connections that must not hold a slot (exact paths)
+    private List<String> excludedPaths = new ArrayList<>(List.of("/api/jobs/events"));
+    
+    // Sent as Retry-After with 503 when a request is shed
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,23 @@
+package com.jobtracker.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum number of SQL statements a controller endpoint may execute per request
+ * Checked by SqlStatementMetricsFilter; exceeding it warns or fails depending on
+ * jobtracker.sql.statement-budget.mode
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlStatementBudget {
+    
+    /**
+     * Maximum number of statements allowed per request
+     */
+    int value();
+}
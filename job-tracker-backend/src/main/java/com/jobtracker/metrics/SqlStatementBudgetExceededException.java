@@ -0,0 +1,10 @@
+package com.jobtracker.metrics;
+
+/**
+ * Thrown in fail mode when an endpoint executes more SQL statements than its declared budget
+ */
+public class SqlStatementBudgetExceededException extends RuntimeException {
+    public SqlStatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,83 @@
+package com.jobtracker.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hibernate statement inspector that counts SQL statements per request thread
+ * Counting is only active between start() and stop(), i.e. inside a web request;
+ * work the request hands to other threads counts too when wrapped with propagate()
+ * Also logs a random sample of statements (jobtracker.sql.log-sample-rate) as a
+ * cheap replacement for spring.jpa.show-sql in production
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+    
+    private static final Logger sqlLogger = LoggerFactory.getLogger("com.jobtracker.sql");
+    
+    private static final ThreadLocal<AtomicInteger> COUNT = new ThreadLocal<>();
+    
+    @Value("${jobtracker.sql.log-sample-rate:0}")
+    private double logSampleRate;
+    
+    /**
+     * Called by Hibernate for every statement it prepares; SQL is left unchanged
+     */
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = COUNT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        if (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+            sqlLogger.info("Sampled SQL: {}", sql);
+        }
+        return sql;
+    }
+    
+    /**
+     * Start counting statements on the current thread
+     */
+    public void start() {
+        COUNT.set(new AtomicInteger());
+    }
+    
+    /**
+     * Wrap work to run on another thread so its statements count towards the current thread's
+     */
+    public <T> Supplier<T> propagate(Supplier<T> work) {
+        AtomicInteger count = COUNT.get();
+        return () -> {
+            COUNT.set(count);
+            try {
+                return work.get();
+            } finally {
+                COUNT.remove();
+            }
+        };
+    }
+    
+    /**
+     * Statements counted so far on the current thread, or 0 if not counting
+     */
+    public int current() {
+        AtomicInteger count = COUNT.get();
+        return count != null ? count.get() : 0;
+    }
+    
+    /**
+     * Stop counting and return the number of statements counted
+     */
+    public int stop() {
+        int count = current();
+        COUNT.remove();
+        return count;
+    }
+}
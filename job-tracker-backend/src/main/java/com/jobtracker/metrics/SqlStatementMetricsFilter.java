@@ -0,0 +1,115 @@
+package com.jobtracker.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the number of SQL statements executed per request
+ * Exported as hibernate.statements.per.request, tagged by method and URI pattern
+ * Endpoints annotated with @SqlStatementBudget are checked against their budget;
+ * violations are counted in hibernate.statements.budget.exceeded and, depending on
+ * jobtracker.sql.statement-budget.mode, ignored (off), logged (warn) or thrown (fail)
+ */
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementMetricsFilter.class);
+    
+    /**
+     * What to do when an endpoint exceeds its statement budget
+     * FAIL is meant for tests run through MockMvc: the check runs after the handler, when the
+     * response has usually been written and committed, so a real client still gets the
+     * endpoint's response and the exception only surfaces in the server log
+     */
+    public enum BudgetMode {
+        OFF,
+        WARN,
+        FAIL
+    }
+    
+    @Autowired
+    private SqlStatementCounter statementCounter;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${jobtracker.sql.statement-budget.mode:warn}")
+    private BudgetMode budgetMode;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        statementCounter.start();
+        int statements;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements = statementCounter.stop();
+            
+            DistributionSummary.builder("hibernate.statements.per.request")
+                    .description("SQL statements executed per HTTP request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uriPattern(request))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+        
+        checkBudget(request, statements);
+    }
+    
+    /**
+     * Compare statement count with the handler's declared budget
+     */
+    private void checkBudget(HttpServletRequest request, int statements) {
+        if (budgetMode == BudgetMode.OFF) {
+            return;
+        }
+        
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        
+        SqlStatementBudget budget = handlerMethod.getMethodAnnotation(SqlStatementBudget.class);
+        if (budget == null || statements <= budget.value()) {
+            return;
+        }
+        
+        String uri = uriPattern(request);
+        meterRegistry.counter("hibernate.statements.budget.exceeded",
+                "method", request.getMethod(), "uri", uri).increment();
+        
+        String message = String.format("%s %s executed %d SQL statements, budget is %d",
+                request.getMethod(), uri, statements, budget.value());
+        
+        if (budgetMode == BudgetMode.FAIL) {
+            throw new SqlStatementBudgetExceededException(message);
+        }
+        logger.warn(message);
+    }
+    
+    /**
+     * URI pattern (e.g. /api/jobs/{id}) keeps tag cardinality bounded
+     */
+    private String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,74 @@
+// ArchivedJobApplicationRepository.java
+package com.jobtracker.repository;
+
+import com.jobtracker.entity.ArchivedJobApplication;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for archived (cold) job applications
+ * Moves between the hot and archive tables are set-based native statements,
+ * so no entities are loaded while archiving
+ */
+@Repository
+public interface ArchivedJobApplicationRepository extends JpaRepository<ArchivedJobApplication, Long> {
+    
+    Optional<ArchivedJobApplication> findByIdAndUserId(Long id, Long userId);
+    
+    boolean existsByIdAndUserId(Long id, Long userId);
+    
+    // Delete an archived application owned by the user; returns rows deleted
+    @Modifying
+    @Query("DELETE FROM ArchivedJobApplication a WHERE a.id = :id AND a.userId = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    // Ids of closed applications last changed before the cutoff, oldest id first
+    // Locked so a concurrent edit cannot slip in between copy and delete; uses idx_status_updated_at
+    // so only the matching rows are scanned and locked
+    @Query(value = "SELECT id FROM job_applications WHERE status IN (:statuses) AND updated_at < :cutoff " +
+           "ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Long> findArchivableIds(@Param("statuses") Collection<String> statuses,
+                                 @Param("cutoff") LocalDateTime cutoff,
+                                 @Param("limit") int limit);
+    
+    // Owners of the given hot applications
+    @Query(value = "SELECT DISTINCT user_id FROM job_applications WHERE id IN (:ids)", nativeQuery = true)
+    List<Long> findUserIdsByIds(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query(value = "INSERT INTO job_applications_archive " +
+           "(id, title, company, status, applied_date, deadline, notes, user_id, created_at, updated_at, archived_at) " +
+           "SELECT id, title, company, status, applied_date, deadline, notes, user_id, created_at, updated_at, :archivedAt " +
+           "FROM job_applications WHERE id IN (:ids)", nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+    
+    @Modifying
+    @Query(value = "DELETE FROM job_applications WHERE id IN (:ids)", nativeQuery = true)
+    int deleteFromHot(@Param("ids") Collection<Long> ids);
+    
+    // Restored rows count as changed now: sync clients see them again and they are not re-archived at once
+    @Modifying
+    @Query(value = "INSERT INTO job_applications " +
+           "(id, title, company, status, applied_date, deadline, notes, user_id, created_at, updated_at) " +
+           "SELECT id, title, company, status, applied_date, deadline, notes, user_id, created_at, :restoredAt " +
+           "FROM job_applications_archive WHERE id = :id", nativeQuery = true)
+    int copyToHot(@Param("id") Long id, @Param("restoredAt") LocalDateTime restoredAt);
+    
+    // Count archived applications per status for a user: [status, count]
+    @Query("SELECT a.status, COUNT(a) FROM ArchivedJobApplication a WHERE a.userId = :userId GROUP BY a.status")
+    List<Object[]> countByUserIdGroupByStatus(@Param("userId") Long userId);
+    
+    // Count archived applications per user: [userId, count]
+    @Query("SELECT a.userId, COUNT(a) FROM ArchivedJobApplication a GROUP BY a.userId")
+    List<Object[]> countGroupByUserId();
+    
+    long countByUserId(Long userId);
+}
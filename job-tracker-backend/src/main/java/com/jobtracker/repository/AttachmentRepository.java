@@ -0,0 +1,65 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.entity.Attachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for attachment metadata and the job_application_attachments links
+ * Links have no entity; they are only read and written with native queries
+ */
+@Repository
+public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+    
+    Optional<Attachment> findByIdAndUserId(Long id, Long userId);
+    
+    Optional<Attachment> findByUserIdAndSha256(Long userId, String sha256);
+    
+    List<Attachment> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.id = :id AND a.userId = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    // Attachments of one of the user's applications, oldest upload first
+    @Query(value = "SELECT a.* FROM attachments a " +
+           "JOIN job_application_attachments l ON l.attachment_id = a.id " +
+           "WHERE l.job_application_id = :jobApplicationId AND l.user_id = :userId ORDER BY a.created_at, a.id",
+           nativeQuery = true)
+    List<Attachment> findByJobApplication(@Param("jobApplicationId") Long jobApplicationId, @Param("userId") Long userId);
+    
+    // Attaching the same file twice is a no-op (primary key on application and attachment);
+    // INSERT IGNORE is also accepted by H2 in MySQL mode
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO job_application_attachments (job_application_id, attachment_id, user_id) " +
+           "VALUES (:jobApplicationId, :attachmentId, :userId)", nativeQuery = true)
+    int link(@Param("jobApplicationId") Long jobApplicationId, @Param("attachmentId") Long attachmentId,
+             @Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM job_application_attachments " +
+           "WHERE job_application_id = :jobApplicationId AND attachment_id = :attachmentId AND user_id = :userId",
+           nativeQuery = true)
+    int unlink(@Param("jobApplicationId") Long jobApplicationId, @Param("attachmentId") Long attachmentId,
+               @Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM job_application_attachments WHERE job_application_id = :jobApplicationId " +
+           "AND user_id = :userId", nativeQuery = true)
+    int unlinkAllFromJobApplication(@Param("jobApplicationId") Long jobApplicationId, @Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM job_application_attachments WHERE attachment_id = :attachmentId AND user_id = :userId",
+           nativeQuery = true)
+    int unlinkFromAllJobApplications(@Param("attachmentId") Long attachmentId, @Param("userId") Long userId);
+    
+    // Content hashes still referenced on this database, for garbage collection of the store
+    @Query("SELECT DISTINCT a.sha256 FROM Attachment a")
+    List<String> findAllSha256();
+}
@@ -0,0 +1,124 @@
+// JobApplicationFilterSql.java
+package com.jobtracker.repository;
+
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.tags.TagFilter;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Native SQL form of the job list filters (user, status, keyword, applied date range)
+ * Only present filters become predicates, so no untyped null parameters are bound
+ * The keyword matches as a literal substring of title or company, ignoring case and
+ * surrounding spaces, like the facet index: LIKE wildcards in it are escaped
+ * Tag filters narrow the rows either to candidate ids from the tag index or, when there are
+ * too many candidates for an IN list, to a subquery on job_application_tags
+ */
+final class JobApplicationFilterSql {
+    
+    static final String SUMMARY_COLUMNS = "id, title, company, status, applied_date, deadline, created_at, updated_at";
+    
+    // Sortable summary properties and their columns
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+        "id", "id",
+        "title", "title",
+        "company", "company",
+        "status", "status",
+        "appliedDate", "applied_date",
+        "deadline", "deadline",
+        "createdAt", "created_at",
+        "updatedAt", "updated_at"
+    );
+    
+    private final StringBuilder where = new StringBuilder(" WHERE user_id = :userId");
+    
+    private final Map<String, Object> parameters = new HashMap<>();
+    
+    JobApplicationFilterSql(Long userId, ApplicationStatus status, String keyword,
+                            LocalDate startDate, LocalDate endDate) {
+        parameters.put("userId", userId);
+        if (status != null) {
+            where.append(" AND status = :status");
+            parameters.put("status", status.name());
+        }
+        if (keyword != null && !keyword.isBlank()) {
+            where.append(" AND (LOWER(title) LIKE :keyword ESCAPE '!' OR LOWER(company) LIKE :keyword ESCAPE '!')");
+            parameters.put("keyword", containsPattern(keyword));
+        }
+        if (startDate != null) {
+            where.append(" AND applied_date >= :startDate");
+            parameters.put("startDate", startDate);
+        }
+        if (endDate != null) {
+            where.append(" AND applied_date <= :endDate");
+            parameters.put("endDate", endDate);
+        }
+    }
+    
+    // Only rows with one of the given ids
+    JobApplicationFilterSql restrictToIds(Collection<Long> ids) {
+        where.append(" AND id IN (:ids)");
+        parameters.put("ids", ids);
+        return this;
+    }
+    
+    // Only rows with all (or any) of the filter's tags
+    JobApplicationFilterSql restrictToTags(TagFilter tagFilter) {
+        where.append(" AND id IN (SELECT job_application_id FROM job_application_tags" +
+                " WHERE user_id = :userId AND tag IN (:tags)");
+        parameters.put("tags", tagFilter.tags());
+        if (tagFilter.matchAll()) {
+            where.append(" GROUP BY job_application_id HAVING COUNT(*) = :tagCount");
+            parameters.put("tagCount", tagFilter.tags().size());
+        }
+        where.append(")");
+        return this;
+    }
+    
+    // WHERE clause with named parameters, leading space included
+    String where() {
+        return where.toString();
+    }
+    
+    Map<String, Object> parameters() {
+        return parameters;
+    }
+    
+    // LIKE pattern matching the keyword anywhere, with ! escaping the wildcards (and itself)
+    static String containsPattern(String keyword) {
+        String escaped = keyword.trim().toLowerCase(Locale.ROOT)
+            .replace("!", "!!")
+            .replace("%", "!%")
+            .replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+    
+    // Column of a job_applications property: the sortable ones and notes
+    static String column(String property) {
+        return property.equals("notes") ? "notes" : SORT_COLUMNS.get(property);
+    }
+    
+    // ORDER BY clause for the sort, or empty when unsorted
+    static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Cannot sort by: " + order.getProperty());
+            }
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return " ORDER BY " + String.join(", ", orders);
+    }
+}
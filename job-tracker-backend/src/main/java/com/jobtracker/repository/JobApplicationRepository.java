@@ -1,16 +1,22 @@
 // JobApplicationRepository.java
 package com.jobtracker.repository;
 
+import com.jobtracker.dto.JobApplicationSummary;
 import com.jobtracker.entity.JobApplication;
 import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,7 +24,7 @@ import java.util.Optional;
  * Provides database operations with pagination, filtering, and search
  */
 @Repository
-public interface JobApplicationRepository extends JpaRepository<JobApplication, Long> {
+public interface JobApplicationRepository extends JpaRepository<JobApplication, Long>, JobApplicationRepositoryCustom {
     
     // Find all job applications for a specific user with pagination
     Page<JobApplication> findByUserId(Long userId, Pageable pageable);
@@ -26,6 +32,8 @@ public interface JobApplicationRepository extends JpaRepository<JobApplication,
     // Find job application by ID and user ID (ensures users can only access their own data)
     Optional<JobApplication> findByIdAndUserId(Long id, Long userId);
     
+    boolean existsByIdAndUserId(Long id, Long userId);
+    
     // Filter by status for a specific user
     Page<JobApplication> findByUserIdAndStatus(Long userId, ApplicationStatus status, Pageable pageable);
     
@@ -34,35 +42,53 @@ public interface JobApplicationRepository extends JpaRepository<JobApplication,
         Long userId, LocalDate startDate, LocalDate endDate, Pageable pageable
     );
     
-    // Search by title or company name (case-insensitive) for a specific user
-    @Query("SELECT ja FROM JobApplication ja WHERE ja.user.id = :userId AND " +
-           "(LOWER(ja.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(ja.company) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<JobApplication> searchByTitleOrCompany(
-        @Param("userId") Long userId, 
-        @Param("keyword") String keyword, 
-        Pageable pageable
-    );
+    // Summaries of the user's applications changed at or after a point in time, oldest change first
+    @Query("SELECT new com.jobtracker.dto.JobApplicationSummary(" +
+           "ja.id, ja.title, ja.company, ja.status, ja.appliedDate, ja.deadline, ja.createdAt, ja.updatedAt) " +
+           "FROM JobApplication ja WHERE ja.user.id = :userId AND ja.updatedAt >= :since " +
+           "ORDER BY ja.updatedAt, ja.id")
+    List<JobApplicationSummary> findSummariesChangedSince(@Param("userId") Long userId,
+                                                          @Param("since") LocalDateTime since,
+                                                          Limit limit);
     
-    // Combined search and filter query
-    @Query("SELECT ja FROM JobApplication ja WHERE ja.user.id = :userId " +
-           "AND (:status IS NULL OR ja.status = :status) " +
-           "AND (:keyword IS NULL OR LOWER(ja.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-           "OR LOWER(ja.company) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
-           "AND (:startDate IS NULL OR ja.appliedDate >= :startDate) " +
-           "AND (:endDate IS NULL OR ja.appliedDate <= :endDate)")
-    Page<JobApplication> findByUserIdWithFilters(
-        @Param("userId") Long userId,
-        @Param("status") ApplicationStatus status,
-        @Param("keyword") String keyword,
-        @Param("startDate") LocalDate startDate,
-        @Param("endDate") LocalDate endDate,
-        Pageable pageable
-    );
+    // Most recently created summaries of the user, newest first
+    @Query("SELECT new com.jobtracker.dto.JobApplicationSummary(" +
+           "ja.id, ja.title, ja.company, ja.status, ja.appliedDate, ja.deadline, ja.createdAt, ja.updatedAt) " +
+           "FROM JobApplication ja WHERE ja.user.id = :userId ORDER BY ja.createdAt DESC, ja.id DESC")
+    List<JobApplicationSummary> findRecentSummaries(@Param("userId") Long userId, Limit limit);
+    
+    // Summaries of the user's open applications with a deadline on or after a date, nearest first
+    @Query("SELECT new com.jobtracker.dto.JobApplicationSummary(" +
+           "ja.id, ja.title, ja.company, ja.status, ja.appliedDate, ja.deadline, ja.createdAt, ja.updatedAt) " +
+           "FROM JobApplication ja WHERE ja.user.id = :userId AND ja.deadline >= :from " +
+           "AND ja.status NOT IN :closed ORDER BY ja.deadline, ja.id")
+    List<JobApplicationSummary> findUpcomingDeadlineSummaries(@Param("userId") Long userId,
+                                                              @Param("from") LocalDate from,
+                                                              @Param("closed") Collection<ApplicationStatus> closed,
+                                                              Limit limit);
     
     // Count applications by user
     Long countByUserId(Long userId);
     
     // Count applications by user and status
     Long countByUserIdAndStatus(Long userId, ApplicationStatus status);
+    
+    // Count applications per status for a user in a single query: [status, count]
+    @Query("SELECT ja.status, COUNT(ja) FROM JobApplication ja WHERE ja.user.id = :userId GROUP BY ja.status")
+    List<Object[]> countByUserIdGroupByStatus(@Param("userId") Long userId);
+    
+    // Tags of all the user's applications, archived ones included: [jobApplicationId, tag]
+    @Query(value = "SELECT job_application_id, tag FROM job_application_tags WHERE user_id = :userId",
+           nativeQuery = true)
+    List<Object[]> findTagsByUserId(@Param("userId") Long userId);
+    
+    // Remove all tags of one of the user's applications; returns rows deleted
+    @Modifying
+    @Query(value = "DELETE FROM job_application_tags WHERE job_application_id = :id AND user_id = :userId",
+           nativeQuery = true)
+    int deleteTags(@Param("id") Long id, @Param("userId") Long userId);
+    
+    // Count applications per user in a single query: [userId, count]
+    @Query("SELECT ja.user.id, COUNT(ja) FROM JobApplication ja GROUP BY ja.user.id")
+    List<Object[]> countGroupByUserId();
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+// JobApplicationRepositoryCustom.java
+package com.jobtracker.repository;
+
+import com.jobtracker.dto.JobApplicationSummary;
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.tags.TagFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Custom JobApplication repository operations implemented in JobApplicationRepositoryImpl
+ */
+public interface JobApplicationRepositoryCustom {
+    
+    // Summaries of the user's applications matching the job list filters (no notes column, no managed entities)
+    Page<JobApplicationSummary> findSummariesByUserIdWithFilters(
+        Long userId,
+        ApplicationStatus status,
+        String keyword,
+        LocalDate startDate,
+        LocalDate endDate,
+        Pageable pageable
+    );
+    
+    // Same filters as findSummariesByUserIdWithFilters over both the hot and the archive table
+    Page<JobApplicationSummary> findSummariesIncludingArchived(
+        Long userId,
+        ApplicationStatus status,
+        String keyword,
+        LocalDate startDate,
+        LocalDate endDate,
+        Pageable pageable
+    );
+    
+    // Same filters as findSummariesByUserIdWithFilters, restricted to the candidate ids when given,
+    // otherwise to the rows matching the tag filter; archived rows only with includeArchived
+    Page<JobApplicationSummary> findSummariesByUserIdWithTags(
+        Long userId,
+        ApplicationStatus status,
+        String keyword,
+        LocalDate startDate,
+        LocalDate endDate,
+        TagFilter tagFilter,
+        Collection<Long> candidateIds,
+        boolean includeArchived,
+        Pageable pageable
+    );
+    
+    // Facet columns of all the user's applications, hot and archived, in one statement:
+    // [id, status, company, title, appliedDate, archived]
+    List<Object[]> findFacetRowsByUserId(Long userId);
+    
+    // Tag one of the user's applications with the given (normalized) tags, in one statement
+    void insertTags(Long id, Long userId, List<String> tags);
+    
+    // Same filters as findSummariesByUserIdWithFilters, selecting only the given job_applications fields
+    Page<Map<String, Object>> findFieldsByUserIdWithFilters(
+        Long userId,
+        List<String> fields,
+        ApplicationStatus status,
+        String keyword,
+        LocalDate startDate,
+        LocalDate endDate,
+        Pageable pageable
+    );
+    
+    // One application of the user, selecting only the given job_applications fields
+    Optional<Map<String, Object>> findFieldsByIdAndUserId(Long id, Long userId, List<String> fields);
+}
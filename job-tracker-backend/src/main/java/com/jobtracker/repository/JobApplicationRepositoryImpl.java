@@ -0,0 +1,259 @@
+// JobApplicationRepositoryImpl.java
+package com.jobtracker.repository;
+
+import com.jobtracker.dto.JobApplicationSummary;
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.tags.TagFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of custom JobApplication repository operations
+ * Archived rows live in a separate table, so listing them together with the hot rows
+ * needs a UNION ALL, which derived and JPQL queries cannot page over; the hot-only list
+ * uses the same native filter, so every keyword search escapes LIKE wildcards the same way
+ * Field selections build their select list from a fixed set of property names and share
+ * the native filter of the summary queries
+ */
+public class JobApplicationRepositoryImpl implements JobApplicationRepositoryCustom {
+    
+    // Properties a field selection may select, with their column types (status is read as its name)
+    private static final Map<String, Class<?>> FIELD_TYPES = Map.of(
+        "id", Long.class,
+        "title", String.class,
+        "company", String.class,
+        "status", String.class,
+        "appliedDate", LocalDate.class,
+        "deadline", LocalDate.class,
+        "notes", String.class,
+        "createdAt", LocalDateTime.class,
+        "updatedAt", LocalDateTime.class
+    );
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<JobApplicationSummary> findSummariesByUserIdWithFilters(Long userId,
+                                                                       ApplicationStatus status,
+                                                                       String keyword,
+                                                                       LocalDate startDate,
+                                                                       LocalDate endDate,
+                                                                       Pageable pageable) {
+        JobApplicationFilterSql filter = new JobApplicationFilterSql(userId, status, keyword, startDate, endDate);
+        return findSummaries(filter, false, pageable);
+    }
+    
+    @Override
+    public Page<JobApplicationSummary> findSummariesIncludingArchived(Long userId,
+                                                                     ApplicationStatus status,
+                                                                     String keyword,
+                                                                     LocalDate startDate,
+                                                                     LocalDate endDate,
+                                                                     Pageable pageable) {
+        JobApplicationFilterSql filter = new JobApplicationFilterSql(userId, status, keyword, startDate, endDate);
+        return findSummaries(filter, true, pageable);
+    }
+    
+    @Override
+    public Page<JobApplicationSummary> findSummariesByUserIdWithTags(Long userId,
+                                                                    ApplicationStatus status,
+                                                                    String keyword,
+                                                                    LocalDate startDate,
+                                                                    LocalDate endDate,
+                                                                    TagFilter tagFilter,
+                                                                    Collection<Long> candidateIds,
+                                                                    boolean includeArchived,
+                                                                    Pageable pageable) {
+        JobApplicationFilterSql filter = new JobApplicationFilterSql(userId, status, keyword, startDate, endDate);
+        if (candidateIds != null) {
+            filter.restrictToIds(candidateIds);
+        } else {
+            filter.restrictToTags(tagFilter);
+        }
+        return findSummaries(filter, includeArchived, pageable);
+    }
+    
+    @Override
+    public List<Object[]> findFacetRowsByUserId(Long userId) {
+        String columns = "id, status, company, title, applied_date";
+        NativeQuery<?> query = entityManager.createNativeQuery(
+                    "SELECT " + columns + ", FALSE AS archived FROM job_applications WHERE user_id = :userId" +
+                    " UNION ALL SELECT " + columns + ", TRUE AS archived FROM job_applications_archive WHERE user_id = :userId")
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("status", String.class)
+                .addScalar("company", String.class)
+                .addScalar("title", String.class)
+                .addScalar("applied_date", LocalDate.class)
+                .addScalar("archived", Boolean.class);
+        query.setParameter("userId", userId);
+        
+        List<Object[]> rows = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            rows.add((Object[]) row);
+        }
+        return rows;
+    }
+    
+    @Override
+    public void insertTags(Long id, Long userId, List<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < tags.size(); i++) {
+            rows.add("(:id, :userId, :tag" + i + ")");
+        }
+        Query insert = entityManager.createNativeQuery(
+                "INSERT INTO job_application_tags (job_application_id, user_id, tag) VALUES " + String.join(", ", rows))
+                .setParameter("id", id)
+                .setParameter("userId", userId);
+        for (int i = 0; i < tags.size(); i++) {
+            insert.setParameter("tag" + i, tags.get(i));
+        }
+        insert.executeUpdate();
+    }
+    
+    @Override
+    public Page<Map<String, Object>> findFieldsByUserIdWithFilters(Long userId,
+                                                                  List<String> fields,
+                                                                  ApplicationStatus status,
+                                                                  String keyword,
+                                                                  LocalDate startDate,
+                                                                  LocalDate endDate,
+                                                                  Pageable pageable) {
+        JobApplicationFilterSql filter = new JobApplicationFilterSql(userId, status, keyword, startDate, endDate);
+        String where = filter.where();
+        
+        NativeQuery<?> query = selectFields(fields, where + JobApplicationFilterSql.orderBy(pageable.getSort()));
+        filter.parameters().forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> content = toMaps(query.getResultList(), fields);
+        
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            Query count = entityManager.createNativeQuery("SELECT COUNT(*) FROM job_applications" + where);
+            filter.parameters().forEach(count::setParameter);
+            return ((Number) count.getSingleResult()).longValue();
+        });
+    }
+    
+    @Override
+    public Optional<Map<String, Object>> findFieldsByIdAndUserId(Long id, Long userId, List<String> fields) {
+        NativeQuery<?> query = selectFields(fields, " WHERE id = :id AND user_id = :userId");
+        query.setParameter("id", id);
+        query.setParameter("userId", userId);
+        return toMaps(query.getResultList(), fields).stream().findFirst();
+    }
+    
+    // Summaries matching the filter from the hot table, or from both tables with includeArchived
+    private Page<JobApplicationSummary> findSummaries(JobApplicationFilterSql filter,
+                                                      boolean includeArchived,
+                                                      Pageable pageable) {
+        String where = filter.where();
+        String columns = JobApplicationFilterSql.SUMMARY_COLUMNS;
+        
+        String sql = includeArchived
+                ? "SELECT " + columns + " FROM (" +
+                  "SELECT " + columns + " FROM job_applications" + where +
+                  " UNION ALL SELECT " + columns + " FROM job_applications_archive" + where +
+                  ") all_applications" + JobApplicationFilterSql.orderBy(pageable.getSort())
+                : "SELECT " + columns + " FROM job_applications" + where + JobApplicationFilterSql.orderBy(pageable.getSort());
+        
+        NativeQuery<?> query = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("title", String.class)
+                .addScalar("company", String.class)
+                .addScalar("status", String.class)
+                .addScalar("applied_date", LocalDate.class)
+                .addScalar("deadline", LocalDate.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class);
+        filter.parameters().forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        
+        List<JobApplicationSummary> content = new ArrayList<>();
+        for (Object result : query.getResultList()) {
+            Object[] row = (Object[]) result;
+            content.add(new JobApplicationSummary(
+                (Long) row[0],
+                (String) row[1],
+                (String) row[2],
+                ApplicationStatus.valueOf((String) row[3]),
+                (LocalDate) row[4],
+                (LocalDate) row[5],
+                (LocalDateTime) row[6],
+                (LocalDateTime) row[7]
+            ));
+        }
+        
+        // Both counts in one statement; skipped when the page itself gives the total
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            Query count = entityManager.createNativeQuery(includeArchived
+                    ? "SELECT (SELECT COUNT(*) FROM job_applications" + where + ")" +
+                      " + (SELECT COUNT(*) FROM job_applications_archive" + where + ")"
+                    : "SELECT COUNT(*) FROM job_applications" + where);
+            filter.parameters().forEach(count::setParameter);
+            return ((Number) count.getSingleResult()).longValue();
+        });
+    }
+    
+    // Native query selecting the given fields from job_applications, followed by the given clauses
+    private NativeQuery<?> selectFields(List<String> fields, String clauses) {
+        List<String> columns = new ArrayList<>();
+        for (String field : fields) {
+            if (!FIELD_TYPES.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+            columns.add(JobApplicationFilterSql.column(field));
+        }
+        
+        NativeQuery<?> query = entityManager.createNativeQuery(
+                    "SELECT " + String.join(", ", columns) + " FROM job_applications" + clauses)
+                .unwrap(NativeQuery.class);
+        for (int i = 0; i < fields.size(); i++) {
+            query.addScalar(columns.get(i), FIELD_TYPES.get(fields.get(i)));
+        }
+        return query;
+    }
+    
+    private static List<Map<String, Object>> toMaps(List<?> results, List<String> fields) {
+        List<Map<String, Object>> maps = new ArrayList<>(results.size());
+        for (Object result : results) {
+            // A single selected column comes back as the bare value
+            Object[] row = result instanceof Object[] array ? array : new Object[] {result};
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                Object value = row[i];
+                if (fields.get(i).equals("status") && value != null) {
+                    value = ApplicationStatus.valueOf((String) value);
+                }
+                values.put(fields.get(i), value);
+            }
+            maps.add(values);
+        }
+        return maps;
+    }
+}
@@ -0,0 +1,127 @@
+// JobApplicationStreamRepository.java
+package com.jobtracker.repository;
+
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Writes pages of job application summaries as JSON straight from JDBC rows
+ * No entities, DTOs or result lists are created: each row is written to the
+ * generator as it is read. The output has the same shape as PageResponse<JobApplicationSummary>
+ */
+@Repository
+public class JobApplicationStreamRepository {
+    
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    /**
+     * Write one page of the user's summaries (same filters as findSummariesByUserIdWithFilters)
+     * Tags come from the lookup and are written for applications that have any.
+     * The output stream is flushed but not closed
+     */
+    public void writeSummaryPage(Long userId,
+                                 ApplicationStatus status,
+                                 String keyword,
+                                 LocalDate startDate,
+                                 LocalDate endDate,
+                                 Pageable pageable,
+                                 LongFunction<List<String>> tags,
+                                 OutputStream out) {
+        JobApplicationFilterSql filter = new JobApplicationFilterSql(userId, status, keyword, startDate, endDate);
+        MapSqlParameterSource parameters = new MapSqlParameterSource(filter.parameters())
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+        String sql = "SELECT " + JobApplicationFilterSql.SUMMARY_COLUMNS + " FROM job_applications" + filter.where()
+                + JobApplicationFilterSql.orderBy(pageable.getSort()) + " LIMIT :limit OFFSET :offset";
+        
+        try (JsonGenerator json = jsonMapper.writer()
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .createGenerator(out)) {
+            json.writeStartObject();
+            json.writeName("content");
+            json.writeStartArray();
+            
+            int[] rows = {0};
+            jdbcTemplate.query(sql, parameters, rs -> {
+                writeSummary(json, rs, tags);
+                rows[0]++;
+            });
+            json.writeEndArray();
+            
+            long total = total(filter, pageable, rows[0]);
+            int totalPages = (int) Math.ceil((double) total / pageable.getPageSize());
+            json.writeNumberProperty("pageNumber", pageable.getPageNumber());
+            json.writeNumberProperty("pageSize", pageable.getPageSize());
+            json.writeNumberProperty("totalElements", total);
+            json.writeNumberProperty("totalPages", totalPages);
+            json.writeBooleanProperty("last", pageable.getPageNumber() + 1 >= totalPages);
+            json.writeEndObject();
+        }
+    }
+    
+    /**
+     * Same shortcut as Spring Data: a partial page gives the total without a count query
+     */
+    private long total(JobApplicationFilterSql filter, Pageable pageable, int rows) {
+        if (rows < pageable.getPageSize() && (pageable.getOffset() == 0 || rows > 0)) {
+            return pageable.getOffset() + rows;
+        }
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM job_applications" + filter.where(),
+                filter.parameters(), Long.class);
+        return count != null ? count : 0;
+    }
+    
+    /**
+     * Write the current row as a JobApplicationSummary object
+     * Dates use the ISO formats Jackson uses for java.time values
+     */
+    private void writeSummary(JsonGenerator json, ResultSet rs, LongFunction<List<String>> tags) throws SQLException {
+        json.writeStartObject();
+        json.writeNumberProperty("id", rs.getLong(1));
+        json.writeStringProperty("title", rs.getString(2));
+        json.writeStringProperty("company", rs.getString(3));
+        json.writeStringProperty("status", rs.getString(4));
+        json.writeStringProperty("appliedDate", format(rs.getObject(5, LocalDate.class)));
+        json.writeStringProperty("deadline", format(rs.getObject(6, LocalDate.class)));
+        json.writeStringProperty("createdAt", format(rs.getObject(7, LocalDateTime.class)));
+        json.writeStringProperty("updatedAt", format(rs.getObject(8, LocalDateTime.class)));
+        List<String> rowTags = tags.apply(rs.getLong(1));
+        if (!rowTags.isEmpty()) {
+            json.writeName("tags");
+            json.writeStartArray();
+            for (String tag : rowTags) {
+                json.writeString(tag);
+            }
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+    }
+    
+    private static String format(LocalDate date) {
+        return date != null ? DateTimeFormatter.ISO_LOCAL_DATE.format(date) : null;
+    }
+    
+    private static String format(LocalDateTime dateTime) {
+        return dateTime != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime) : null;
+    }
+}
@@ -0,0 +1,38 @@
+// JobApplicationTombstoneRepository.java
+package com.jobtracker.repository;
+
+import com.jobtracker.entity.JobApplicationTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for tombstones of deleted job applications
+ */
+@Repository
+public interface JobApplicationTombstoneRepository extends JpaRepository<JobApplicationTombstone, Long> {
+    
+    // Plain INSERT; save() would SELECT first since the id is assigned
+    @Modifying
+    @Query(value = "INSERT INTO job_application_tombstones (id, user_id, deleted_at) " +
+           "VALUES (:id, :userId, :deletedAt)", nativeQuery = true)
+    int insert(@Param("id") Long id, @Param("userId") Long userId, @Param("deletedAt") LocalDateTime deletedAt);
+    
+    // Tombstones of the user's applications deleted at or after a point in time, oldest deletion first
+    @Query("SELECT t FROM JobApplicationTombstone t WHERE t.userId = :userId AND t.deletedAt >= :since " +
+           "ORDER BY t.deletedAt, t.id")
+    List<JobApplicationTombstone> findDeletedSince(@Param("userId") Long userId,
+                                                   @Param("since") LocalDateTime since,
+                                                   Limit limit);
+    
+    // Purge tombstones older than the retention period; returns rows deleted
+    @Modifying
+    @Query("DELETE FROM JobApplicationTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -10,12 +10,10 @@ import java.util.Optional;
 /**
  * Repository interface for User entity
  * Provides database operations for user management
+ * findByUsername is implemented in UserRepositoryImpl via the natural-id cache
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    
-    // Find user by username for authentication
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     
     // Find user by email
     Optional<User> findByEmail(String email);
@@ -0,0 +1,15 @@
+// UserRepositoryCustom.java
+package com.jobtracker.repository;
+
+import com.jobtracker.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Custom User repository operations implemented in UserRepositoryImpl
+ */
+public interface UserRepositoryCustom {
+    
+    // Find user by username through the natural-id cache instead of a query
+    Optional<User> findByUsername(String username);
+}
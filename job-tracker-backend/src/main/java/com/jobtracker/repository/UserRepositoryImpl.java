@@ -0,0 +1,29 @@
+// UserRepositoryImpl.java
+package com.jobtracker.repository;
+
+import com.jobtracker.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Implementation of custom User repository operations
+ * Takes precedence over the derived findByUsername query so that every lookup
+ * (login, services, admin) goes through the second-level natural-id cache
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
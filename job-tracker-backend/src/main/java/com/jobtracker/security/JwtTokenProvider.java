@@ -2,44 +2,99 @@ package com.jobtracker.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * JWT Token Provider for generating and validating JWT tokens
  * Uses JJWT library for token operations
+ * Access tokens are short-lived and carry user id and role claims;
+ * refresh tokens are long-lived, single-use and revocable
+ * Validation outcomes are counted in the jwt.validation metric; expired tokens are
+ * expected and only logged at DEBUG, other failures are logged at most once per minute
  */
 @Component
 public class JwtTokenProvider {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
     
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_TYPE = "typ";
+    static final String TYPE_ACCESS = "access";
+    static final String TYPE_REFRESH = "refresh";
+    
+    private static final long WARN_INTERVAL_MS = 60_000;
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
     
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpirationMs;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private SecretKey key;
+    
+    private JwtParser parser;
+    
+    private Counter validCounter;
+    private Counter wrongTypeCounter;
+    private Counter invalidSignatureCounter;
+    private Counter malformedCounter;
+    private Counter expiredCounter;
+    private Counter unsupportedCounter;
+    private Counter emptyCounter;
+    
+    private final AtomicLong lastWarnAt = new AtomicLong();
+    private final AtomicLong suppressedWarnings = new AtomicLong();
+    
     /**
-     * Generate JWT token from authentication object
+     * Build signing key, parser and outcome counters once instead of per request
      */
-    public String generateToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(key).build();
+        
+        validCounter = validationCounter("valid");
+        wrongTypeCounter = validationCounter("wrong_type");
+        invalidSignatureCounter = validationCounter("invalid_signature");
+        malformedCounter = validationCounter("malformed");
+        expiredCounter = validationCounter("expired");
+        unsupportedCounter = validationCounter("unsupported");
+        emptyCounter = validationCounter("empty");
+    }
+    
+    /**
+     * Generate short-lived access token with user id and role claims
+     */
+    public String generateAccessToken(Long userId, String username, String role) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
         
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
         return Jwts.builder()
-                .subject(userPrincipal.getUsername())
+                .subject(username)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_TYPE, TYPE_ACCESS)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
@@ -47,16 +102,17 @@ public class JwtTokenProvider {
     }
     
     /**
-     * Generate JWT token from username (useful for registration)
+     * Generate long-lived refresh token with a unique id (jti) for revocation
      */
-    public String generateTokenFromUsername(String username) {
+    public String generateRefreshToken(Long userId, String username) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
-        
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        Date expiryDate = new Date(now.getTime() + refreshExpirationMs);
         
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_TYPE, TYPE_REFRESH)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
@@ -64,44 +120,75 @@ public class JwtTokenProvider {
     }
     
     /**
-     * Extract username from JWT token
+     * Validate access token and rebuild the principal from its claims
+     * Returns null if the token is invalid, expired or not an access token
      */
-    public String getUsernameFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.getSubject();
+    public UserPrincipal parseAccessToken(String token) {
+        Claims claims = parseClaims(token, TYPE_ACCESS);
+        if (claims == null) {
+            return null;
+        }
+        return new UserPrincipal(
+            claims.get(CLAIM_USER_ID, Long.class),
+            claims.getSubject(),
+            claims.get(CLAIM_ROLE, String.class)
+        );
     }
     
     /**
-     * Validate JWT token
+     * Validate refresh token signature, expiry and type
+     * Returns null if the token is invalid; revocation is checked by the caller
      */
-    public boolean validateToken(String authToken) {
+    public Claims parseRefreshToken(String token) {
+        return parseClaims(token, TYPE_REFRESH);
+    }
+    
+    private Claims parseClaims(String token, String expectedType) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(authToken);
-            
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (!expectedType.equals(claims.get(CLAIM_TYPE, String.class))) {
+                wrongTypeCounter.increment();
+                logger.debug("Unexpected JWT token type");
+                return null;
+            }
+            validCounter.increment();
+            return claims;
         } catch (SecurityException ex) {
-            logger.error("Invalid JWT signature");
+            invalidSignatureCounter.increment();
+            warnRateLimited("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
-            logger.error("Invalid JWT token");
+            malformedCounter.increment();
+            warnRateLimited("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
-            logger.error("Expired JWT token");
+            expiredCounter.increment();
+            logger.debug("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
-            logger.error("Unsupported JWT token");
+            unsupportedCounter.increment();
+            warnRateLimited("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
-            logger.error("JWT claims string is empty");
+            emptyCounter.increment();
+            warnRateLimited("JWT claims string is empty");
         }
-        return false;
+        return null;
+    }
+    
+    /**
+     * Log at WARN at most once per interval so bad tokens cannot flood the log
+     */
+    private void warnRateLimited(String message) {
+        long now = System.currentTimeMillis();
+        long last = lastWarnAt.get();
+        if (now - last >= WARN_INTERVAL_MS && lastWarnAt.compareAndSet(last, now)) {
+            logger.warn("{} ({} similar warnings suppressed)", message, suppressedWarnings.getAndSet(0));
+        } else {
+            suppressedWarnings.incrementAndGet();
+        }
+    }
+    
+    private Counter validationCounter(String outcome) {
+        return Counter.builder("jwt.validation")
+                .description("JWT validation attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.jobtracker.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory revocation store for refresh tokens
+ * Only revoked token ids (jti) are kept, each with its token expiry time;
+ * once a token has expired it is rejected by signature validation anyway,
+ * so its entry is evicted to keep the store small
+ */
+@Component
+public class RefreshTokenStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenStore.class);
+    
+    // jti -> token expiry (epoch millis)
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    
+    /**
+     * Revoke a refresh token
+     * Returns false if the token was already revoked (i.e. it is being reused)
+     */
+    public boolean revoke(String tokenId, Date expiresAt) {
+        return revoked.putIfAbsent(tokenId, expiresAt.getTime()) == null;
+    }
+    
+    /**
+     * Check if a refresh token has been revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        return revoked.containsKey(tokenId);
+    }
+    
+    /**
+     * Number of revoked, not yet expired tokens held in memory
+     */
+    public int size() {
+        return revoked.size();
+    }
+    
+    /**
+     * Evict entries for tokens that have expired
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation-eviction-interval:300000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        logger.debug("Evicted {} expired refresh token revocations", before - revoked.size());
+    }
+}
@@ -0,0 +1,54 @@
+package com.jobtracker.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Authenticated principal rebuilt from access token claims
+ * Carries user id and role so authenticated requests need no user lookup
+ */
+public class UserPrincipal implements UserDetails {
+    
+    private final Long id;
+    private final String username;
+    private final String role;
+    private final Collection<? extends GrantedAuthority> authorities;
+    
+    public UserPrincipal(Long id, String username, String role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        // Adds ROLE_ prefix as per Spring Security convention
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getRole() {
+        return role;
+    }
+    
+    @Override
+    public String getUsername() {
+        return username;
+    }
+    
+    /**
+     * Password is never carried in the token
+     */
+    @Override
+    public String getPassword() {
+        return null;
+    }
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+}
@@ -0,0 +1,226 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.AttachmentResponse;
+import com.jobtracker.entity.Attachment;
+import com.jobtracker.exception.ResourceNotFoundException;
+import com.jobtracker.repository.ArchivedJobApplicationRepository;
+import com.jobtracker.repository.AttachmentRepository;
+import com.jobtracker.repository.JobApplicationRepository;
+import com.jobtracker.sharding.ShardQueryExecutor;
+import com.jobtracker.storage.AttachmentProperties;
+import com.jobtracker.storage.ContentStore;
+import com.jobtracker.storage.ContentStore.StoredContent;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service class for attachments (resumes, cover letters, ...) and linking them to job applications
+ * Each user has a library of files; the same file can be attached to any number of applications.
+ * Content is deduplicated by SHA-256 in the ContentStore, across users as well
+ */
+@Service
+@Transactional
+@Timed(value = "jobtracker.service", histogram = true)
+public class AttachmentService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentService.class);
+    
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+    
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+    
+    @Autowired
+    private ArchivedJobApplicationRepository archivedJobApplicationRepository;
+    
+    @Autowired
+    private ContentStore contentStore;
+    
+    @Autowired
+    private AttachmentProperties properties;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Present only when sharding is enabled
+    @Autowired(required = false)
+    private ShardQueryExecutor shardQueryExecutor;
+    
+    /**
+     * Uploaded attachment, and whether the user already had the same content
+     */
+    public record StoredAttachment(AttachmentResponse attachment, boolean existing) {
+    }
+    
+    /**
+     * Store an uploaded file and add it to the user's library
+     * The content is streamed to disk before any database work, so no connection is held
+     * during the upload. If the user already has the same content, that attachment is returned
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StoredAttachment upload(Long userId, String filename, String contentType, InputStream content)
+            throws IOException {
+        StoredContent stored = contentStore.store(content);
+        meterRegistry.counter("jobtracker.attachments.uploads",
+            "content", stored.deduplicated() ? "deduplicated" : "stored").increment();
+        
+        Attachment existing = attachmentRepository.findByUserIdAndSha256(userId, stored.sha256()).orElse(null);
+        if (existing != null) {
+            return new StoredAttachment(mapToResponse(existing), true);
+        }
+        
+        Attachment attachment = new Attachment();
+        attachment.setUserId(userId);
+        attachment.setSha256(stored.sha256());
+        attachment.setFilename(filename);
+        attachment.setContentType(contentType);
+        attachment.setSizeBytes(stored.size());
+        try {
+            return new StoredAttachment(mapToResponse(attachmentRepository.save(attachment)), false);
+        } catch (DataIntegrityViolationException ex) {
+            // The same user uploaded the same file concurrently
+            Attachment concurrent = attachmentRepository.findByUserIdAndSha256(userId, stored.sha256())
+                    .orElseThrow(() -> ex);
+            return new StoredAttachment(mapToResponse(concurrent), true);
+        }
+    }
+    
+    /**
+     * The user's attachments, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<AttachmentResponse> getAttachments(Long userId) {
+        return attachmentRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+    
+    /**
+     * One of the user's attachments
+     */
+    @Transactional(readOnly = true)
+    public AttachmentResponse getAttachment(Long id, Long userId) {
+        return mapToResponse(findAttachment(id, userId));
+    }
+    
+    /**
+     * Remove an attachment from the user's library and from all their applications
+     * The content is deleted by garbage collection once nothing references it
+     */
+    public void deleteAttachment(Long id, Long userId) {
+        attachmentRepository.unlinkFromAllJobApplications(id, userId);
+        if (attachmentRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new ResourceNotFoundException("Attachment not found with id: " + id);
+        }
+    }
+    
+    /**
+     * Attach one of the user's files to one of their applications (archived ones included)
+     * Attaching a file that is already attached does nothing
+     */
+    public AttachmentResponse attach(Long jobApplicationId, Long attachmentId, Long userId) {
+        if (!jobApplicationRepository.existsByIdAndUserId(jobApplicationId, userId)
+                && !archivedJobApplicationRepository.existsByIdAndUserId(jobApplicationId, userId)) {
+            throw new ResourceNotFoundException("Job application not found with id: " + jobApplicationId);
+        }
+        Attachment attachment = findAttachment(attachmentId, userId);
+        attachmentRepository.link(jobApplicationId, attachmentId, userId);
+        return mapToResponse(attachment);
+    }
+    
+    /**
+     * Detach a file from an application; the file stays in the user's library
+     */
+    public void detach(Long jobApplicationId, Long attachmentId, Long userId) {
+        if (attachmentRepository.unlink(jobApplicationId, attachmentId, userId) == 0) {
+            throw new ResourceNotFoundException(
+                "Attachment " + attachmentId + " is not attached to job application " + jobApplicationId);
+        }
+    }
+    
+    /**
+     * Files attached to one of the user's applications
+     */
+    @Transactional(readOnly = true)
+    public List<AttachmentResponse> getJobApplicationAttachments(Long jobApplicationId, Long userId) {
+        return attachmentRepository.findByJobApplication(jobApplicationId, userId).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+    
+    /**
+     * File holding the attachment's content (for sendfile)
+     */
+    public Path contentPath(AttachmentResponse attachment) {
+        return contentStore.path(attachment.getSha256());
+    }
+    
+    /**
+     * Send part of the attachment's content to the channel straight from the file
+     * Returns the number of bytes sent
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long transferContent(AttachmentResponse attachment, long position, long count, WritableByteChannel target)
+            throws IOException {
+        return contentStore.transferTo(attachment.getSha256(), position, count, target);
+    }
+    
+    @Scheduled(cron = "${jobtracker.attachments.gc-cron:0 0 4 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void collectGarbageScheduled() {
+        try {
+            collectGarbage();
+        } catch (IOException ex) {
+            logger.warn("Attachment garbage collection failed: {}", ex.getMessage());
+        }
+    }
+    
+    /**
+     * Delete stored content that no attachment references any more (on every shard when sharded)
+     * Returns the number of files deleted
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int collectGarbage() throws IOException {
+        Set<String> referenced = new HashSet<>();
+        if (shardQueryExecutor == null) {
+            referenced.addAll(attachmentRepository.findAllSha256());
+        } else {
+            referenced.addAll(ShardQueryExecutor.flatten(
+                shardQueryExecutor.onAllShards(attachmentRepository::findAllSha256)));
+        }
+        return contentStore.collectGarbage(referenced, properties.getGcGrace());
+    }
+    
+    private Attachment findAttachment(Long id, Long userId) {
+        return attachmentRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Attachment not found with id: " + id));
+    }
+    
+    private AttachmentResponse mapToResponse(Attachment attachment) {
+        return new AttachmentResponse(
+            attachment.getId(),
+            attachment.getFilename(),
+            attachment.getContentType(),
+            attachment.getSizeBytes(),
+            attachment.getSha256(),
+            attachment.getCreatedAt()
+        );
+    }
+}
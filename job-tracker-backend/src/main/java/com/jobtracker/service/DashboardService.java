@@ -0,0 +1,111 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.DashboardResponse;
+import com.jobtracker.dto.JobApplicationSummary;
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.metrics.SqlStatementCounter;
+import com.jobtracker.repository.JobApplicationRepository;
+import com.jobtracker.service.JobApplicationService.JobApplicationStats;
+import com.jobtracker.sharding.ShardContext;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard: statistics, recent applications and upcoming deadlines
+ * The three parts are loaded concurrently, each on its own virtual thread in its own
+ * read-only transaction, and joined before returning; if one fails the others are
+ * cancelled. Work runs on the caller's shard and counts towards its statement budget
+ */
+@Service
+@Timed(value = "jobtracker.service", histogram = true)
+public class DashboardService {
+    
+    private static final Set<ApplicationStatus> CLOSED = EnumSet.of(
+        ApplicationStatus.ACCEPTED, ApplicationStatus.REJECTED, ApplicationStatus.WITHDRAWN
+    );
+    
+    @Autowired
+    private JobApplicationService jobApplicationService;
+    
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+    
+    @Autowired
+    private SqlStatementCounter statementCounter;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${jobtracker.dashboard.list-size:5}")
+    private int listSize;
+    
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    /**
+     * Dashboard of a user, loaded with all parts in parallel
+     */
+    public DashboardResponse getDashboard(Long userId) {
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        
+        Future<JobApplicationStats> stats = fork(readOnlyTx, () -> jobApplicationService.getStatistics(userId));
+        Future<List<JobApplicationSummary>> recent = fork(readOnlyTx,
+            () -> jobApplicationRepository.findRecentSummaries(userId, Limit.of(listSize)));
+        Future<List<JobApplicationSummary>> deadlines = fork(readOnlyTx,
+            () -> jobApplicationRepository.findUpcomingDeadlineSummaries(
+                userId, LocalDate.now(), CLOSED, Limit.of(listSize)));
+        
+        List<Future<?>> all = List.of(stats, recent, deadlines);
+        try {
+            return new DashboardResponse(join(stats), join(recent), join(deadlines));
+        } finally {
+            // No-op when all succeeded; stops the remaining parts when one failed
+            all.forEach(future -> future.cancel(true));
+        }
+    }
+    
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+    
+    /**
+     * Start a part on a virtual thread, in a read-only transaction on the caller's shard
+     */
+    private <T> Future<T> fork(TransactionTemplate readOnlyTx, Supplier<T> part) {
+        String shard = ShardContext.current();
+        Supplier<T> counted = statementCounter.propagate(
+            () -> ShardContext.call(shard, () -> readOnlyTx.execute(status -> part.get())));
+        return executor.submit(counted::get);
+    }
+    
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading dashboard", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Dashboard part failed", ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.jobtracker.service;
+
+import com.jobtracker.cache.UserDataVersions;
+import com.jobtracker.entity.ArchivedJobApplication;
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.repository.ArchivedJobApplicationRepository;
+import com.jobtracker.repository.JobApplicationTombstoneRepository;
+import com.jobtracker.sharding.ShardContext;
+import com.jobtracker.sharding.ShardDirectory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Moves closed job applications (accepted, rejected, withdrawn) that have not changed
+ * for jobtracker.archive.min-age from job_applications to job_applications_archive,
+ * keeping the hot table and its indexes small as history accumulates
+ * Archived applications are restored to the hot table when accessed by id
+ * Owners of moved applications get a new data version, so cached lists and facets reload
+ * The same nightly run purges delete tombstones older than jobtracker.changes.tombstone-retention
+ */
+@Service
+public class JobApplicationArchiver {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JobApplicationArchiver.class);
+    
+    static final List<String> CLOSED_STATUSES = List.of(
+        ApplicationStatus.ACCEPTED.name(),
+        ApplicationStatus.REJECTED.name(),
+        ApplicationStatus.WITHDRAWN.name()
+    );
+    
+    @Autowired
+    private ArchivedJobApplicationRepository archiveRepository;
+    
+    @Autowired
+    private JobApplicationTombstoneRepository tombstoneRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private UserDataVersions userDataVersions;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Present only when sharding is enabled
+    @Autowired(required = false)
+    private ShardDirectory shardDirectory;
+    
+    @Value("${jobtracker.archive.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${jobtracker.archive.min-age:P180D}")
+    private Duration minAge;
+    
+    @Value("${jobtracker.archive.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${jobtracker.changes.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+    
+    @Scheduled(cron = "${jobtracker.archive.cron:0 30 3 * * *}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archive();
+            purgeTombstones();
+        }
+    }
+    
+    /**
+     * Archive all eligible applications (on every shard when sharded)
+     * Returns the number of applications moved
+     */
+    public int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        
+        int archived = 0;
+        if (shardDirectory == null) {
+            archived = archiveBefore(cutoff);
+        } else {
+            for (String shard : shardDirectory.getShards()) {
+                archived += ShardContext.call(shard, () -> archiveBefore(cutoff));
+            }
+        }
+        
+        logger.info("Archived {} job applications last changed before {}", archived, cutoff);
+        return archived;
+    }
+    
+    /**
+     * Delete tombstones past their retention (on every shard when sharded)
+     * Returns the number of tombstones deleted
+     */
+    public int purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        
+        int purged = 0;
+        if (shardDirectory == null) {
+            purged = transaction.execute(status -> tombstoneRepository.deleteByDeletedAtBefore(cutoff));
+        } else {
+            for (String shard : shardDirectory.getShards()) {
+                purged += ShardContext.call(shard,
+                        () -> transaction.execute(status -> tombstoneRepository.deleteByDeletedAtBefore(cutoff)));
+            }
+        }
+        
+        logger.info("Purged {} job application tombstones older than {}", purged, cutoff);
+        return purged;
+    }
+    
+    /**
+     * Archived row moved back to the hot table, and the updated_at the hot row got
+     */
+    public record Restored(ArchivedJobApplication application, LocalDateTime restoredAt) {
+    }
+    
+    /**
+     * Move an archived application back to the hot table, joining the caller's transaction
+     * Returns the restored row, or empty if the user has no such archived application
+     */
+    @Transactional
+    public Optional<Restored> restore(Long id, Long userId) {
+        return archiveRepository.findByIdAndUserId(id, userId).map(application -> {
+            LocalDateTime restoredAt = LocalDateTime.now();
+            archiveRepository.copyToHot(id, restoredAt);
+            archiveRepository.deleteByIdAndUserId(id, userId);
+            meterRegistry.counter("jobtracker.archive.restored").increment();
+            return new Restored(application, restoredAt);
+        });
+    }
+    
+    /**
+     * Same as restore, for callers in read-only transactions
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<Restored> restoreInNewTransaction(Long id, Long userId) {
+        return restore(id, userId);
+    }
+    
+    /**
+     * Archive in batches, one short transaction each, so row locks are held briefly
+     */
+    private int archiveBefore(LocalDateTime cutoff) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        
+        int archived = 0;
+        int batch;
+        do {
+            batch = transaction.execute(status -> archiveBatch(cutoff));
+            archived += batch;
+        } while (batch == batchSize);
+        return archived;
+    }
+    
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = archiveRepository.findArchivableIds(CLOSED_STATUSES, cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        List<Long> userIds = archiveRepository.findUserIdsByIds(ids);
+        archiveRepository.copyToArchive(ids, LocalDateTime.now());
+        archiveRepository.deleteFromHot(ids);
+        userIds.forEach(userDataVersions::bumpAfterCommit);
+        meterRegistry.counter("jobtracker.archive.archived").increment(ids.size());
+        return ids.size();
+    }
+}
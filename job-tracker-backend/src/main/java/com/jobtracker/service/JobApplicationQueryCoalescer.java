@@ -0,0 +1,108 @@
+package com.jobtracker.service;
+
+import com.jobtracker.cache.SingleFlight;
+import com.jobtracker.cache.UserDataVersions;
+import com.jobtracker.dto.JobApplicationSummary;
+import com.jobtracker.dto.PageResponse;
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.service.JobApplicationService.JobApplicationStats;
+import com.jobtracker.tags.TagFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Single-flight layer in front of the statistics and job list queries
+ * Identical requests of the same user that arrive while one is running (several tabs,
+ * double-fired effects) share its result instead of querying again. Keys include the
+ * normalized filter parameters and the user's data version, so a request made after a
+ * committed write never gets a result computed before it.
+ * Not transactional itself: only the executing call opens a transaction
+ */
+@Service
+public class JobApplicationQueryCoalescer {
+    
+    @Autowired
+    private JobApplicationService jobApplicationService;
+    
+    @Autowired
+    private UserDataVersions userDataVersions;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // How long a request waits for an identical in-flight one before querying itself
+    @Value("${jobtracker.singleflight.wait-timeout:PT10S}")
+    private Duration waitTimeout;
+    
+    private SingleFlight<StatsKey, JobApplicationStats> statistics;
+    
+    private SingleFlight<ListKey, PageResponse<JobApplicationSummary>> lists;
+    
+    private record StatsKey(Long userId, long version) {
+    }
+    
+    private record ListKey(Long userId, long version, ApplicationStatus status, String keyword,
+                           LocalDate startDate, LocalDate endDate, TagFilter tagFilter, int page, int size,
+                           String sortBy, String sortDir, boolean includeArchived) {
+    }
+    
+    @PostConstruct
+    public void init() {
+        statistics = new SingleFlight<>("statistics", waitTimeout, meterRegistry);
+        lists = new SingleFlight<>("job_list", waitTimeout, meterRegistry);
+    }
+    
+    /**
+     * Same as JobApplicationService.getStatistics(userId), coalesced per user
+     */
+    public JobApplicationStats getStatistics(Long userId) {
+        StatsKey key = new StatsKey(userId, userDataVersions.current(userId));
+        return statistics.execute(key, () -> jobApplicationService.getStatistics(userId));
+    }
+    
+    /**
+     * Same as JobApplicationService.getJobApplications, coalesced per user and filters
+     * Keyword and sort direction are normalized first, so equivalent requests share a key
+     */
+    public PageResponse<JobApplicationSummary> getJobApplications(
+            Long userId,
+            String username,
+            ApplicationStatus status,
+            String keyword,
+            LocalDate startDate,
+            LocalDate endDate,
+            TagFilter tagFilter,
+            int page,
+            int size,
+            String sortBy,
+            String sortDir,
+            boolean includeArchived) {
+        
+        String normalizedKeyword = normalizeKeyword(keyword);
+        String normalizedSortDir = normalizeSortDir(sortDir);
+        
+        ListKey key = new ListKey(userId, userDataVersions.current(userId), status, normalizedKeyword,
+            startDate, endDate, tagFilter, page, size, sortBy, normalizedSortDir, includeArchived);
+        return lists.execute(key, () -> jobApplicationService.getJobApplications(
+            username, status, normalizedKeyword, startDate, endDate, tagFilter,
+            page, size, sortBy, normalizedSortDir, includeArchived
+        ));
+    }
+    
+    /**
+     * Keyword search is case-insensitive and ignores surrounding spaces; a blank keyword matches everything
+     */
+    static String normalizeKeyword(String keyword) {
+        return keyword == null || keyword.isBlank() ? null : keyword.trim().toLowerCase();
+    }
+    
+    static String normalizeSortDir(String sortDir) {
+        return sortDir.equalsIgnoreCase("asc") ? "asc" : "desc";
+    }
+}
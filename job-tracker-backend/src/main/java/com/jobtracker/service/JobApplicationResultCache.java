@@ -0,0 +1,123 @@
+package com.jobtracker.service;
+
+import com.jobtracker.cache.CircuitBreaker;
+import com.jobtracker.cache.ResultCacheProperties;
+import com.jobtracker.cache.StaleWhileRevalidateCache;
+import com.jobtracker.cache.StaleWhileRevalidateCache.Result;
+import com.jobtracker.cache.UserDataVersions;
+import com.jobtracker.dto.JobApplicationSummary;
+import com.jobtracker.dto.PageResponse;
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.service.JobApplicationService.JobApplicationStats;
+import com.jobtracker.sharding.ShardContext;
+import com.jobtracker.tags.TagFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Stale-while-revalidate cache of each user's statistics and job list pages
+ * Sits in front of the single-flight layer: cache misses and refreshes go through
+ * JobApplicationQueryCoalescer, guarded by the database circuit breaker. When MySQL is slow
+ * or failing, the breaker opens and users get their cached results instead of a blocked thread.
+ * Refreshes run on virtual threads on the caller's shard, outside its statement budget
+ */
+@Service
+public class JobApplicationResultCache {
+    
+    @Autowired
+    private JobApplicationQueryCoalescer queryCoalescer;
+    
+    @Autowired
+    private UserDataVersions userDataVersions;
+    
+    @Autowired
+    private ResultCacheProperties properties;
+    
+    @Autowired
+    private CircuitBreaker databaseCircuitBreaker;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    private StaleWhileRevalidateCache<Long, JobApplicationStats> statistics;
+    
+    private StaleWhileRevalidateCache<ListKey, PageResponse<JobApplicationSummary>> lists;
+    
+    private record ListKey(Long userId, ApplicationStatus status, String keyword,
+                           LocalDate startDate, LocalDate endDate, TagFilter tagFilter, int page, int size,
+                           String sortBy, String sortDir, boolean includeArchived) {
+    }
+    
+    @PostConstruct
+    public void init() {
+        statistics = new StaleWhileRevalidateCache<>(
+            "statistics", properties, databaseCircuitBreaker, refreshExecutor, meterRegistry);
+        lists = new StaleWhileRevalidateCache<>(
+            "job_list", properties, databaseCircuitBreaker, refreshExecutor, meterRegistry);
+    }
+    
+    @PreDestroy
+    public void close() {
+        refreshExecutor.shutdown();
+    }
+    
+    /**
+     * Statistics of the user, possibly served from cache
+     */
+    public Result<JobApplicationStats> getStatistics(Long userId) {
+        if (!properties.isEnabled()) {
+            return Result.loaded(queryCoalescer.getStatistics(userId));
+        }
+        
+        return statistics.get(userId, userDataVersions.current(userId),
+            onCurrentShard(() -> queryCoalescer.getStatistics(userId)));
+    }
+    
+    /**
+     * Page of the user's job applications, possibly served from cache
+     */
+    public Result<PageResponse<JobApplicationSummary>> getJobApplications(
+            Long userId,
+            String username,
+            ApplicationStatus status,
+            String keyword,
+            LocalDate startDate,
+            LocalDate endDate,
+            TagFilter tagFilter,
+            int page,
+            int size,
+            String sortBy,
+            String sortDir,
+            boolean includeArchived) {
+        
+        Supplier<PageResponse<JobApplicationSummary>> loader = () -> queryCoalescer.getJobApplications(
+            userId, username, status, keyword, startDate, endDate, tagFilter, page, size, sortBy, sortDir, includeArchived
+        );
+        if (!properties.isEnabled()) {
+            return Result.loaded(loader.get());
+        }
+        
+        ListKey key = new ListKey(userId, status, JobApplicationQueryCoalescer.normalizeKeyword(keyword),
+            startDate, endDate, tagFilter, page, size, sortBy, JobApplicationQueryCoalescer.normalizeSortDir(sortDir),
+            includeArchived);
+        return lists.get(key, userDataVersions.current(userId), onCurrentShard(loader));
+    }
+    
+    /**
+     * Bind the loader to the caller's shard, so background refreshes query the same one
+     */
+    private static <T> Supplier<T> onCurrentShard(Supplier<T> loader) {
+        String shard = ShardContext.current();
+        return () -> ShardContext.call(shard, loader);
+    }
+}
@@ -1,24 +1,51 @@
 package com.jobtracker.service;
 
+import com.jobtracker.cache.UserDataVersions;
+import com.jobtracker.dto.JobApplicationChanges;
+import com.jobtracker.dto.JobApplicationEvent;
 import com.jobtracker.dto.JobApplicationRequest;
 import com.jobtracker.dto.JobApplicationResponse;
+import com.jobtracker.dto.JobApplicationSummary;
 import com.jobtracker.dto.PageResponse;
+import com.jobtracker.entity.ArchivedJobApplication;
 import com.jobtracker.entity.JobApplication;
 import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.entity.JobApplicationTombstone;
 import com.jobtracker.entity.User;
+import com.jobtracker.events.JobEventBroker;
 import com.jobtracker.exception.ResourceNotFoundException;
+import com.jobtracker.repository.ArchivedJobApplicationRepository;
+import com.jobtracker.repository.AttachmentRepository;
 import com.jobtracker.repository.JobApplicationRepository;
+import com.jobtracker.repository.JobApplicationStreamRepository;
+import com.jobtracker.repository.JobApplicationTombstoneRepository;
+import com.jobtracker.service.JobApplicationArchiver.Restored;
+import com.jobtracker.tags.IdBitmap;
+import com.jobtracker.tags.TagFilter;
+import com.jobtracker.tags.TagIndex;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Service class for Job Application operations
@@ -26,14 +53,57 @@ import java.util.stream.Collectors;
  */
 @Service
 @Transactional
+@Timed(value = "jobtracker.service", histogram = true)
 public class JobApplicationService {
     
     @Autowired
     private JobApplicationRepository jobApplicationRepository;
     
+    @Autowired
+    private JobApplicationStreamRepository jobApplicationStreamRepository;
+    
+    @Autowired
+    private ArchivedJobApplicationRepository archivedJobApplicationRepository;
+    
+    @Autowired
+    private JobApplicationTombstoneRepository tombstoneRepository;
+    
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+    
+    @Autowired
+    private JobApplicationArchiver archiver;
+    
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    @Autowired
+    private JobEventBroker jobEventBroker;
+    
+    @Autowired
+    private UserDataVersions userDataVersions;
+    
+    @Autowired
+    private TagIndex tagIndex;
+    
+    // updated_at is set before commit, so rows can become visible slightly "in the past"
+    @Value("${jobtracker.changes.commit-window:PT5S}")
+    private Duration commitWindow;
+    
+    @Value("${jobtracker.changes.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+    
+    // Most changes (updates and deletions together) returned by one delta sync call
+    @Value("${jobtracker.changes.max-page-size:500}")
+    private int maxChangesPageSize;
+    
+    // Larger tag candidate sets are matched by the database instead of an IN list
+    @Value("${jobtracker.tags.max-candidates:5000}")
+    private int maxTagCandidates;
+    
     /**
      * Create a new job application
      */
@@ -50,16 +120,23 @@ public class JobApplicationService {
         jobApplication.setUser(user);
         
         JobApplication saved = jobApplicationRepository.save(jobApplication);
-        return mapToResponse(saved);
+        List<String> tags = TagFilter.normalize(request.getTags() != null ? request.getTags() : List.of());
+        jobApplicationRepository.insertTags(saved.getId(), user.getId(), tags);
+        jobEventBroker.publishAfterCommit(user.getId(), JobApplicationEvent.Type.CREATED, saved.getId());
+        userDataVersions.bumpAfterCommit(user.getId());
+        return mapToResponse(saved, tags);
     }
     
     /**
      * Update an existing job application
+     * Tags are replaced when the request has them and kept otherwise
      */
     public JobApplicationResponse updateJobApplication(Long id, JobApplicationRequest request, String username) {
         User user = userService.findByUsername(username);
         
         JobApplication jobApplication = jobApplicationRepository.findByIdAndUserId(id, user.getId())
+                .or(() -> archiver.restore(id, user.getId())
+                        .flatMap(restored -> jobApplicationRepository.findByIdAndUserId(id, user.getId())))
                 .orElseThrow(() -> new ResourceNotFoundException("Job application not found with id: " + id));
         
         jobApplication.setTitle(request.getTitle());
@@ -70,39 +147,97 @@ public class JobApplicationService {
         jobApplication.setNotes(request.getNotes());
         
         JobApplication updated = jobApplicationRepository.save(jobApplication);
-        return mapToResponse(updated);
+        List<String> tags;
+        if (request.getTags() != null) {
+            tags = TagFilter.normalize(request.getTags());
+            jobApplicationRepository.deleteTags(id, user.getId());
+            jobApplicationRepository.insertTags(id, user.getId(), tags);
+        } else {
+            tags = tagIndex.tagsOf(user.getId(), id);
+        }
+        jobEventBroker.publishAfterCommit(user.getId(), JobApplicationEvent.Type.UPDATED, id);
+        userDataVersions.bumpAfterCommit(user.getId());
+        return mapToResponse(updated, tags);
     }
     
     /**
      * Get job application by ID
+     * An archived application is restored to the hot table on access
      */
     @Transactional(readOnly = true)
     public JobApplicationResponse getJobApplicationById(Long id, String username) {
         User user = userService.findByUsername(username);
         
-        JobApplication jobApplication = jobApplicationRepository.findByIdAndUserId(id, user.getId())
+        JobApplication jobApplication = jobApplicationRepository.findByIdAndUserId(id, user.getId()).orElse(null);
+        if (jobApplication != null) {
+            return mapToResponse(jobApplication, tagIndex.tagsOf(user.getId(), id));
+        }
+        
+        Restored restored = archiver.restoreInNewTransaction(id, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Job application not found with id: " + id));
+        // Restoring moves it back into the default list
+        userDataVersions.bumpAfterCommit(user.getId());
+        return mapToResponse(restored, user, tagIndex.tagsOf(user.getId(), id));
+    }
+    
+    /**
+     * Get the given fields of a job application
+     * Only the selected columns are read; userId and username come from the user.
+     * An application that is not in the hot table goes through getJobApplicationById
+     * (restoring it if archived) and is trimmed afterwards
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getJobApplicationFieldsById(Long id, String username, List<String> fields) {
+        User user = userService.findByUsername(username);
+        
+        List<String> columns = fields.stream()
+            .filter(field -> !field.equals("userId") && !field.equals("username"))
+            .toList();
+        Map<String, Object> values = jobApplicationRepository.findFieldsByIdAndUserId(id, user.getId(), columns)
+            .orElse(null);
+        if (values == null) {
+            return trim(getJobApplicationById(id, username), fields);
+        }
         
-        return mapToResponse(jobApplication);
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "userId" -> result.put(field, user.getId());
+                case "username" -> result.put(field, user.getUsername());
+                default -> result.put(field, values.get(field));
+            }
+        }
+        return result;
     }
     
     /**
      * Get all job applications for a user with pagination, filtering, sorting, and search
+     * Returns summaries without notes; full notes are loaded by getJobApplicationById
+     * Archived applications are only listed with includeArchived
+     * A tag filter is first answered by the tag index; the page query then only considers
+     * the candidate ids, and is skipped altogether when there are none
      */
     @Transactional(readOnly = true)
-    public PageResponse<JobApplicationResponse> getJobApplications(
+    public PageResponse<JobApplicationSummary> getJobApplications(
             String username,
             ApplicationStatus status,
             String keyword,
             LocalDate startDate,
             LocalDate endDate,
+            TagFilter tagFilter,
             int page,
             int size,
             String sortBy,
-            String sortDir) {
+            String sortDir,
+            boolean includeArchived) {
         
         User user = userService.findByUsername(username);
         
+        IdBitmap candidates = tagFilter != null ? tagIndex.match(user.getId(), tagFilter) : null;
+        if (candidates != null && candidates.isEmpty()) {
+            return new PageResponse<>(List.of(), page, size, 0, 0, true);
+        }
+        
         // Create sort object
         Sort sort = sortDir.equalsIgnoreCase("asc") 
             ? Sort.by(sortBy).ascending() 
@@ -110,19 +245,27 @@ public class JobApplicationService {
         
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        // Execute query with filters
-        Page<JobApplication> jobApplicationPage = jobApplicationRepository.findByUserIdWithFilters(
-            user.getId(), status, keyword, startDate, endDate, pageable
-        );
+        // Execute projection query with filters (summaries are built directly from rows)
+        Page<JobApplicationSummary> jobApplicationPage;
+        if (candidates != null) {
+            Collection<Long> ids = candidates.cardinality() <= maxTagCandidates ? candidates.toList() : null;
+            jobApplicationPage = jobApplicationRepository.findSummariesByUserIdWithTags(
+                user.getId(), status, keyword, startDate, endDate, tagFilter, ids, includeArchived, pageable);
+        } else if (includeArchived) {
+            jobApplicationPage = jobApplicationRepository.findSummariesIncludingArchived(
+                user.getId(), status, keyword, startDate, endDate, pageable);
+        } else {
+            jobApplicationPage = jobApplicationRepository.findSummariesByUserIdWithFilters(
+                user.getId(), status, keyword, startDate, endDate, pageable);
+        }
         
-        // Map to response DTOs
-        List<JobApplicationResponse> content = jobApplicationPage.getContent()
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Only applications that have tags get them, as in streamJobApplications
+        Map<Long, List<String>> tags = tagIndex.tagsOf(user.getId(),
+            jobApplicationPage.getContent().stream().map(JobApplicationSummary::getId).toList());
+        jobApplicationPage.getContent().forEach(summary -> summary.setTags(tags.get(summary.getId())));
         
         return new PageResponse<>(
-            content,
+            jobApplicationPage.getContent(),
             jobApplicationPage.getNumber(),
             jobApplicationPage.getSize(),
             jobApplicationPage.getTotalElements(),
@@ -131,32 +274,194 @@ public class JobApplicationService {
         );
     }
     
+    /**
+     * Same as getJobApplications, but only the given summary fields are selected
+     * With includeArchived the full summaries are listed and trimmed afterwards,
+     * since the UNION ALL over both tables has a fixed column list
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> getJobApplicationFields(
+            String username,
+            ApplicationStatus status,
+            String keyword,
+            LocalDate startDate,
+            LocalDate endDate,
+            int page,
+            int size,
+            String sortBy,
+            String sortDir,
+            boolean includeArchived,
+            List<String> fields) {
+        
+        if (includeArchived) {
+            PageResponse<JobApplicationSummary> summaries = getJobApplications(
+                username, status, keyword, startDate, endDate, null, page, size, sortBy, sortDir, true
+            );
+            return new PageResponse<>(
+                summaries.getContent().stream().map(summary -> trim(summary, fields)).toList(),
+                summaries.getPageNumber(),
+                summaries.getPageSize(),
+                summaries.getTotalElements(),
+                summaries.getTotalPages(),
+                summaries.isLast()
+            );
+        }
+        
+        User user = userService.findByUsername(username);
+        
+        Sort sort = sortDir.equalsIgnoreCase("asc") 
+            ? Sort.by(sortBy).ascending() 
+            : Sort.by(sortBy).descending();
+        
+        Page<Map<String, Object>> fieldPage = jobApplicationRepository.findFieldsByUserIdWithFilters(
+            user.getId(), fields, status, keyword, startDate, endDate, PageRequest.of(page, size, sort)
+        );
+        
+        return new PageResponse<>(
+            fieldPage.getContent(),
+            fieldPage.getNumber(),
+            fieldPage.getSize(),
+            fieldPage.getTotalElements(),
+            fieldPage.getTotalPages(),
+            fieldPage.isLast()
+        );
+    }
+    
+    /**
+     * Write a page of the user's job application summaries as JSON to the stream
+     * Same result as getJobApplications (without archived ones), but rows are written
+     * as they are read instead of being collected into a PageResponse first
+     */
+    @Transactional(readOnly = true)
+    public void streamJobApplications(
+            Long userId,
+            ApplicationStatus status,
+            String keyword,
+            LocalDate startDate,
+            LocalDate endDate,
+            int page,
+            int size,
+            String sortBy,
+            String sortDir,
+            OutputStream out) {
+        
+        Sort sort = sortDir.equalsIgnoreCase("asc") 
+            ? Sort.by(sortBy).ascending() 
+            : Sort.by(sortBy).descending();
+        
+        jobApplicationStreamRepository.writeSummaryPage(
+            userId, status, keyword, startDate, endDate, PageRequest.of(page, size, sort), tagIndex.lookup(userId), out
+        );
+    }
+    
+    /**
+     * Applications of the user changed or deleted since the cursor (delta sync), oldest change first
+     * Reads only the changed rows via the (user_id, updated_at) and tombstone indexes, at most
+     * limit changes per call. The cursor is the time of the last change returned, so it never
+     * skips a change that did not fit; on the last page it also lags the commit window, so a
+     * transaction that committed late is picked up by the next call. A cursor older than the
+     * tombstone retention gets resync instead, since deletions that old are no longer known
+     */
+    @Transactional(readOnly = true)
+    public JobApplicationChanges getChangesSince(Long userId, LocalDateTime since, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        if (since.isBefore(now.minus(tombstoneRetention))) {
+            return new JobApplicationChanges(List.of(), List.of(), null, false, true);
+        }
+        
+        // One row more than the page tells whether more changes follow
+        int pageSize = Math.max(1, Math.min(limit, maxChangesPageSize));
+        Limit rows = Limit.of(pageSize + 1);
+        List<JobApplicationSummary> changed = jobApplicationRepository.findSummariesChangedSince(userId, since, rows);
+        List<JobApplicationTombstone> deleted = tombstoneRepository.findDeletedSince(userId, since, rows);
+        
+        // Merge both by time, oldest first, up to the page size
+        List<JobApplicationSummary> changedPage = new ArrayList<>();
+        List<Long> deletedPage = new ArrayList<>();
+        LocalDateTime last = since;
+        int c = 0;
+        int d = 0;
+        while (c + d < pageSize && (c < changed.size() || d < deleted.size())) {
+            if (d == deleted.size()
+                    || (c < changed.size() && !changed.get(c).getUpdatedAt().isAfter(deleted.get(d).getDeletedAt()))) {
+                last = changed.get(c).getUpdatedAt();
+                changedPage.add(changed.get(c++));
+            } else {
+                last = deleted.get(d).getDeletedAt();
+                deletedPage.add(deleted.get(d++).getId());
+            }
+        }
+        
+        boolean hasMore = c < changed.size() || d < deleted.size();
+        LocalDateTime cursor = last;
+        LocalDateTime settled = now.minus(commitWindow);
+        if (!hasMore && cursor.isAfter(settled)) {
+            // Never moves the cursor back before since
+            cursor = settled.isAfter(since) ? settled : since;
+        }
+        return new JobApplicationChanges(changedPage, deletedPage, cursor, hasMore, false);
+    }
+    
     /**
      * Delete job application
+     * A tombstone records the deletion for delta sync; attached files stay in the user's library,
+     * tags are removed with it
      */
     public void deleteJobApplication(Long id, String username) {
         User user = userService.findByUsername(username);
         
-        JobApplication jobApplication = jobApplicationRepository.findByIdAndUserId(id, user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Job application not found with id: " + id));
+        JobApplication jobApplication = jobApplicationRepository.findByIdAndUserId(id, user.getId()).orElse(null);
+        if (jobApplication != null) {
+            jobApplicationRepository.delete(jobApplication);
+            tombstoneRepository.insert(id, user.getId(), LocalDateTime.now());
+            attachmentRepository.unlinkAllFromJobApplication(id, user.getId());
+            jobApplicationRepository.deleteTags(id, user.getId());
+            jobEventBroker.publishAfterCommit(user.getId(), JobApplicationEvent.Type.DELETED, id);
+            userDataVersions.bumpAfterCommit(user.getId());
+            return;
+        }
         
-        jobApplicationRepository.delete(jobApplication);
+        // Archived applications are deleted in place, without restoring them first
+        if (archivedJobApplicationRepository.deleteByIdAndUserId(id, user.getId()) == 0) {
+            throw new ResourceNotFoundException("Job application not found with id: " + id);
+        }
+        tombstoneRepository.insert(id, user.getId(), LocalDateTime.now());
+        attachmentRepository.unlinkAllFromJobApplication(id, user.getId());
+        jobApplicationRepository.deleteTags(id, user.getId());
+        jobEventBroker.publishAfterCommit(user.getId(), JobApplicationEvent.Type.DELETED, id);
+        userDataVersions.bumpAfterCommit(user.getId());
     }
     
     /**
-     * Get statistics for user's job applications
+     * Get statistics for user's job applications, archived ones included
      */
     @Transactional(readOnly = true)
     public JobApplicationStats getStatistics(String username) {
         User user = userService.findByUsername(username);
+        return getStatistics(user.getId());
+    }
+    
+    /**
+     * Same as getStatistics(username), for callers that already know the user id
+     */
+    @Transactional(readOnly = true)
+    public JobApplicationStats getStatistics(Long userId) {
+        // One grouped query instead of one count per status
+        Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+        long total = 0;
+        List<Object[]> rows = new ArrayList<>(jobApplicationRepository.countByUserIdGroupByStatus(userId));
+        rows.addAll(archivedJobApplicationRepository.countByUserIdGroupByStatus(userId));
+        for (Object[] row : rows) {
+            counts.merge((ApplicationStatus) row[0], (Long) row[1], Long::sum);
+            total += (Long) row[1];
+        }
         
-        Long total = jobApplicationRepository.countByUserId(user.getId());
-        Long applied = jobApplicationRepository.countByUserIdAndStatus(user.getId(), ApplicationStatus.APPLIED);
-        Long screening = jobApplicationRepository.countByUserIdAndStatus(user.getId(), ApplicationStatus.SCREENING);
-        Long interview = jobApplicationRepository.countByUserIdAndStatus(user.getId(), ApplicationStatus.INTERVIEW);
-        Long offer = jobApplicationRepository.countByUserIdAndStatus(user.getId(), ApplicationStatus.OFFER);
-        Long accepted = jobApplicationRepository.countByUserIdAndStatus(user.getId(), ApplicationStatus.ACCEPTED);
-        Long rejected = jobApplicationRepository.countByUserIdAndStatus(user.getId(), ApplicationStatus.REJECTED);
+        Long applied = counts.getOrDefault(ApplicationStatus.APPLIED, 0L);
+        Long screening = counts.getOrDefault(ApplicationStatus.SCREENING, 0L);
+        Long interview = counts.getOrDefault(ApplicationStatus.INTERVIEW, 0L);
+        Long offer = counts.getOrDefault(ApplicationStatus.OFFER, 0L);
+        Long accepted = counts.getOrDefault(ApplicationStatus.ACCEPTED, 0L);
+        Long rejected = counts.getOrDefault(ApplicationStatus.REJECTED, 0L);
         
         return new JobApplicationStats(total, applied, screening, interview, offer, accepted, rejected);
     }
@@ -164,7 +469,7 @@ public class JobApplicationService {
     /**
      * Map entity to response DTO
      */
-    private JobApplicationResponse mapToResponse(JobApplication jobApplication) {
+    private JobApplicationResponse mapToResponse(JobApplication jobApplication, List<String> tags) {
         return new JobApplicationResponse(
             jobApplication.getId(),
             jobApplication.getTitle(),
@@ -176,10 +481,44 @@ public class JobApplicationService {
             jobApplication.getUser().getId(),
             jobApplication.getUser().getUsername(),
             jobApplication.getCreatedAt(),
-            jobApplication.getUpdatedAt()
+            jobApplication.getUpdatedAt(),
+            tags
+        );
+    }
+    
+    /**
+     * Map restored archived row to response DTO, with the updated_at it got on restore
+     */
+    private JobApplicationResponse mapToResponse(Restored restored, User user, List<String> tags) {
+        ArchivedJobApplication archived = restored.application();
+        return new JobApplicationResponse(
+            archived.getId(),
+            archived.getTitle(),
+            archived.getCompany(),
+            archived.getStatus(),
+            archived.getAppliedDate(),
+            archived.getDeadline(),
+            archived.getNotes(),
+            user.getId(),
+            user.getUsername(),
+            archived.getCreatedAt(),
+            restored.restoredAt(),
+            tags
         );
     }
     
+    /**
+     * Keep only the given fields of a response or summary, in the given order
+     */
+    private Map<String, Object> trim(Object dto, List<String> fields) {
+        Map<String, Object> all = jsonMapper.convertValue(dto, new TypeReference<Map<String, Object>>() {});
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String field : fields) {
+            result.put(field, all.get(field));
+        }
+        return result;
+    }
+    
     /**
      * Inner class for statistics
      */
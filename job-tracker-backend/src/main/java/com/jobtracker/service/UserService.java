@@ -1,14 +1,29 @@
 package com.jobtracker.service;
 
+import com.jobtracker.cache.InvalidationBus;
+import com.jobtracker.cache.InvalidationMessage.Entity;
 import com.jobtracker.dto.RegisterRequest;
 import com.jobtracker.entity.User;
+import com.jobtracker.repository.ArchivedJobApplicationRepository;
+import com.jobtracker.repository.JobApplicationRepository;
 import com.jobtracker.repository.UserRepository;
+import com.jobtracker.sharding.ShardQueryExecutor;
+import com.jobtracker.sharding.ShardRebalancer;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service class for User operations
@@ -16,14 +31,42 @@ import java.util.List;
  */
 @Service
 @Transactional
+@Timed(value = "jobtracker.service", histogram = true)
 public class UserService {
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+    
+    @Autowired
+    private ArchivedJobApplicationRepository archivedJobApplicationRepository;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private InvalidationBus invalidationBus;
+    
+    // Present only when sharding is enabled
+    @Autowired(required = false)
+    private ShardQueryExecutor shardQueryExecutor;
+    
+    @Autowired(required = false)
+    private ShardRebalancer shardRebalancer;
+    
+    /**
+     * Evict users changed on other nodes from this node's second-level cache
+     */
+    @PostConstruct
+    public void init() {
+        invalidationBus.subscribe(Entity.USER, id -> entityManagerFactory.getCache().evict(User.class, id));
+    }
+    
     /**
      * Register a new user
      */
@@ -45,7 +88,22 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setRole(User.Role.USER); // Default role
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        evictFromCacheAfterCommit(saved.getId());
+        return saved;
+    }
+    
+    /**
+     * Change a user's role (Admin only)
+     * Takes effect for the user's next token refresh
+     */
+    public User updateRole(Long id, User.Role role) {
+        User user = findById(id);
+        user.setRole(role);
+        
+        User saved = userRepository.save(user);
+        evictFromCacheAfterCommit(saved.getId());
+        return saved;
     }
     
     /**
@@ -66,6 +124,14 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
     
+    /**
+     * Find user by ID, empty if there is no such user
+     */
+    @Transactional(readOnly = true)
+    public Optional<User> findOptionalById(Long id) {
+        return userRepository.findById(id);
+    }
+    
     /**
      * Get all users (Admin only)
      */
@@ -74,6 +140,35 @@ public class UserService {
         return userRepository.findAll();
     }
     
+    /**
+     * Get number of job applications per user ID, archived ones included (Admin only)
+     * One grouped query per table; users without applications are absent from the map
+     * With sharding the queries run on all shards in parallel
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getJobApplicationCounts() {
+        List<Object[]> rows = shardQueryExecutor != null
+                ? ShardQueryExecutor.flatten(shardQueryExecutor.onAllShards(this::countGroupByUserId))
+                : countGroupByUserId();
+        
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.merge((Long) row[0], (Long) row[1], Long::sum);
+        }
+        return counts;
+    }
+    
+    /**
+     * Get number of job applications for a user without loading them, archived ones included
+     */
+    @Transactional(readOnly = true)
+    public long getJobApplicationCount(Long userId) {
+        if (shardQueryExecutor != null) {
+            return shardQueryExecutor.onUserShard(userId, () -> countByUserId(userId));
+        }
+        return countByUserId(userId);
+    }
+    
     /**
      * Check if username exists
      */
@@ -89,4 +184,33 @@ public class UserService {
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
+    
+    private List<Object[]> countGroupByUserId() {
+        List<Object[]> rows = new ArrayList<>(jobApplicationRepository.countGroupByUserId());
+        rows.addAll(archivedJobApplicationRepository.countGroupByUserId());
+        return rows;
+    }
+    
+    private long countByUserId(Long userId) {
+        return jobApplicationRepository.countByUserId(userId) + archivedJobApplicationRepository.countByUserId(userId);
+    }
+    
+    /**
+     * Evict user from the second-level cache once the transaction commits,
+     * so no reader can see a cached copy older than the committed row
+     * With sharding the user's copy on their home shard is refreshed first;
+     * other nodes are told to evict their copies too
+     */
+    private void evictFromCacheAfterCommit(Long id) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (shardRebalancer != null) {
+                    shardRebalancer.syncUser(id);
+                }
+                entityManagerFactory.getCache().evict(User.class, id);
+                invalidationBus.publish(Entity.USER, id);
+            }
+        });
+    }
 }
\ No newline at end of file
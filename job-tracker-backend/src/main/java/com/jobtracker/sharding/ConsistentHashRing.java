@@ -0,0 +1,78 @@
+package com.jobtracker.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring mapping user ids to shard names
+ * Each shard is placed on the ring at several virtual nodes; a key belongs to the
+ * first node at or after its hash. Adding a shard only moves the keys that now
+ * fall on the new shard's nodes, roughly 1/N of them
+ */
+public class ConsistentHashRing {
+    
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    
+    private final Set<String> shards;
+    
+    public ConsistentHashRing(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Hash ring needs at least one shard");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        }
+        
+        this.shards = Collections.unmodifiableSet(new LinkedHashSet<>(shards));
+        for (String shard : this.shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shard + "#" + i), shard);
+            }
+        }
+    }
+    
+    /**
+     * Shard owning the given key
+     */
+    public String shardFor(long key) {
+        Map.Entry<Long, String> node = ring.ceilingEntry(mix(key));
+        return node != null ? node.getValue() : ring.firstEntry().getValue();
+    }
+    
+    /**
+     * Shard names in configuration order
+     */
+    public Set<String> getShards() {
+        return shards;
+    }
+    
+    /**
+     * 64-bit FNV-1a over the node name, finished with the same mixer as keys
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+    
+    /**
+     * MurmurHash3 finalizer; spreads sequential user ids over the whole ring
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
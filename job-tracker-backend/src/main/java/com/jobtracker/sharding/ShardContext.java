@@ -0,0 +1,44 @@
+package com.jobtracker.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard the current thread's database work goes to
+ * Unset means the directory shard
+ */
+public final class ShardContext {
+    
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    
+    private ShardContext() {
+    }
+    
+    public static String current() {
+        return CURRENT.get();
+    }
+    
+    public static void set(String shard) {
+        CURRENT.set(shard);
+    }
+    
+    public static void clear() {
+        CURRENT.remove();
+    }
+    
+    /**
+     * Run work against a shard, restoring the previous shard afterwards
+     */
+    public static <T> T call(String shard, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
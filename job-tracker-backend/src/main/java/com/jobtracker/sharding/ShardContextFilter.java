@@ -0,0 +1,60 @@
+package com.jobtracker.sharding;
+
+import com.jobtracker.security.UserPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Points the request's database work at the authenticated user's home shard
+ * Runs after Spring Security; auth and admin endpoints stay on the directory shard
+ * (admin queries use ShardQueryExecutor to reach other shards)
+ */
+public class ShardContextFilter extends OncePerRequestFilter {
+    
+    private final ShardDirectory directory;
+    
+    public ShardContextFilter(ShardDirectory directory) {
+        this.directory = directory;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/api/auth/") || path.startsWith("/api/admin/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        if (!directory.enter(principal.getId())) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Account data is being moved");
+            return;
+        }
+        
+        // Counted as in flight until done, so a move waits for it before copying
+        ShardContext.set(directory.homeShard(principal.getId()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ShardContext.clear();
+            directory.exit(principal.getId());
+        }
+    }
+}
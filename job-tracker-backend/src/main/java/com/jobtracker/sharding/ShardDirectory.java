@@ -0,0 +1,138 @@
+package com.jobtracker.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves a user's home shard
+ * The hash ring decides by default; users moved by the rebalancer keep an explicit
+ * assignment, stored in user_shard_assignments on the directory shard and cached here
+ * The cache, the move flags and the in-flight counts are local to this JVM, so moving users
+ * is only safe on a single node: other nodes would neither reload the assignment nor hold
+ * back the user's requests during the move
+ */
+public class ShardDirectory {
+    
+    private final ConsistentHashRing ring;
+    
+    private final String directoryShard;
+    
+    private final JdbcTemplate directory;
+    
+    // userId -> shard, only for users not on their ring shard
+    private final Map<Long, String> assignments = new ConcurrentHashMap<>();
+    
+    // Users whose rows are being copied between shards
+    private final Set<Long> moving = ConcurrentHashMap.newKeySet();
+    
+    // userId -> requests currently served for the user, absent when none
+    private final Map<Long, Integer> inFlight = new ConcurrentHashMap<>();
+    
+    public ShardDirectory(ConsistentHashRing ring, String directoryShard, DataSource directoryDataSource) {
+        if (!ring.getShards().contains(directoryShard)) {
+            throw new IllegalArgumentException("Directory shard " + directoryShard + " is not on the ring");
+        }
+        this.ring = ring;
+        this.directoryShard = directoryShard;
+        this.directory = new JdbcTemplate(directoryDataSource);
+    }
+    
+    /**
+     * Load explicit assignments; the table is created by the V5 migration
+     */
+    public void load() {
+        assignments.clear();
+        directory.query("SELECT user_id, shard FROM user_shard_assignments",
+                rs -> {
+                    assignments.put(rs.getLong(1), rs.getString(2));
+                });
+    }
+    
+    /**
+     * Shard holding the user's job applications
+     */
+    public String homeShard(Long userId) {
+        String assigned = assignments.get(userId);
+        return assigned != null ? assigned : ring.shardFor(userId);
+    }
+    
+    /**
+     * Pin a user to a shard, or back to the ring when it is their ring shard
+     */
+    public void assign(Long userId, String shard) {
+        if (!ring.getShards().contains(shard)) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        
+        directory.update("DELETE FROM user_shard_assignments WHERE user_id = ?", userId);
+        if (shard.equals(ring.shardFor(userId))) {
+            assignments.remove(userId);
+        } else {
+            directory.update("INSERT INTO user_shard_assignments (user_id, shard) VALUES (?, ?)", userId, shard);
+            assignments.put(userId, shard);
+        }
+    }
+    
+    public String getDirectoryShard() {
+        return directoryShard;
+    }
+    
+    public Set<String> getShards() {
+        return ring.getShards();
+    }
+    
+    /**
+     * Mark a user as being moved; returns false if a move is already running
+     */
+    boolean startMove(Long userId) {
+        return moving.add(userId);
+    }
+    
+    void finishMove(Long userId) {
+        moving.remove(userId);
+    }
+    
+    /**
+     * Requests for a user being moved are rejected so no write is lost
+     */
+    public boolean isMoving(Long userId) {
+        return moving.contains(userId);
+    }
+    
+    /**
+     * Count a request for the user as in flight; returns false, counting nothing, while the user is moved
+     * The count is raised before the move flag is read, so a move starting at the same time
+     * either waits for this request or this request sees the move
+     */
+    public boolean enter(Long userId) {
+        inFlight.merge(userId, 1, Integer::sum);
+        if (moving.contains(userId)) {
+            exit(userId);
+            return false;
+        }
+        return true;
+    }
+    
+    public void exit(Long userId) {
+        inFlight.computeIfPresent(userId, (id, count) -> count == 1 ? null : count - 1);
+    }
+    
+    /**
+     * Wait for the user's in-flight requests to finish; returns false if some are still running after the timeout
+     */
+    boolean awaitIdle(Long userId, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.containsKey(userId)) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}
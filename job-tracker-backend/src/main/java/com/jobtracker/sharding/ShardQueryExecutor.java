@@ -0,0 +1,91 @@
+package com.jobtracker.sharding;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs read-only work against specific shards
+ * Each unit of work gets its own virtual thread and transaction, so it never
+ * reuses the calling thread's connection (which belongs to another shard)
+ * Fan-out queries run on all shards in parallel
+ */
+public class ShardQueryExecutor implements AutoCloseable {
+    
+    private final ShardDirectory directory;
+    
+    private final TransactionTemplate readOnlyTx;
+    
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    public ShardQueryExecutor(ShardDirectory directory, PlatformTransactionManager transactionManager) {
+        this.directory = directory;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+    
+    /**
+     * Run a query on every shard in parallel; results keyed by shard name
+     */
+    public <T> Map<String, T> onAllShards(Supplier<T> query) {
+        Map<String, Future<T>> futures = new LinkedHashMap<>();
+        for (String shard : directory.getShards()) {
+            futures.put(shard, executor.submit(() -> run(shard, query)));
+        }
+        
+        Map<String, T> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<T>> entry : futures.entrySet()) {
+            results.put(entry.getKey(), await(entry.getValue()));
+        }
+        return results;
+    }
+    
+    /**
+     * Run a query on the shard holding the user's job applications
+     */
+    public <T> T onUserShard(Long userId, Supplier<T> query) {
+        String shard = directory.homeShard(userId);
+        return await(executor.submit(() -> run(shard, query)));
+    }
+    
+    /**
+     * Results of onAllShards flattened into one list
+     */
+    public static <T> List<T> flatten(Map<String, List<T>> results) {
+        List<T> all = new ArrayList<>();
+        results.values().forEach(all::addAll);
+        return all;
+    }
+    
+    private <T> T run(String shard, Supplier<T> query) {
+        return ShardContext.call(shard, () -> readOnlyTx.execute(status -> query.get()));
+    }
+    
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard query", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Shard query failed", ex.getCause());
+        }
+    }
+    
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
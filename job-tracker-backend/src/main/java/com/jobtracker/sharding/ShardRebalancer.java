@@ -0,0 +1,178 @@
+package com.jobtracker.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies users and their rows between shards over plain JDBC
+ * Every shard keeps a copy of the users row of each user living on it (job_applications
+ * references it); the directory shard's row is the source of truth
+ * Single node only: moves are coordinated through ShardDirectory's in-memory state
+ */
+public class ShardRebalancer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+    
+    // User-scoped tables moved with the user, in insert order, with their user id column
+    private static final Map<String, String> USER_TABLES = new LinkedHashMap<>();
+    
+    static {
+        USER_TABLES.put("job_applications", "user_id");
+        USER_TABLES.put("job_applications_archive", "user_id");
+        USER_TABLES.put("job_application_tombstones", "user_id");
+        USER_TABLES.put("attachments", "user_id");
+        USER_TABLES.put("job_application_attachments", "user_id");
+        USER_TABLES.put("job_application_tags", "user_id");
+    }
+    
+    private final ShardDirectory directory;
+    
+    private final ShardRoutingDataSource shards;
+    
+    // How long a move waits for the user's in-flight requests
+    private final Duration drainTimeout;
+    
+    public ShardRebalancer(ShardDirectory directory, ShardRoutingDataSource shards, Duration drainTimeout) {
+        this.directory = directory;
+        this.shards = shards;
+        this.drainTimeout = drainTimeout;
+    }
+    
+    /**
+     * Copy the user's directory row to their home shard (insert or update)
+     * Called after registration and profile changes
+     */
+    public void syncUser(Long userId) {
+        copyUser(userId, directory.homeShard(userId));
+    }
+    
+    /**
+     * Move one user's rows to another shard
+     * Rows are copied in one transaction on the target, the user is then pinned to it,
+     * and only then are the source rows deleted; a failure before the pin leaves the
+     * user on the source shard. New requests for the user are rejected while it runs,
+     * and copying starts only once the requests already running have finished
+     * Returns the number of rows moved
+     */
+    public int moveUser(Long userId, String target) {
+        String source = directory.homeShard(userId);
+        shards.getShard(target);
+        if (source.equals(target)) {
+            return 0;
+        }
+        if (!directory.startMove(userId)) {
+            throw new IllegalStateException("User " + userId + " is already being moved");
+        }
+        
+        try {
+            if (!directory.awaitIdle(userId, drainTimeout)) {
+                throw new IllegalStateException("Requests for user " + userId + " did not finish within " + drainTimeout);
+            }
+            copyUser(userId, target);
+            int moved = copyRows(userId, source, target);
+            directory.assign(userId, target);
+            deleteRows(userId, source);
+            
+            logger.info("Moved user {} ({} rows) from {} to {}", userId, moved, source, target);
+            return moved;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while moving user " + userId, ex);
+        } finally {
+            directory.finishMove(userId);
+        }
+    }
+    
+    private void copyUser(Long userId, String shard) {
+        if (shard.equals(directory.getDirectoryShard())) {
+            return;
+        }
+        
+        List<Map<String, Object>> rows = jdbc(directory.getDirectoryShard())
+                .queryForList("SELECT * FROM users WHERE id = ?", userId);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("User not found with id: " + userId);
+        }
+        
+        Map<String, Object> row = rows.get(0);
+        JdbcTemplate target = jdbc(shard);
+        List<String> columns = new ArrayList<>(row.keySet());
+        columns.removeIf("id"::equalsIgnoreCase);
+        
+        List<Object> values = new ArrayList<>();
+        columns.forEach(column -> values.add(row.get(column)));
+        values.add(userId);
+        
+        String assignments = String.join(" = ?, ", columns) + " = ?";
+        if (target.update("UPDATE users SET " + assignments + " WHERE id = ?", values.toArray()) == 0) {
+            insert(target, "users", List.of(row));
+        }
+    }
+    
+    private int copyRows(Long userId, String source, String target) {
+        JdbcTemplate from = jdbc(source);
+        JdbcTemplate to = jdbc(target);
+        
+        return transaction(target).execute(status -> {
+            int copied = 0;
+            for (Map.Entry<String, String> table : USER_TABLES.entrySet()) {
+                String where = " WHERE " + table.getValue() + " = ?";
+                // Leftovers of an earlier, failed move
+                to.update("DELETE FROM " + table.getKey() + where, userId);
+                
+                List<Map<String, Object>> rows = from.queryForList("SELECT * FROM " + table.getKey() + where, userId);
+                insert(to, table.getKey(), rows);
+                copied += rows.size();
+            }
+            return copied;
+        });
+    }
+    
+    private void deleteRows(Long userId, String source) {
+        JdbcTemplate from = jdbc(source);
+        List<String> tables = new ArrayList<>(USER_TABLES.keySet());
+        
+        transaction(source).executeWithoutResult(status -> {
+            for (int i = tables.size() - 1; i >= 0; i--) {
+                from.update("DELETE FROM " + tables.get(i) + " WHERE " + USER_TABLES.get(tables.get(i)) + " = ?", userId);
+            }
+            if (!source.equals(directory.getDirectoryShard())) {
+                from.update("DELETE FROM users WHERE id = ?", userId);
+            }
+        });
+    }
+    
+    private void insert(JdbcTemplate target, String table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String placeholders = String.join(", ", columns.stream().map(column -> "?").toList());
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")";
+        
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            batch.add(columns.stream().map(row::get).toArray());
+        }
+        target.batchUpdate(sql, batch);
+    }
+    
+    private JdbcTemplate jdbc(String shard) {
+        return new JdbcTemplate(shards.getShard(shard));
+    }
+    
+    private TransactionTemplate transaction(String shard) {
+        return new TransactionTemplate(new DataSourceTransactionManager(shards.getShard(shard)));
+    }
+}
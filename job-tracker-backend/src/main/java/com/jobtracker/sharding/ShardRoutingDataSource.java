@@ -0,0 +1,40 @@
+package com.jobtracker.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes connections to the shard set in ShardContext, or to the directory shard
+ * Unknown shard names fail instead of silently using the directory
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+    
+    private final Map<String, DataSource> shards;
+    
+    public ShardRoutingDataSource(Map<String, DataSource> shards, String directoryShard) {
+        this.shards = Map.copyOf(shards);
+        
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(directoryShard));
+        setLenientFallback(false);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+    
+    /**
+     * Connection pool of a single shard, bypassing the context
+     */
+    public DataSource getShard(String shard) {
+        DataSource dataSource = shards.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return dataSource;
+    }
+}
@@ -0,0 +1,43 @@
+package com.jobtracker.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * User-id sharding configuration (jobtracker.sharding.*)
+ * The spring.datasource.* database is the directory shard: it holds every user
+ * and is itself a member of the ring; the shards listed here are added to it
+ * Each shard needs the full schema and disjoint job_applications ids
+ * (e.g. MySQL auto_increment_increment / auto_increment_offset) so rows can move
+ */
+@Data
+@ConfigurationProperties(prefix = "jobtracker.sharding")
+public class ShardingProperties {
+    
+    // Route each user's job applications to their shard
+    private boolean enabled = false;
+    
+    // Ring name of the spring.datasource.* database
+    private String directoryShard = "shard-0";
+    
+    // Points per shard on the hash ring; more points spread users more evenly
+    private int virtualNodes = 128;
+    
+    // How long moving a user waits for their running requests to finish
+    private Duration moveDrainTimeout = Duration.ofSeconds(30);
+    
+    private List<Shard> shards = new ArrayList<>();
+    
+    @Data
+    public static class Shard {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
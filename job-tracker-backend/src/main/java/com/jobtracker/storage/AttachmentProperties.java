@@ -0,0 +1,26 @@
+package com.jobtracker.storage;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Attachment storage configuration (jobtracker.attachments.*)
+ * With several backend instances the root must be a shared volume
+ */
+@Data
+@ConfigurationProperties(prefix = "jobtracker.attachments")
+public class AttachmentProperties {
+    
+    // Directory of the content-addressed store
+    private String root = "data/attachments";
+    
+    // Largest file accepted per upload
+    private DataSize maxSize = DataSize.ofMegabytes(20);
+    
+    // Unreferenced content (and abandoned uploads) is only deleted once older than this,
+    // so an upload whose metadata is not committed yet is never collected
+    private Duration gcGrace = Duration.ofHours(1);
+}
@@ -0,0 +1,69 @@
+package com.jobtracker.storage;
+
+import com.jobtracker.exception.RangeNotSatisfiableException;
+
+/**
+ * Single byte range of a file, from a Range: bytes=... request header
+ * start and end are inclusive, as in Content-Range
+ */
+public record ByteRange(long start, long end) {
+    
+    /**
+     * Range covering a whole file of the given length
+     */
+    public static ByteRange full(long length) {
+        return new ByteRange(0, length - 1);
+    }
+    
+    /**
+     * Parse a Range header for a file of the given length
+     * Supports bytes=a-b, bytes=a- and bytes=-n (last n bytes). Returns null when the whole
+     * file should be sent: no header, another unit, several ranges or a malformed header,
+     * all of which a server may ignore
+     *
+     * @throws RangeNotSatisfiableException if the range starts past the end of the file
+     */
+    public static ByteRange parse(String header, long length) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        
+        try {
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0 || length == 0) {
+                    throw new RangeNotSatisfiableException(length);
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1);
+            }
+            
+            long start = Long.parseLong(spec.substring(0, dash));
+            long end = dash == spec.length() - 1 ? length - 1 : Long.parseLong(spec.substring(dash + 1));
+            if (start >= length) {
+                throw new RangeNotSatisfiableException(length);
+            }
+            if (end < start) {
+                return null;
+            }
+            return new ByteRange(start, Math.min(end, length - 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+    
+    public long length() {
+        return end - start + 1;
+    }
+    
+    /**
+     * Content-Range header value for this range of a file of the given length
+     */
+    public String contentRange(long length) {
+        return "bytes " + start + "-" + end + "/" + length;
+    }
+}
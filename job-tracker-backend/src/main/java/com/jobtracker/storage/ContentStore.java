@@ -0,0 +1,177 @@
+package com.jobtracker.storage;
+
+import com.jobtracker.exception.PayloadTooLargeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed file store: each distinct content is one file named by its SHA-256
+ * Uploads are streamed to a temporary file while hashing, then renamed into place under
+ * ab/cd/abcd...; content that is already stored is not written twice. Files are never
+ * modified, so they can be sent with FileChannel.transferTo (sendfile) and cached by hash.
+ * Content no attachment references is removed by collectGarbage
+ */
+public class ContentStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ContentStore.class);
+    
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final Path root;
+    private final Path uploads;
+    private final long maxSize;
+    
+    /**
+     * Result of storing content
+     *
+     * @param deduplicated whether the same content was already stored
+     */
+    public record StoredContent(String sha256, long size, boolean deduplicated) {
+    }
+    
+    public ContentStore(Path root, long maxSize) {
+        this.root = root.toAbsolutePath().normalize();
+        this.uploads = this.root.resolve("uploads");
+        this.maxSize = maxSize;
+        try {
+            Files.createDirectories(uploads);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create attachment store in " + this.root, ex);
+        }
+    }
+    
+    /**
+     * Store the stream's content, reading it to the end
+     * Memory use is one buffer, whatever the size
+     *
+     * @throws PayloadTooLargeException if the content is larger than the maximum size
+     */
+    public StoredContent store(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        Path upload = Files.createTempFile(uploads, "upload-", ".tmp");
+        try {
+            long size = 0;
+            try (FileChannel out = FileChannel.open(upload, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new PayloadTooLargeException("Attachments may be at most " + maxSize + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        out.write(chunk);
+                    }
+                }
+                out.force(false);
+            }
+            
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = path(sha256);
+            if (Files.exists(target)) {
+                // Keep it out of garbage collection until the new reference is committed
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                return new StoredContent(sha256, size, true);
+            }
+            
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(upload, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException ex) {
+                // Same content uploaded concurrently
+                return new StoredContent(sha256, size, true);
+            }
+            return new StoredContent(sha256, size, false);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+    
+    /**
+     * File holding the content with the given hash
+     */
+    public Path path(String sha256) {
+        if (!SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 hash: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+    
+    /**
+     * Send count bytes of the content from position to the target channel without copying
+     * them through the heap; to a socket or file this is a sendfile/copy_file_range call
+     * Returns the number of bytes sent
+     */
+    public long transferTo(String sha256, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel in = FileChannel.open(path(sha256), StandardOpenOption.READ)) {
+            long sent = 0;
+            while (sent < count) {
+                long n = in.transferTo(position + sent, count - sent, target);
+                if (n <= 0) {
+                    break;
+                }
+                sent += n;
+            }
+            return sent;
+        }
+    }
+    
+    /**
+     * Delete stored content whose hash is not referenced, and abandoned uploads,
+     * once older than the grace period
+     * Returns the number of files deleted
+     */
+    public int collectGarbage(Set<String> referenced, Duration grace) throws IOException {
+        Instant cutoff = Instant.now().minus(grace);
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).toList();
+        }
+        
+        int deleted = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            boolean garbage = file.startsWith(uploads) || (SHA256.matcher(name).matches() && !referenced.contains(name));
+            if (garbage && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                deleted++;
+            }
+        }
+        
+        logger.info("Deleted {} unreferenced attachment files", deleted);
+        return deleted;
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.jobtracker.tags;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Compressed, immutable set of application ids in the style of a Roaring bitmap
+ * Ids are split into a high part (id >>> 16) and a 16-bit low part. Every high part present
+ * has a container of its low parts: a sorted char array while it holds at most 4096 values,
+ * a 65536-bit bitmap above that. A user's ids are spread over the global id sequence, so most
+ * containers are small arrays at about 2 bytes per id; dense ranges cost 1 bit per id.
+ * Intersections and unions go container by container and skip high parts only one side has
+ */
+public final class IdBitmap {
+    
+    public static final IdBitmap EMPTY = new IdBitmap(new long[0], new Object[0], 0);
+    
+    // Largest array container; beyond this a bitmap (8 KB) is smaller
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+    
+    // Sorted high parts, and for each a char[] (sorted low parts) or long[] (bitmap)
+    private final long[] keys;
+    private final Object[] containers;
+    private final long cardinality;
+    
+    private IdBitmap(long[] keys, Object[] containers, long cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+    
+    /**
+     * Bitmap of the given ids; duplicates are ignored
+     */
+    public static IdBitmap of(long... ids) {
+        long[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        if (sorted.length > 0 && sorted[0] < 0) {
+            throw new IllegalArgumentException("Ids must not be negative: " + sorted[0]);
+        }
+        
+        List<Long> keys = new ArrayList<>();
+        List<Object> containers = new ArrayList<>();
+        long cardinality = 0;
+        int start = 0;
+        while (start < sorted.length) {
+            long key = sorted[start] >>> 16;
+            char[] low = new char[countWithKey(sorted, start, key)];
+            int size = 0;
+            int i = start;
+            for (; i < sorted.length && sorted[i] >>> 16 == key; i++) {
+                char value = (char) sorted[i];
+                if (size == 0 || low[size - 1] != value) {
+                    low[size++] = value;
+                }
+            }
+            keys.add(key);
+            containers.add(fit(Arrays.copyOf(low, size)));
+            cardinality += size;
+            start = i;
+        }
+        return build(keys, containers, cardinality);
+    }
+    
+    public long cardinality() {
+        return cardinality;
+    }
+    
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+    
+    public boolean contains(long id) {
+        if (id < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, id >>> 16);
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) id;
+        return containers[index] instanceof char[] array
+            ? Arrays.binarySearch(array, low) >= 0
+            : (((long[]) containers[index])[low >>> 6] & (1L << low)) != 0;
+    }
+    
+    /**
+     * Ids in both bitmaps
+     */
+    public IdBitmap and(IdBitmap other) {
+        List<Long> keys = new ArrayList<>();
+        List<Object> containers = new ArrayList<>();
+        long cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < this.keys.length && j < other.keys.length) {
+            if (this.keys[i] < other.keys[j]) {
+                i++;
+            } else if (this.keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Object container = intersect(this.containers[i], other.containers[j]);
+                int size = size(container);
+                if (size > 0) {
+                    keys.add(this.keys[i]);
+                    containers.add(container);
+                    cardinality += size;
+                }
+                i++;
+                j++;
+            }
+        }
+        return build(keys, containers, cardinality);
+    }
+    
+    /**
+     * Ids in either bitmap
+     */
+    public IdBitmap or(IdBitmap other) {
+        List<Long> keys = new ArrayList<>();
+        List<Object> containers = new ArrayList<>();
+        long cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < this.keys.length || j < other.keys.length) {
+            Object container;
+            long key;
+            if (j == other.keys.length || (i < this.keys.length && this.keys[i] < other.keys[j])) {
+                key = this.keys[i];
+                container = this.containers[i++];
+            } else if (i == this.keys.length || this.keys[i] > other.keys[j]) {
+                key = other.keys[j];
+                container = other.containers[j++];
+            } else {
+                key = this.keys[i];
+                container = union(this.containers[i++], other.containers[j++]);
+            }
+            keys.add(key);
+            containers.add(container);
+            cardinality += size(container);
+        }
+        return build(keys, containers, cardinality);
+    }
+    
+    /**
+     * Call the action with every id, in ascending order
+     */
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            long high = keys[i] << 16;
+            if (containers[i] instanceof char[] array) {
+                for (char low : array) {
+                    action.accept(high | low);
+                }
+            } else {
+                long[] words = (long[]) containers[i];
+                for (int w = 0; w < words.length; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        action.accept(high | ((long) w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * All ids in ascending order
+     */
+    public List<Long> toList() {
+        List<Long> ids = new ArrayList<>((int) Math.min(cardinality, Integer.MAX_VALUE));
+        forEach(ids::add);
+        return ids;
+    }
+    
+    private static Object intersect(Object a, Object b) {
+        if (a instanceof char[] left && b instanceof char[] right) {
+            char[] result = new char[Math.min(left.length, right.length)];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < left.length && j < right.length) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    result[size++] = left[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, size);
+        }
+        if (a instanceof char[] || b instanceof char[]) {
+            char[] array = a instanceof char[] left ? left : (char[]) b;
+            long[] words = a instanceof long[] left ? left : (long[]) b;
+            char[] result = new char[array.length];
+            int size = 0;
+            for (char value : array) {
+                if ((words[value >>> 6] & (1L << value)) != 0) {
+                    result[size++] = value;
+                }
+            }
+            return Arrays.copyOf(result, size);
+        }
+        
+        long[] left = (long[]) a;
+        long[] right = (long[]) b;
+        long[] result = new long[BITMAP_WORDS];
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            result[w] = left[w] & right[w];
+        }
+        return fit(result);
+    }
+    
+    private static Object union(Object a, Object b) {
+        if (a instanceof char[] left && b instanceof char[] right) {
+            char[] result = new char[left.length + right.length];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < left.length || j < right.length) {
+                if (j == right.length || (i < left.length && left[i] < right[j])) {
+                    result[size++] = left[i++];
+                } else if (i == left.length || left[i] > right[j]) {
+                    result[size++] = right[j++];
+                } else {
+                    result[size++] = left[i++];
+                    j++;
+                }
+            }
+            return fit(Arrays.copyOf(result, size));
+        }
+        
+        long[] result = toBitmap(a);
+        if (b instanceof char[] array) {
+            for (char value : array) {
+                result[value >>> 6] |= 1L << value;
+            }
+        } else {
+            long[] words = (long[]) b;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                result[w] |= words[w];
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * The smaller representation of a container: array up to ARRAY_MAX values, bitmap above
+     */
+    private static Object fit(Object container) {
+        int size = size(container);
+        if (container instanceof char[] array) {
+            return size > ARRAY_MAX ? toBitmap(array) : array;
+        }
+        if (size > ARRAY_MAX) {
+            return container;
+        }
+        
+        char[] array = new char[size];
+        int n = 0;
+        long[] words = (long[]) container;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            long word = words[w];
+            while (word != 0) {
+                array[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return array;
+    }
+    
+    // Copy of the container as a bitmap
+    private static long[] toBitmap(Object container) {
+        if (container instanceof long[] words) {
+            return words.clone();
+        }
+        long[] words = new long[BITMAP_WORDS];
+        for (char value : (char[]) container) {
+            words[value >>> 6] |= 1L << value;
+        }
+        return words;
+    }
+    
+    private static int size(Object container) {
+        if (container instanceof char[] array) {
+            return array.length;
+        }
+        int size = 0;
+        for (long word : (long[]) container) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+    
+    private static int countWithKey(long[] sorted, int start, long key) {
+        int end = start;
+        while (end < sorted.length && sorted[end] >>> 16 == key) {
+            end++;
+        }
+        return end - start;
+    }
+    
+    private static IdBitmap build(List<Long> keys, List<Object> containers, long cardinality) {
+        if (keys.isEmpty()) {
+            return EMPTY;
+        }
+        long[] keyArray = new long[keys.size()];
+        for (int i = 0; i < keyArray.length; i++) {
+            keyArray[i] = keys.get(i);
+        }
+        return new IdBitmap(keyArray, containers.toArray(), cardinality);
+    }
+}
@@ -0,0 +1,57 @@
+package com.jobtracker.tags;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Tag filter of the job list: applications with all of the tags, or with any of them
+ * Tags are normalized (trimmed, lower case, inner whitespace collapsed), so equal filters
+ * compare equal and can be part of cache keys
+ */
+public record TagFilter(Set<String> tags, boolean matchAll) {
+    
+    public static final int MAX_TAG_LENGTH = 50;
+    
+    public TagFilter {
+        tags = Set.copyOf(tags);
+    }
+    
+    /**
+     * Filter from the request parameters, or null when no tags are given
+     *
+     * @param tags Comma-separated tags
+     * @param match "all" (default) or "any"
+     */
+    public static TagFilter parse(String tags, String match) {
+        if (tags == null || tags.isBlank()) {
+            return null;
+        }
+        boolean matchAll = match == null || match.equalsIgnoreCase("all");
+        if (!matchAll && !match.equalsIgnoreCase("any")) {
+            throw new IllegalArgumentException("tagMatch must be all or any");
+        }
+        List<String> normalized = normalize(Arrays.asList(tags.split(",")));
+        return normalized.isEmpty() ? null : new TagFilter(Set.copyOf(normalized), matchAll);
+    }
+    
+    /**
+     * Normalized, distinct, sorted tags; blank ones are dropped
+     */
+    public static List<String> normalize(Collection<String> tags) {
+        Set<String> normalized = new TreeSet<>();
+        for (String tag : tags) {
+            String value = tag == null ? "" : tag.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            if (value.length() > MAX_TAG_LENGTH) {
+                throw new IllegalArgumentException("Tags may be at most " + MAX_TAG_LENGTH + " characters: " + tag);
+            }
+            if (!value.isEmpty()) {
+                normalized.add(value);
+            }
+        }
+        return List.copyOf(normalized);
+    }
+}
@@ -0,0 +1,171 @@
+package com.jobtracker.tags;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobtracker.cache.UserDataVersions;
+import com.jobtracker.repository.JobApplicationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongFunction;
+
+/**
+ * Per-user index of tag membership: for every tag of the user, a bitmap of the ids of the
+ * applications (hot and archived) carrying it
+ * Tag filters are answered by intersecting (all) or uniting (any) bitmaps, smallest first,
+ * so the list query only sees the candidate ids. Snapshots are loaded with one query and
+ * kept until the user's data version changes, i.e. after the next write on any node.
+ * Counted in jobtracker.tags.index (result=hit|load)
+ */
+@Component
+public class TagIndex {
+    
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+    
+    @Autowired
+    private UserDataVersions userDataVersions;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Users whose snapshot is kept in memory
+    @Value("${jobtracker.tags.index.maximum-size:10000}")
+    private long maximumSize;
+    
+    private Cache<Long, Snapshot> snapshots;
+    
+    private Counter hits;
+    private Counter loads;
+    
+    private record Snapshot(long version, Map<String, IdBitmap> tags) {
+    }
+    
+    @PostConstruct
+    public void init() {
+        snapshots = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        hits = lookupCounter("hit");
+        loads = lookupCounter("load");
+    }
+    
+    /**
+     * Ids of the user's applications matching the filter
+     */
+    public IdBitmap match(Long userId, TagFilter filter) {
+        Map<String, IdBitmap> tags = snapshot(userId).tags();
+        List<IdBitmap> bitmaps = new ArrayList<>();
+        for (String tag : filter.tags()) {
+            IdBitmap bitmap = tags.getOrDefault(tag, IdBitmap.EMPTY);
+            if (filter.matchAll() && bitmap.isEmpty()) {
+                return IdBitmap.EMPTY;
+            }
+            bitmaps.add(bitmap);
+        }
+        if (bitmaps.isEmpty()) {
+            return IdBitmap.EMPTY;
+        }
+        // Smallest first: intersections only shrink, so they can stop once empty
+        bitmaps.sort(Comparator.comparingLong(IdBitmap::cardinality));
+        
+        IdBitmap result = bitmaps.get(0);
+        for (IdBitmap bitmap : bitmaps.subList(1, bitmaps.size())) {
+            if (!filter.matchAll()) {
+                result = result.or(bitmap);
+                continue;
+            }
+            result = result.and(bitmap);
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Tags of one of the user's applications, sorted
+     */
+    public List<String> tagsOf(Long userId, Long id) {
+        return lookup(userId).apply(id);
+    }
+    
+    /**
+     * Tags by application id (sorted, empty when none) from one snapshot of the user's tags,
+     * for callers that look up many applications one at a time
+     */
+    public LongFunction<List<String>> lookup(Long userId) {
+        Map<String, IdBitmap> tags = snapshot(userId).tags();
+        return id -> {
+            List<String> result = new ArrayList<>();
+            tags.forEach((tag, ids) -> {
+                if (ids.contains(id)) {
+                    result.add(tag);
+                }
+            });
+            return result;
+        };
+    }
+    
+    /**
+     * Tags of several of the user's applications, by id; ids without tags are absent
+     */
+    public Map<Long, List<String>> tagsOf(Long userId, List<Long> ids) {
+        Map<Long, List<String>> result = new HashMap<>();
+        snapshot(userId).tags().forEach((tag, members) -> {
+            for (Long id : ids) {
+                if (members.contains(id)) {
+                    result.computeIfAbsent(id, key -> new ArrayList<>()).add(tag);
+                }
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Every tag the user has, with the number of applications carrying it, sorted by tag
+     */
+    public Map<String, Long> counts(Long userId) {
+        Map<String, Long> counts = new TreeMap<>();
+        snapshot(userId).tags().forEach((tag, ids) -> counts.put(tag, ids.cardinality()));
+        return counts;
+    }
+    
+    private Snapshot snapshot(Long userId) {
+        // Read the version first: a write committed during the load moves it on, forcing a reload
+        long version = userDataVersions.current(userId);
+        Snapshot snapshot = snapshots.getIfPresent(userId);
+        if (snapshot != null && snapshot.version() == version) {
+            hits.increment();
+            return snapshot;
+        }
+        
+        loads.increment();
+        Map<String, List<Long>> ids = new HashMap<>();
+        for (Object[] row : jobApplicationRepository.findTagsByUserId(userId)) {
+            ids.computeIfAbsent((String) row[1], tag -> new ArrayList<>()).add(((Number) row[0]).longValue());
+        }
+        
+        // Sorted by tag, so tagsOf returns tags in order
+        Map<String, IdBitmap> tags = new TreeMap<>();
+        ids.forEach((tag, members) -> tags.put(tag, IdBitmap.of(members.stream().mapToLong(Long::longValue).toArray())));
+        snapshot = new Snapshot(version, tags);
+        snapshots.put(userId, snapshot);
+        return snapshot;
+    }
+    
+    private Counter lookupCounter(String result) {
+        return Counter.builder("jobtracker.tags.index")
+                .description("Tag index lookups answered from memory (hit) or after loading the user's tags (load)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,94 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Tables and indexes added after the V1 baseline: the archive table, delta sync tombstones,
+ * and the job_applications indexes the change feed and the archiver scan with
+ * Databases baselined at V1 from a ddl-auto=update schema may already have some of them,
+ * and neither MySQL nor H2 in MySQL mode has CREATE INDEX IF NOT EXISTS, so each object
+ * is looked up first and only created when missing
+ */
+public class V2__archive_and_delta_sync extends BaseJavaMigration {
+    
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        
+        try (Statement statement = connection.createStatement()) {
+            if (findTable(connection, "job_applications_archive") == null) {
+                statement.execute("CREATE TABLE job_applications_archive ("
+                        + "id BIGINT NOT NULL, "
+                        + "title VARCHAR(255) NOT NULL, "
+                        + "company VARCHAR(255) NOT NULL, "
+                        + "status ENUM('ACCEPTED', 'APPLIED', 'INTERVIEW', 'OFFER', 'REJECTED', 'SCREENING', 'WITHDRAWN') NOT NULL, "
+                        + "applied_date DATE NOT NULL, "
+                        + "deadline DATE, "
+                        + "notes TEXT, "
+                        + "user_id BIGINT NOT NULL, "
+                        + "created_at DATETIME(6) NOT NULL, "
+                        + "updated_at DATETIME(6) NOT NULL, "
+                        + "archived_at DATETIME(6) NOT NULL, "
+                        + "PRIMARY KEY (id)"
+                        + ") ENGINE=InnoDB");
+            }
+            if (findTable(connection, "job_application_tombstones") == null) {
+                statement.execute("CREATE TABLE job_application_tombstones ("
+                        + "id BIGINT NOT NULL, "
+                        + "user_id BIGINT NOT NULL, "
+                        + "deleted_at DATETIME(6) NOT NULL, "
+                        + "PRIMARY KEY (id)"
+                        + ") ENGINE=InnoDB");
+            }
+            
+            createIndex(connection, statement, "job_applications", "idx_user_updated_at", "user_id, updated_at");
+            createIndex(connection, statement, "job_applications", "idx_status_updated_at", "status, updated_at");
+            createIndex(connection, statement, "job_applications_archive", "idx_archive_user_id", "user_id");
+            createIndex(connection, statement, "job_application_tombstones", "idx_tombstone_user_deleted_at",
+                    "user_id, deleted_at");
+        }
+    }
+    
+    private void createIndex(Connection connection, Statement statement,
+                             String table, String index, String columns) throws SQLException {
+        if (!hasIndex(connection, findTable(connection, table), index)) {
+            statement.execute("CREATE INDEX " + index + " ON " + table + " (" + columns + ")");
+        }
+    }
+    
+    /**
+     * Table name as stored by the database (the case differs between databases), or null
+     */
+    private String findTable(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), null,
+                new String[] {"TABLE"})) {
+            while (tables.next()) {
+                if (tables.getString("TABLE_NAME").equalsIgnoreCase(table)) {
+                    return tables.getString("TABLE_NAME");
+                }
+            }
+        }
+        return null;
+    }
+    
+    private boolean hasIndex(Connection connection, String table, String index) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table,
+                false, false)) {
+            while (indexes.next()) {
+                if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update
+-- Databases that already have it are baselined at this version (spring.flyway.baseline-on-migrate)
+-- Kept to SQL that MySQL and H2 in MySQL mode both accept
+-- Only the original tables; everything added since is created by later versions
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role ENUM('ADMIN', 'USER') NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE job_applications (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255) NOT NULL,
+    company VARCHAR(255) NOT NULL,
+    status ENUM('ACCEPTED', 'APPLIED', 'INTERVIEW', 'OFFER', 'REJECTED', 'SCREENING', 'WITHDRAWN') NOT NULL,
+    applied_date DATE NOT NULL,
+    deadline DATE,
+    notes TEXT,
+    user_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_job_applications_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_user_id ON job_applications (user_id);
+CREATE INDEX idx_status ON job_applications (status);
+CREATE INDEX idx_applied_date ON job_applications (applied_date);
@@ -0,0 +1,28 @@
+-- Resumes, cover letters and other files users attach to their job applications
+-- File content lives in the content-addressed store (jobtracker.attachments.root), keyed by sha256;
+-- the database only keeps metadata and which applications each file is attached to.
+-- No foreign key to job_applications: archiving moves applications to job_applications_archive
+
+CREATE TABLE attachments (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    sha256 VARCHAR(64) NOT NULL,
+    filename VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_attachments_user_sha256 UNIQUE (user_id, sha256)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_attachments_sha256 ON attachments (sha256);
+
+CREATE TABLE job_application_attachments (
+    job_application_id BIGINT NOT NULL,
+    attachment_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (job_application_id, attachment_id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_job_application_attachments_attachment ON job_application_attachments (attachment_id);
+CREATE INDEX idx_job_application_attachments_user ON job_application_attachments (user_id);
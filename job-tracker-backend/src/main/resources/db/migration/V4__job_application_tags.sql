@@ -0,0 +1,11 @@
+-- Free-form tags on job applications (remote, referral, ...), stored normalized to lower case
+-- No foreign key to job_applications: tags stay with an application when it is archived
+
+CREATE TABLE job_application_tags (
+    job_application_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    tag VARCHAR(50) NOT NULL,
+    PRIMARY KEY (job_application_id, tag)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_job_application_tags_user_tag ON job_application_tags (user_id, tag);
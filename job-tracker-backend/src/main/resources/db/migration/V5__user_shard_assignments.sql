@@ -0,0 +1,7 @@
+-- Explicit home shards of users moved off their hash ring shard by the rebalancer
+-- Only read on the directory shard; created on every shard since all shards share the migrations
+
+CREATE TABLE user_shard_assignments (
+    user_id BIGINT NOT NULL PRIMARY KEY,
+    shard VARCHAR(64) NOT NULL
+) ENGINE=InnoDB;
@@ -0,0 +1,83 @@
+package com.jobtracker.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The breaker opens on failed or slow calls, rejects while open and closes after a good probe
+ */
+class CircuitBreakerTests {
+
+	private final AtomicLong now = new AtomicLong();
+
+	private final CircuitBreaker breaker = new CircuitBreaker("test", settings(),
+		ex -> ex instanceof DataAccessResourceFailureException, new SimpleMeterRegistry(), now::get);
+
+	@Test
+	void opensOnFailuresAndClosesAfterSuccessfulProbe() {
+		breaker.execute(() -> 1);
+		failOnce();
+		failOnce();
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+		failOnce();
+
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThatThrownBy(() -> breaker.execute(() -> 1))
+			.isInstanceOf(CallNotPermittedException.class)
+			.extracting(ex -> ((CallNotPermittedException) ex).getRetryAfter())
+			.isEqualTo(Duration.ofSeconds(30));
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+		assertThat(breaker.isCallPermitted()).isTrue();
+		assertThat(breaker.execute(() -> 2)).isEqualTo(2);
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void opensOnSlowCallsAndReopensAfterSlowProbe() {
+		for (int i = 0; i < 2; i++) {
+			breaker.execute(() -> now.addAndGet(TimeUnit.SECONDS.toNanos(3)));
+		}
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+		breaker.execute(() -> now.addAndGet(TimeUnit.SECONDS.toNanos(3)));
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+	}
+
+	@Test
+	void otherExceptionsAreNotFailures() {
+		for (int i = 0; i < 5; i++) {
+			assertThatThrownBy(() -> breaker.execute(() -> {
+				throw new IllegalArgumentException("No property 'foo' found");
+			})).isInstanceOf(IllegalArgumentException.class);
+		}
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	private void failOnce() {
+		assertThatThrownBy(() -> breaker.execute(() -> {
+			throw new DataAccessResourceFailureException("Connection is not available");
+		})).isInstanceOf(DataAccessResourceFailureException.class);
+	}
+
+	private static ResultCacheProperties.Breaker settings() {
+		ResultCacheProperties.Breaker settings = new ResultCacheProperties.Breaker();
+		settings.setWindowSize(4);
+		settings.setMinimumCalls(2);
+		settings.setFailureRateThreshold(0.75);
+		settings.setSlowCallDuration(Duration.ofSeconds(2));
+		settings.setSlowCallRateThreshold(0.75);
+		settings.setOpenDuration(Duration.ofSeconds(30));
+		return settings;
+	}
+
+}
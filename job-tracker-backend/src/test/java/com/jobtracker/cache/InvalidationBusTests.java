@@ -0,0 +1,79 @@
+package com.jobtracker.cache;
+
+import com.jobtracker.cache.InvalidationMessage.Entity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two nodes sharing a stand-in broker: invalidations reach the other node, coalesced and batched
+ */
+class InvalidationBusTests {
+
+	private final List<String> payloads = new ArrayList<>();
+
+	private final InMemoryInvalidationTransport broker = new InMemoryInvalidationTransport();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final InvalidationBus nodeA = new InvalidationBus(broker, 3, meterRegistry);
+
+	private final InvalidationBus nodeB = new InvalidationBus(broker, 3, new SimpleMeterRegistry());
+
+	@Test
+	void otherNodesReceiveCoalescedInvalidations() {
+		broker.subscribe(payloads::add);
+		List<Long> evictedOnA = new ArrayList<>();
+		List<Long> evictedOnB = new ArrayList<>();
+		nodeA.subscribe(Entity.JOB_APPLICATION, evictedOnA::add);
+		nodeB.subscribe(Entity.JOB_APPLICATION, evictedOnB::add);
+		List<Long> usersEvictedOnB = new ArrayList<>();
+		nodeB.subscribe(Entity.USER, usersEvictedOnB::add);
+
+		nodeA.publish(Entity.JOB_APPLICATION, 42L);
+		nodeA.publish(Entity.JOB_APPLICATION, 42L);
+		nodeA.publish(Entity.USER, 42L);
+		assertThat(payloads).isEmpty();
+
+		nodeA.flush();
+
+		assertThat(payloads).hasSize(1);
+		assertThat(evictedOnB).containsExactly(42L);
+		assertThat(usersEvictedOnB).containsExactly(42L);
+		// A node does not evict on its own invalidations
+		assertThat(evictedOnA).isEmpty();
+		assertThat(meterRegistry.get("jobtracker.invalidation.messages").tag("stage", "published").counter().count())
+			.isEqualTo(3);
+		assertThat(meterRegistry.get("jobtracker.invalidation.messages").tag("stage", "sent").counter().count())
+			.isEqualTo(2);
+	}
+
+	@Test
+	void fullBatchIsSentWithoutWaitingForFlush() {
+		broker.subscribe(payloads::add);
+
+		for (long userId = 1; userId <= 3; userId++) {
+			nodeA.publish(Entity.JOB_APPLICATION, userId);
+		}
+
+		assertThat(payloads).hasSize(1);
+		assertThat(payloads.getFirst().substring(payloads.getFirst().indexOf('|') + 1).split(",")).hasSize(3);
+		nodeA.flush();
+		assertThat(payloads).hasSize(1);
+	}
+
+	@Test
+	void messagesRoundTrip() {
+		InvalidationMessage message = new InvalidationMessage(Entity.USER, 7L);
+
+		assertThat(message.encode()).isEqualTo("U:7");
+		assertThat(InvalidationMessage.decode("U:7")).isEqualTo(message);
+		assertThatThrownBy(() -> InvalidationMessage.decode("U:7:18")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.jobtracker.cache;
+
+import com.jobtracker.cache.InvalidationMessage.Entity;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.pubsub.RedisPubSubListener;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.lettuce.core.pubsub.api.sync.RedisPubSubCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Batches are published on the configured channel and only that channel's messages reach the bus
+ * The Redis connections are mocked; publishing loops back to the registered listeners like the broker would
+ */
+@SuppressWarnings("unchecked")
+class RedisInvalidationTransportTests {
+
+	private static final String CHANNEL = "jobtracker.invalidation";
+
+	private final StatefulRedisConnection<String, String> connection = mock(StatefulRedisConnection.class);
+
+	private final RedisAsyncCommands<String, String> commands = mock(RedisAsyncCommands.class);
+
+	private final StatefulRedisPubSubConnection<String, String> subscription = mock(StatefulRedisPubSubConnection.class);
+
+	private final RedisPubSubCommands<String, String> subscriptionCommands = mock(RedisPubSubCommands.class);
+
+	private final List<RedisPubSubListener<String, String>> listeners = new ArrayList<>();
+
+	@Test
+	void batchesTravelOverTheChannelToOtherNodes() {
+		RedisInvalidationTransport transportA = transport();
+		RedisInvalidationTransport transportB = transport();
+		InvalidationBus nodeA = new InvalidationBus(transportA, 10, new SimpleMeterRegistry());
+		InvalidationBus nodeB = new InvalidationBus(transportB, 10, new SimpleMeterRegistry());
+		List<Long> evictedOnB = new ArrayList<>();
+		nodeB.subscribe(Entity.JOB_APPLICATION, evictedOnB::add);
+		List<Long> usersEvictedOnB = new ArrayList<>();
+		nodeB.subscribe(Entity.USER, usersEvictedOnB::add);
+
+		nodeA.publish(Entity.JOB_APPLICATION, 42L);
+		nodeA.publish(Entity.USER, 7L);
+		nodeA.flush();
+
+		verify(subscriptionCommands, times(2)).subscribe(CHANNEL);
+		assertThat(evictedOnB).containsExactly(42L);
+		assertThat(usersEvictedOnB).containsExactly(7L);
+	}
+
+	@Test
+	void messagesOnOtherChannelsAreIgnored() {
+		RedisInvalidationTransport transport = transport();
+		List<String> received = new ArrayList<>();
+		transport.subscribe(received::add);
+
+		listeners.forEach(listener -> listener.message("other", "node|J:1"));
+		transport.send("node|J:2");
+
+		assertThat(received).containsExactly("node|J:2");
+	}
+
+	private RedisInvalidationTransport transport() {
+		RedisClient client = mock(RedisClient.class);
+		when(client.connect()).thenReturn(connection);
+		when(client.connectPubSub()).thenReturn(subscription);
+		when(connection.async()).thenReturn(commands);
+		when(subscription.sync()).thenReturn(subscriptionCommands);
+		doAnswer(invocation -> {
+			listeners.add(invocation.getArgument(0));
+			return null;
+		}).when(subscription).addListener(any(RedisPubSubListener.class));
+		doAnswer(invocation -> {
+			listeners.forEach(listener -> listener.message(invocation.getArgument(0), invocation.getArgument(1)));
+			return null;
+		}).when(commands).publish(anyString(), anyString());
+		return new RedisInvalidationTransport(client, CHANNEL);
+	}
+
+}
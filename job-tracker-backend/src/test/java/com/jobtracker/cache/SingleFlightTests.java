@@ -0,0 +1,128 @@
+package com.jobtracker.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Concurrent calls with the same key share one execution; different keys and later calls do not
+ */
+class SingleFlightTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+
+	@Test
+	void concurrentCallsWithTheSameKeyShareOneExecution() throws Exception {
+		AtomicInteger executions = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<Integer> leader = executor.submit(() -> singleFlight.execute("user-1", () -> {
+				started.countDown();
+				await(release);
+				return executions.incrementAndGet();
+			}));
+			started.await();
+
+			List<Future<Integer>> followers = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				followers.add(executor.submit(() -> singleFlight.execute("user-1", executions::incrementAndGet)));
+			}
+			// A different key is not held up by the in-flight call
+			assertThat(singleFlight.execute("user-2", () -> 42)).isEqualTo(42);
+
+			waitForSharedCalls(3);
+			release.countDown();
+			assertThat(leader.get()).isEqualTo(1);
+			for (Future<Integer> follower : followers) {
+				assertThat(follower.get()).isEqualTo(1);
+			}
+		}
+
+		assertThat(executions.get()).isEqualTo(1);
+		// Nothing is cached once the call has completed
+		assertThat(singleFlight.execute("user-1", executions::incrementAndGet)).isEqualTo(2);
+		assertThat(meterRegistry.get("jobtracker.singleflight.calls").tag("result", "shared").functionCounter().count())
+			.isEqualTo(3);
+		assertThat(meterRegistry.get("jobtracker.singleflight.dedup.ratio").gauge().value()).isEqualTo(0.5);
+	}
+
+	@Test
+	void waitingCallersGetTheLoadersException() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<Integer> leader = executor.submit(() -> singleFlight.execute("user-1", () -> {
+				started.countDown();
+				await(release);
+				throw new IllegalArgumentException("No property 'foo' found");
+			}));
+			started.await();
+			Future<Integer> follower = executor.submit(() -> singleFlight.execute("user-1", () -> 1));
+
+			waitForSharedCalls(1);
+			release.countDown();
+			assertThatThrownBy(leader::get).hasCauseInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(follower::get).hasCauseInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Test
+	void waitingCallerRunsTheLoaderAfterTheWaitTimeout() throws Exception {
+		SingleFlight<String, Integer> impatient = new SingleFlight<>("impatient", Duration.ofMillis(50), meterRegistry);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<Integer> leader = executor.submit(() -> impatient.execute("user-1", () -> {
+				started.countDown();
+				await(release);
+				return 1;
+			}));
+			started.await();
+
+			// The stuck call does not hold this one up
+			assertThat(impatient.execute("user-1", () -> 2)).isEqualTo(2);
+			release.countDown();
+			assertThat(leader.get()).isEqualTo(1);
+		}
+
+		assertThat(meterRegistry.get("jobtracker.singleflight.calls").tag("name", "impatient").tag("result", "timed_out")
+			.functionCounter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("jobtracker.singleflight.calls").tag("name", "impatient").tag("result", "shared")
+			.functionCounter().count()).isZero();
+	}
+
+	private void waitForSharedCalls(int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (meterRegistry.get("jobtracker.singleflight.calls").tag("result", "shared").functionCounter().count() < count
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.jobtracker.cache;
+
+import com.jobtracker.cache.StaleWhileRevalidateCache.Freshness;
+import com.jobtracker.cache.StaleWhileRevalidateCache.Result;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Fresh results are served as is, stale ones while refreshing, and cached ones only while the database is down
+ */
+class StaleWhileRevalidateCacheTests {
+
+	private final AtomicLong now = new AtomicLong();
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private final List<Runnable> refreshes = new ArrayList<>();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final CircuitBreaker breaker = new CircuitBreaker("test", breakerSettings(),
+		ex -> ex instanceof DataAccessResourceFailureException, meterRegistry, now::get);
+
+	private final StaleWhileRevalidateCache<String, Integer> cache = new StaleWhileRevalidateCache<>(
+		"test", properties(), breaker, refreshes::add, meterRegistry, now::get);
+
+	@Test
+	void servesStaleResultWhileRefreshingInBackground() {
+		assertThat(cache.get("user-1", 0, loads::incrementAndGet)).isEqualTo(Result.loaded(1));
+
+		advanceSeconds(2);
+		assertThat(cache.get("user-1", 0, loads::incrementAndGet).freshness()).isEqualTo(Freshness.FRESH);
+
+		advanceSeconds(4);
+		Result<Integer> stale = cache.get("user-1", 0, loads::incrementAndGet);
+		assertThat(stale.value()).isEqualTo(1);
+		assertThat(stale.freshness()).isEqualTo(Freshness.STALE);
+		assertThat(stale.age()).isEqualTo(Duration.ofSeconds(6));
+		// Only one refresh per key at a time
+		cache.get("user-1", 0, loads::incrementAndGet);
+		assertThat(refreshes).hasSize(1);
+
+		refreshes.removeFirst().run();
+		assertThat(cache.get("user-1", 0, loads::incrementAndGet)).isEqualTo(new Result<>(2, Freshness.FRESH, Duration.ZERO));
+	}
+
+	@Test
+	void newDataVersionIsLoadedRightAway() {
+		cache.get("user-1", 0, loads::incrementAndGet);
+
+		assertThat(cache.get("user-1", 1, loads::incrementAndGet)).isEqualTo(Result.loaded(2));
+		assertThat(refreshes).isEmpty();
+		assertThat(meterRegistry.get("jobtracker.result_cache.requests").tag("result", "miss").counter().count())
+			.isEqualTo(2);
+	}
+
+	@Test
+	void servesCachedResultsOnlyWhileDatabaseIsDown() {
+		cache.get("user-1", 0, loads::incrementAndGet);
+
+		// A failed load falls back to the cached result, and opens the breaker
+		Result<Integer> fallback = cache.get("user-1", 1, this::failingLoad);
+		assertThat(fallback.value()).isEqualTo(1);
+		assertThat(fallback.freshness()).isEqualTo(Freshness.CACHE_ONLY);
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+		advanceSeconds(10);
+		assertThat(cache.get("user-1", 0, loads::incrementAndGet).freshness()).isEqualTo(Freshness.CACHE_ONLY);
+		assertThat(cache.get("user-1", 1, loads::incrementAndGet).freshness()).isEqualTo(Freshness.CACHE_ONLY);
+		assertThat(refreshes).isEmpty();
+		assertThatThrownBy(() -> cache.get("user-2", 0, loads::incrementAndGet))
+			.isInstanceOf(CallNotPermittedException.class);
+		assertThat(loads.get()).isEqualTo(1);
+	}
+
+	private Integer failingLoad() {
+		throw new DataAccessResourceFailureException("Connection is not available");
+	}
+
+	private void advanceSeconds(long seconds) {
+		now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+	}
+
+	private static ResultCacheProperties properties() {
+		ResultCacheProperties properties = new ResultCacheProperties();
+		properties.setFreshFor(Duration.ofSeconds(5));
+		properties.setMaxStale(Duration.ofMinutes(5));
+		return properties;
+	}
+
+	private static ResultCacheProperties.Breaker breakerSettings() {
+		ResultCacheProperties.Breaker settings = new ResultCacheProperties.Breaker();
+		settings.setMinimumCalls(1);
+		settings.setFailureRateThreshold(0.5);
+		settings.setOpenDuration(Duration.ofSeconds(30));
+		return settings;
+	}
+
+}
@@ -0,0 +1,151 @@
+package com.jobtracker.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.jobtracker.support.TestApi.create;
+import static com.jobtracker.support.TestApi.job;
+import static com.jobtracker.support.TestApi.register;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Attachments are deduplicated per user, reusable across applications and downloadable by range
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AttachmentTests {
+
+	private static final String RESUME = "%PDF-1.7 resume of a backend engineer";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void sameFileIsUploadedOnceAndAttachedToSeveralApplications() throws Exception {
+		String token = register(mockMvc, "attachment-user");
+		long first = create(mockMvc, token, job("Backend Engineer"));
+		long second = create(mockMvc, token, job("Platform Engineer"));
+
+		String uploaded = upload(token, "resume.pdf", RESUME)
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString();
+		long attachmentId = ((Number) JsonPath.read(uploaded, "$.id")).longValue();
+		assertThat((String) JsonPath.read(uploaded, "$.filename")).isEqualTo("resume.pdf");
+		assertThat(((Number) JsonPath.read(uploaded, "$.sizeBytes")).longValue()).isEqualTo(RESUME.length());
+
+		// Re-uploading the same content returns the existing attachment
+		String again = upload(token, "resume-copy.pdf", RESUME)
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		assertThat(((Number) JsonPath.read(again, "$.id")).longValue()).isEqualTo(attachmentId);
+
+		for (long job : List.of(first, second)) {
+			mockMvc.perform(put("/api/jobs/" + job + "/attachments/" + attachmentId)
+					.header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk());
+		}
+		assertThat(attachmentIds(token, first)).containsExactly(attachmentId);
+		assertThat(attachmentIds(token, second)).containsExactly(attachmentId);
+
+		// Deleting an application detaches the file but keeps it in the library
+		mockMvc.perform(delete("/api/jobs/" + first).header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk());
+		assertThat(attachmentIds(token, first)).isEmpty();
+		String library = mockMvc.perform(get("/api/attachments").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		assertThat((List<?>) JsonPath.read(library, "$")).hasSize(1);
+	}
+
+	@Test
+	void downloadsWholeFileOrRequestedRange() throws Exception {
+		String token = register(mockMvc, "attachment-download");
+		String uploaded = upload(token, "resume.pdf", RESUME)
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString();
+		String content = "/api/attachments/" + JsonPath.read(uploaded, "$.id") + "/content";
+		String etag = "\"" + JsonPath.read(uploaded, "$.sha256") + "\"";
+
+		MvcResult full = mockMvc.perform(get(content).header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(header().string("ETag", etag))
+			.andExpect(header().string("Accept-Ranges", "bytes"))
+			.andReturn();
+		assertThat(full.getResponse().getContentAsString(StandardCharsets.UTF_8)).isEqualTo(RESUME);
+		assertThat(full.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_PDF_VALUE);
+		assertThat(full.getResponse().getHeader("Content-Disposition")).contains("resume.pdf");
+
+		MvcResult partial = mockMvc.perform(get(content).header("Authorization", "Bearer " + token)
+				.header("Range", "bytes=0-7"))
+			.andExpect(status().isPartialContent())
+			.andExpect(header().string("Content-Range", "bytes 0-7/" + RESUME.length()))
+			.andReturn();
+		assertThat(partial.getResponse().getContentAsString()).isEqualTo("%PDF-1.7");
+
+		MvcResult suffix = mockMvc.perform(get(content).header("Authorization", "Bearer " + token)
+				.header("Range", "bytes=-8"))
+			.andExpect(status().isPartialContent())
+			.andReturn();
+		assertThat(suffix.getResponse().getContentAsString()).isEqualTo("engineer");
+
+		mockMvc.perform(get(content).header("Authorization", "Bearer " + token)
+				.header("Range", "bytes=1000-"))
+			.andExpect(status().isRequestedRangeNotSatisfiable())
+			.andExpect(header().string("Content-Range", "bytes */" + RESUME.length()));
+
+		mockMvc.perform(get(content).header("Authorization", "Bearer " + token).header("If-None-Match", etag))
+			.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void otherUsersCannotReadOrAttachFiles() throws Exception {
+		String token = register(mockMvc, "attachment-owner");
+		String otherToken = register(mockMvc, "attachment-other");
+		long otherJob = create(mockMvc, otherToken, job("Data Engineer"));
+		String uploaded = upload(token, "cover-letter.txt", "Dear hiring manager")
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString();
+		Object attachmentId = JsonPath.read(uploaded, "$.id");
+
+		mockMvc.perform(get("/api/attachments/" + attachmentId + "/content")
+				.header("Authorization", "Bearer " + otherToken))
+			.andExpect(status().isNotFound());
+		mockMvc.perform(put("/api/jobs/" + otherJob + "/attachments/" + attachmentId)
+				.header("Authorization", "Bearer " + otherToken))
+			.andExpect(status().isNotFound());
+	}
+
+	private ResultActions upload(String token, String filename, String content) throws Exception {
+		return mockMvc.perform(post("/api/attachments").param("filename", filename)
+			.header("Authorization", "Bearer " + token)
+			.contentType(filename.endsWith(".pdf") ? MediaType.APPLICATION_PDF : MediaType.TEXT_PLAIN)
+			.content(content.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private List<Long> attachmentIds(String token, long job) throws Exception {
+		String response = mockMvc.perform(get("/api/jobs/" + job + "/attachments").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		List<Number> ids = JsonPath.read(response, "$[*].id");
+		return ids.stream().map(Number::longValue).toList();
+	}
+
+}
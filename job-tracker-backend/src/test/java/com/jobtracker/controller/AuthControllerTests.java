@@ -0,0 +1,108 @@
+package com.jobtracker.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jobtracker.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static com.jobtracker.support.TestApi.registration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Refresh tokens are exchanged for a new token pair once; rotated, expired and invalid tokens are rejected
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider tokenProvider;
+
+	@Value("${jwt.secret}")
+	private String jwtSecret;
+
+	@Test
+	void refreshReturnsNewTokenPair() throws Exception {
+		String refreshToken = JsonPath.read(registration(mockMvc, "refresh-user"), "$.refreshToken");
+
+		String response = refresh(refreshToken)
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.username").value("refresh-user"))
+			.andReturn().getResponse().getContentAsString();
+
+		String accessToken = JsonPath.read(response, "$.token");
+		assertThat((String) JsonPath.read(response, "$.refreshToken")).isNotEqualTo(refreshToken);
+		mockMvc.perform(get("/api/jobs").header("Authorization", "Bearer " + accessToken))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	void rotatedRefreshTokenIsRejected() throws Exception {
+		String refreshToken = JsonPath.read(registration(mockMvc, "refresh-reuse"), "$.refreshToken");
+		String rotated = JsonPath.read(refresh(refreshToken).andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString(), "$.refreshToken");
+
+		refresh(refreshToken)
+			.andExpect(status().isUnauthorized())
+			.andExpect(jsonPath("$.success").value(false));
+		refresh(rotated)
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	void expiredOrInvalidRefreshTokenIsRejected() throws Exception {
+		long userId = ((Number) JsonPath.read(registration(mockMvc, "refresh-expired"), "$.id")).longValue();
+		String expired = expiredTokenProvider().generateRefreshToken(userId, "refresh-expired");
+		String accessToken = JsonPath.read(registration(mockMvc, "refresh-access"), "$.token");
+
+		refresh(expired).andExpect(status().isUnauthorized());
+		refresh("not-a-jwt").andExpect(status().isUnauthorized());
+		// Access tokens are not accepted in place of a refresh token
+		refresh(accessToken).andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void refreshTokenOfMissingUserIsRejected() throws Exception {
+		String refreshToken = tokenProvider.generateRefreshToken(999_999L, "refresh-missing");
+
+		refresh(refreshToken)
+			.andExpect(status().isUnauthorized())
+			.andExpect(jsonPath("$.message").value("Invalid or expired refresh token"));
+	}
+
+	private ResultActions refresh(String refreshToken) throws Exception {
+		return mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+			.content("{\"refreshToken\":\"%s\"}".formatted(refreshToken)));
+	}
+
+	/**
+	 * Provider signing with the application's secret whose refresh tokens are already expired
+	 */
+	private JwtTokenProvider expiredTokenProvider() {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "jwtSecret", jwtSecret);
+		ReflectionTestUtils.setField(provider, "jwtExpirationMs", 60000L);
+		ReflectionTestUtils.setField(provider, "refreshExpirationMs", -1000L);
+		ReflectionTestUtils.setField(provider, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.invokeMethod(provider, "init");
+		return provider;
+	}
+
+}
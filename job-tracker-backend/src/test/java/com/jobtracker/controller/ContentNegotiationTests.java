@@ -0,0 +1,80 @@
+package com.jobtracker.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import static com.jobtracker.support.TestApi.register;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Job endpoints serve CBOR and Smile on request, with the same content as JSON
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ContentNegotiationTests {
+
+	private static final String JOB = """
+			{"title":"Backend Engineer","company":"Acme","status":"INTERVIEW","appliedDate":"2026-01-15","notes":"Referral"}
+			""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void binaryFormatsMatchJson() throws Exception {
+		String token = register(mockMvc, "wire-format-user");
+		String created = mockMvc.perform(post("/api/jobs").header("Authorization", "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON).content(JOB))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString();
+		long id = ((Number) JsonPath.read(created, "$.id")).longValue();
+
+		for (String uri : new String[] {"/api/jobs", "/api/jobs/" + id, "/api/jobs/stats"}) {
+			JsonNode json = read(uri, token, MediaType.APPLICATION_JSON_VALUE, JsonMapper.builder().build());
+
+			assertThat(read(uri, token, "application/cbor", new CBORMapper())).as(uri).isEqualTo(json);
+			assertThat(read(uri, token, "application/x-jackson-smile", new SmileMapper())).as(uri).isEqualTo(json);
+		}
+	}
+
+	@Test
+	void jsonRemainsTheDefault() throws Exception {
+		String token = register(mockMvc, "wire-default-user");
+
+		MvcResult result = mockMvc.perform(get("/api/jobs").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn();
+		assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+
+		result = mockMvc.perform(get("/api/jobs").header("Authorization", "Bearer " + token)
+				.accept("application/json, text/plain, */*"))
+			.andExpect(status().isOk())
+			.andReturn();
+		assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+	}
+
+	private JsonNode read(String uri, String token, String accept, ObjectMapper mapper) throws Exception {
+		MvcResult result = mockMvc.perform(get(uri).header("Authorization", "Bearer " + token).accept(accept))
+			.andExpect(status().isOk())
+			.andReturn();
+		assertThat(result.getResponse().getContentType()).isEqualTo(accept);
+		return mapper.readTree(result.getResponse().getContentAsByteArray());
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.jobtracker.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.jobtracker.support.TestApi.create;
+import static com.jobtracker.support.TestApi.job;
+import static com.jobtracker.support.TestApi.register;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The dashboard returns stats, recent applications and upcoming deadlines in one response
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DashboardTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void combinesStatsRecentApplicationsAndDeadlines() throws Exception {
+		String token = register(mockMvc, "dashboard-user");
+		LocalDate today = LocalDate.now();
+		long past = create(mockMvc, token, job("Past Deadline").status("APPLIED").deadline(today.minusDays(1)));
+		long later = create(mockMvc, token, job("Later Deadline").status("INTERVIEW").deadline(today.plusDays(10)));
+		long sooner = create(mockMvc, token, job("Sooner Deadline").status("APPLIED").deadline(today.plusDays(2)));
+		create(mockMvc, token, job("Closed").status("REJECTED").deadline(today.plusDays(1)));
+
+		String body = mockMvc.perform(get("/api/dashboard").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+
+		assertThat((Integer) JsonPath.read(body, "$.stats.total")).isEqualTo(4);
+		assertThat((Integer) JsonPath.read(body, "$.stats.rejected")).isEqualTo(1);
+		List<Number> recent = JsonPath.read(body, "$.recentApplications[*].id");
+		assertThat(recent).hasSize(4).first().extracting(Number::longValue).isNotEqualTo(past);
+		List<Number> deadlines = JsonPath.read(body, "$.upcomingDeadlines[*].id");
+		assertThat(deadlines).extracting(Number::longValue).containsExactly(sooner, later);
+
+		// Statements of the concurrent parts count towards the request
+		DistributionSummary statements = meterRegistry.find("hibernate.statements.per.request")
+			.tag("uri", "/api/dashboard")
+			.summary();
+		assertThat(statements.totalAmount() / statements.count()).isEqualTo(4);
+	}
+
+}
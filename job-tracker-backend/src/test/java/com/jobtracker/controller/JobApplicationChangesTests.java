@@ -0,0 +1,107 @@
+package com.jobtracker.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.jobtracker.support.TestApi.create;
+import static com.jobtracker.support.TestApi.job;
+import static com.jobtracker.support.TestApi.register;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Delta sync returns only what changed or was deleted since the cursor
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JobApplicationChangesTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void returnsChangedAndDeletedApplicationsSinceCursor() throws Exception {
+		String token = register(mockMvc, "changes-user");
+		String otherToken = register(mockMvc, "changes-other");
+		long kept = create(mockMvc, token, job("Backend Engineer"));
+		long deleted = create(mockMvc, token, job("Data Engineer"));
+		create(mockMvc, otherToken, job("Platform Engineer"));
+
+		LocalDateTime beforeChanges = LocalDateTime.now();
+		Thread.sleep(10);
+		mockMvc.perform(put("/api/jobs/" + kept).header("Authorization", "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON).content(job("Senior Backend Engineer").json()))
+			.andExpect(status().isOk());
+		mockMvc.perform(delete("/api/jobs/" + deleted).header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk());
+
+		String changes = changes(token, beforeChanges);
+		List<Number> changedIds = JsonPath.read(changes, "$.changed[*].id");
+		List<Number> deletedIds = JsonPath.read(changes, "$.deleted");
+		assertThat(changedIds).extracting(Number::longValue).containsExactly(kept);
+		assertThat(deletedIds).extracting(Number::longValue).containsExactly(deleted);
+		assertThat((String) JsonPath.read(changes, "$.changed[0].title")).isEqualTo("Senior Backend Engineer");
+		assertThat((Boolean) JsonPath.read(changes, "$.resync")).isFalse();
+
+		// The cursor lags behind now, so the next call may repeat recent changes but never misses one
+		LocalDateTime cursor = LocalDateTime.parse(JsonPath.read(changes, "$.cursor"));
+		assertThat(cursor).isBefore(LocalDateTime.now());
+		assertThat((List<?>) JsonPath.read(changes(token, LocalDateTime.now().plusMinutes(1)), "$.changed")).isEmpty();
+	}
+
+	@Test
+	void changesArePagedByLimit() throws Exception {
+		String token = register(mockMvc, "changes-paged");
+		LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+		long first = create(mockMvc, token, job("Backend Engineer"));
+		long second = create(mockMvc, token, job("Data Engineer"));
+		long third = create(mockMvc, token, job("Platform Engineer"));
+
+		String page = changes(token, start, 2);
+		List<Number> pageIds = JsonPath.read(page, "$.changed[*].id");
+		assertThat(pageIds).extracting(Number::longValue).containsExactly(first, second);
+		assertThat((Boolean) JsonPath.read(page, "$.hasMore")).isTrue();
+
+		// The cursor is the last returned change, so the rest follow (the last one may repeat)
+		String next = changes(token, LocalDateTime.parse(JsonPath.read(page, "$.cursor")), 2);
+		List<Number> nextIds = JsonPath.read(next, "$.changed[*].id");
+		assertThat(nextIds).extracting(Number::longValue).contains(third).doesNotContain(first);
+		assertThat((Boolean) JsonPath.read(next, "$.hasMore")).isFalse();
+	}
+
+	@Test
+	void cursorOlderThanTombstoneRetentionRequiresResync() throws Exception {
+		String token = register(mockMvc, "changes-stale");
+		create(mockMvc, token, job("Backend Engineer"));
+
+		String changes = changes(token, LocalDateTime.now().minusYears(1));
+		assertThat((Boolean) JsonPath.read(changes, "$.resync")).isTrue();
+		assertThat((List<?>) JsonPath.read(changes, "$.changed")).isEmpty();
+	}
+
+	private String changes(String token, LocalDateTime since) throws Exception {
+		return changes(token, since, 500);
+	}
+
+	private String changes(String token, LocalDateTime since, int limit) throws Exception {
+		return mockMvc.perform(get("/api/jobs/changes").param("since", since.toString())
+				.param("limit", String.valueOf(limit))
+				.header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+	}
+
+}
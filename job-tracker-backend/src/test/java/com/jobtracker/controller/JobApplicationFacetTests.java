@@ -0,0 +1,127 @@
+package com.jobtracker.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.jobtracker.support.TestApi.create;
+import static com.jobtracker.support.TestApi.job;
+import static com.jobtracker.support.TestApi.register;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * facets=true adds status, company (top 10) and month counts of the filtered list to the page
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JobApplicationFacetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void facetsCountTheFilteredList() throws Exception {
+		String token = register(mockMvc, "facet-count-user");
+		create(mockMvc, token, job("Backend Engineer").company("Acme").status("APPLIED").appliedDate("2026-01-15").tags("[\"remote\"]"));
+		create(mockMvc, token, job("Data Engineer").company("Acme").status("INTERVIEW").appliedDate("2026-01-20").tags("[\"remote\"]"));
+		create(mockMvc, token, job("Backend Developer").company("Globex").status("APPLIED").appliedDate("2026-02-03").tags("[]"));
+		create(mockMvc, token, job("Designer").company("Initech").status("APPLIED").appliedDate("2026-02-10").tags("[\"remote\"]"));
+
+		mockMvc.perform(get("/api/jobs?facets=true&keyword=engineer").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(2))
+			.andExpect(jsonPath("$.facets.status.APPLIED").value(1))
+			.andExpect(jsonPath("$.facets.status.INTERVIEW").value(1))
+			.andExpect(jsonPath("$.facets.status.OFFER").value(0))
+			.andExpect(jsonPath("$.facets.companies[0].value").value("Acme"))
+			.andExpect(jsonPath("$.facets.companies[0].count").value(2))
+			.andExpect(jsonPath("$.facets.months['2026-01']").value(2));
+
+		// Status counts ignore the status filter; the other facets do not
+		mockMvc.perform(get("/api/jobs?facets=true&status=APPLIED&tags=remote").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(2))
+			.andExpect(jsonPath("$.facets.status.APPLIED").value(2))
+			.andExpect(jsonPath("$.facets.status.INTERVIEW").value(1))
+			.andExpect(jsonPath("$.facets.companies.length()").value(2))
+			.andExpect(jsonPath("$.facets.months['2026-01']").value(1))
+			.andExpect(jsonPath("$.facets.months['2026-02']").value(1));
+
+		mockMvc.perform(get("/api/jobs?facets=true&startDate=2026-02-01").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.facets.months['2026-01']").doesNotExist())
+			.andExpect(jsonPath("$.facets.months['2026-02']").value(2));
+	}
+
+	@Test
+	void keywordMatchesLiterallyInPageAndFacets() throws Exception {
+		String token = register(mockMvc, "facet-keyword-user");
+		create(mockMvc, token, job("100% remote").company("Acme"));
+		create(mockMvc, token, job("1000 remote").company("Acme"));
+		create(mockMvc, token, job("Engineer").company("Foo_Bar"));
+		create(mockMvc, token, job("Engineer").company("FooXBar"));
+
+		// Wildcards in the keyword are plain characters; surrounding spaces are ignored
+		for (String keyword : List.of("100%", "foo_bar", " 100% ")) {
+			mockMvc.perform(get("/api/jobs").param("keyword", keyword).param("facets", "true")
+					.header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(1))
+				.andExpect(jsonPath("$.facets.status.APPLIED").value(1));
+			mockMvc.perform(get("/api/jobs").param("keyword", keyword).param("fields", "title")
+					.header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(1));
+		}
+	}
+
+	@Test
+	void companiesAreLimitedToTheTopTen() throws Exception {
+		String token = register(mockMvc, "facet-top-user");
+		for (int i = 0; i < 12; i++) {
+			create(mockMvc, token, job("Engineer").company("Company " + (char) ('A' + i)).status("APPLIED").appliedDate("2026-03-01").tags("[]"));
+		}
+		create(mockMvc, token, job("Engineer").company("Company L").status("APPLIED").appliedDate("2026-03-02").tags("[]"));
+
+		String response = mockMvc.perform(get("/api/jobs?facets=true").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.facets.companies.length()").value(10))
+			.andExpect(jsonPath("$.facets.companies[0].value").value("Company L"))
+			.andExpect(jsonPath("$.facets.companies[0].count").value(2))
+			.andExpect(jsonPath("$.facets.otherCompanies").value(2))
+			.andReturn().getResponse().getContentAsString();
+
+		// Ties are broken by name
+		List<String> companies = JsonPath.read(response, "$.facets.companies[*].value");
+		assertThat(companies.subList(1, companies.size())).isSorted();
+	}
+
+	@Test
+	void facetsAreOnlyReturnedWhenAsked() throws Exception {
+		String token = register(mockMvc, "facet-optional-user");
+		create(mockMvc, token, job("Engineer").company("Acme").status("APPLIED").appliedDate("2026-01-15").tags("[]"));
+
+		String response = mockMvc.perform(get("/api/jobs").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		Map<String, Object> page = JsonPath.read(response, "$");
+		assertThat(page).doesNotContainKey("facets");
+
+		mockMvc.perform(get("/api/jobs?facets=true&fields=title").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].title").value("Engineer"))
+			.andExpect(jsonPath("$.facets.status.APPLIED").value(1));
+	}
+
+}
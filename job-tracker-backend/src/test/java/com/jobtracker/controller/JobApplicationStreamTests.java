@@ -0,0 +1,57 @@
+package com.jobtracker.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
+
+import static com.jobtracker.support.TestApi.register;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The streaming list must return exactly what the regular list returns
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JobApplicationStreamTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JsonMapper jsonMapper;
+
+	@Test
+	void streamMatchesRegularList() throws Exception {
+		String token = register(mockMvc, "stream-user");
+		for (int i = 0; i < 5; i++) {
+			String job = """
+					{"title":"Engineer %d","company":"Acme","status":"APPLIED","appliedDate":"2026-01-1%d"%s}
+					""".formatted(i, i, i % 2 == 0 ? ",\"deadline\":\"2026-03-01\"" : "");
+			mockMvc.perform(post("/api/jobs").header("Authorization", "Bearer " + token)
+					.contentType(MediaType.APPLICATION_JSON).content(job))
+				.andExpect(status().isCreated());
+		}
+
+		for (String query : new String[] {"", "?size=2", "?page=1&size=2", "?page=2&size=2", "?page=9&size=2",
+				"?keyword=engineer%203", "?sortBy=title&sortDir=asc&size=3"}) {
+			assertThat(json("/api/jobs/stream" + query, token)).as(query).isEqualTo(json("/api/jobs" + query, token));
+		}
+	}
+
+	private Object json(String uri, String token) throws Exception {
+		String body = mockMvc.perform(get(uri).header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		return jsonMapper.readTree(body);
+	}
+
+}
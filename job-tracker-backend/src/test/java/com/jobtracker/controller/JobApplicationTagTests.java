@@ -0,0 +1,118 @@
+package com.jobtracker.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.jobtracker.support.TestApi.create;
+import static com.jobtracker.support.TestApi.job;
+import static com.jobtracker.support.TestApi.register;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tags are normalized, listed with applications and filter the job list (all or any),
+ * together with the other filters; updates replace them and deletes remove them
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JobApplicationTagTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void tagsAreNormalizedAndReturned() throws Exception {
+		String token = register(mockMvc, "tag-normalize-user");
+		long id = create(mockMvc, token, job("Backend Engineer").status("APPLIED").tags("[\" Remote \",\"FAANG\",\"remote\"]"));
+
+		mockMvc.perform(get("/api/jobs/" + id).header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.tags[0]").value("faang"))
+			.andExpect(jsonPath("$.tags[1]").value("remote"))
+			.andExpect(jsonPath("$.tags.length()").value(2));
+		mockMvc.perform(get("/api/jobs").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].tags.length()").value(2));
+		mockMvc.perform(get("/api/jobs/tags").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.remote").value(1))
+			.andExpect(jsonPath("$.faang").value(1));
+	}
+
+	@Test
+	void listFiltersByAllOrAnyTags() throws Exception {
+		String token = register(mockMvc, "tag-filter-user");
+		long remoteReferral = create(mockMvc, token, job("Backend Engineer").status("APPLIED").tags("[\"remote\",\"referral\"]"));
+		long remote = create(mockMvc, token, job("Data Engineer").status("INTERVIEW").tags("[\"remote\"]"));
+		long referral = create(mockMvc, token, job("Frontend Engineer").status("APPLIED").tags("[\"referral\"]"));
+		create(mockMvc, token, job("Platform Engineer").status("APPLIED").tags("[]"));
+
+		assertThat(ids(token, "tags=remote,referral")).containsExactlyInAnyOrder(remoteReferral);
+		assertThat(ids(token, "tags=remote,referral&tagMatch=any"))
+			.containsExactlyInAnyOrder(remoteReferral, remote, referral);
+		assertThat(ids(token, "tags=remote")).containsExactlyInAnyOrder(remoteReferral, remote);
+		assertThat(ids(token, "tags=remote,faang")).isEmpty();
+		// Combined with the other filters
+		assertThat(ids(token, "tags=remote&status=INTERVIEW")).containsExactlyInAnyOrder(remote);
+		assertThat(ids(token, "tags=referral&tagMatch=any&keyword=frontend")).containsExactlyInAnyOrder(referral);
+		assertThat(ids(token, "tags=remote&includeArchived=true")).containsExactlyInAnyOrder(remoteReferral, remote);
+	}
+
+	@Test
+	void updateReplacesTagsAndDeleteRemovesThem() throws Exception {
+		String token = register(mockMvc, "tag-update-user");
+		long id = create(mockMvc, token, job("Backend Engineer").status("APPLIED").tags("[\"remote\"]"));
+
+		// Without tags in the request the existing ones are kept
+		mockMvc.perform(put("/api/jobs/" + id).header("Authorization", "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON).content(job("Backend Engineer").status("SCREENING").json()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.tags[0]").value("remote"));
+		mockMvc.perform(put("/api/jobs/" + id).header("Authorization", "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON).content(job("Backend Engineer").status("SCREENING").tags("[\"referral\"]").json()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.tags[0]").value("referral"));
+
+		assertThat(ids(token, "tags=remote")).isEmpty();
+		assertThat(ids(token, "tags=referral")).containsExactly(id);
+
+		mockMvc.perform(delete("/api/jobs/" + id).header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk());
+		assertThat(ids(token, "tags=referral")).isEmpty();
+		mockMvc.perform(get("/api/jobs/tags").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.referral").doesNotExist());
+	}
+
+	@Test
+	void invalidTagFiltersAreRejected() throws Exception {
+		String token = register(mockMvc, "tag-reject-user");
+
+		mockMvc.perform(get("/api/jobs?tags=remote&tagMatch=some").header("Authorization", "Bearer " + token))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/jobs?tags=remote&fields=title").header("Authorization", "Bearer " + token))
+			.andExpect(status().isBadRequest());
+	}
+
+	private List<Long> ids(String token, String query) throws Exception {
+		String response = mockMvc.perform(get("/api/jobs?size=50&" + query).header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		List<Number> ids = JsonPath.read(response, "$.content[*].id");
+		return ids.stream().map(Number::longValue).toList();
+	}
+
+}
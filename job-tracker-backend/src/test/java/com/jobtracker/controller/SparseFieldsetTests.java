@@ -0,0 +1,89 @@
+package com.jobtracker.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.jobtracker.support.TestApi.create;
+import static com.jobtracker.support.TestApi.job;
+import static com.jobtracker.support.TestApi.register;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * fields= trims job responses to the requested fields and rejects unknown ones
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SparseFieldsetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void listReturnsOnlyRequestedFields() throws Exception {
+		String token = register(mockMvc, "sparse-list-user");
+		create(mockMvc, token, job("Backend Engineer").company("Acme").appliedDate("2026-01-15").notes("Referral"));
+		create(mockMvc, token, job("Data Engineer").company("Globex").appliedDate("2026-02-01").notes("Referral"));
+
+		String full = mockMvc.perform(get("/api/jobs?sortBy=company&sortDir=asc")
+				.header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		String sparse = mockMvc.perform(get("/api/jobs?sortBy=company&sortDir=asc&fields=company,appliedDate")
+				.header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(2))
+			.andReturn().getResponse().getContentAsString();
+
+		List<Map<String, Object>> fullContent = JsonPath.read(full, "$.content");
+		List<Map<String, Object>> sparseContent = JsonPath.read(sparse, "$.content");
+		assertThat(sparseContent).hasSameSizeAs(fullContent);
+		for (int i = 0; i < fullContent.size(); i++) {
+			assertThat(sparseContent.get(i)).containsOnlyKeys("id", "company", "appliedDate");
+			assertThat(sparseContent.get(i).get("id")).isEqualTo(fullContent.get(i).get("id"));
+			assertThat(sparseContent.get(i).get("company")).isEqualTo(fullContent.get(i).get("company"));
+			assertThat(sparseContent.get(i).get("appliedDate")).isEqualTo(fullContent.get(i).get("appliedDate"));
+		}
+	}
+
+	@Test
+	void singleApplicationReturnsOnlyRequestedFields() throws Exception {
+		String token = register(mockMvc, "sparse-single-user");
+		long id = create(mockMvc, token, job("Backend Engineer").company("Acme").appliedDate("2026-01-15").notes("Referral"));
+
+		String body = mockMvc.perform(get("/api/jobs/" + id + "?fields=notes,username")
+				.header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.id").value(id))
+			.andExpect(jsonPath("$.notes").value("Referral"))
+			.andExpect(jsonPath("$.username").value("sparse-single-user"))
+			.andReturn().getResponse().getContentAsString();
+
+		Map<String, Object> fields = JsonPath.read(body, "$");
+		assertThat(fields).containsOnlyKeys("id", "notes", "username");
+	}
+
+	@Test
+	void unknownFieldsAreRejected() throws Exception {
+		String token = register(mockMvc, "sparse-reject-user");
+		long id = create(mockMvc, token, job("Backend Engineer").company("Acme").appliedDate("2026-01-15").notes("Referral"));
+
+		// notes is not part of the list whitelist
+		mockMvc.perform(get("/api/jobs?fields=title,notes").header("Authorization", "Bearer " + token))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/jobs/" + id + "?fields=user.password").header("Authorization", "Bearer " + token))
+			.andExpect(status().isBadRequest());
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.jobtracker.datasource;
+
+import com.jobtracker.security.UserPrincipal;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two embedded H2 databases stand in for the primary and a replica;
+ * each holds a marker row naming itself
+ */
+class ReadWriteRoutingDataSourceTests {
+
+	private ReadWriteRoutingDataSource routingDataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private TransactionTemplate readOnlyTx;
+
+	private TransactionTemplate writeTx;
+
+	private final AtomicBoolean replicaDown = new AtomicBoolean();
+
+	@BeforeEach
+	void setUp() {
+		DataSource primary = database("primary");
+		DataSource replica = new DelegatingDataSource(database("replica")) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				if (replicaDown.get()) {
+					throw new SQLException("Connection refused");
+				}
+				return super.getConnection();
+			}
+		};
+		routingDataSource = new ReadWriteRoutingDataSource(primary, Map.of("replica-1", replica),
+				new ReadYourWritesTracker(Duration.ofMinutes(1)));
+		routingDataSource.afterPropertiesSet();
+
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		readOnlyTx = new TransactionTemplate(transactionManager);
+		readOnlyTx.setReadOnly(true);
+		writeTx = new TransactionTemplate(transactionManager);
+	}
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToReplica() {
+		assertThat(readOnlyNode()).isEqualTo("replica");
+		assertThat(writeNode()).isEqualTo("primary");
+	}
+
+	@Test
+	void unhealthyReplicaFallsBackToPrimary() {
+		replicaDown.set(true);
+		assertThat(readOnlyNode()).isEqualTo("primary");
+
+		// Stays on the primary after the replica recovers until the health check sees it
+		replicaDown.set(false);
+		assertThat(readOnlyNode()).isEqualTo("primary");
+
+		routingDataSource.checkReplicaHealth();
+		assertThat(readOnlyNode()).isEqualTo("replica");
+	}
+
+	@Test
+	void userReadsOwnWritesFromPrimary() {
+		authenticate(1L);
+		assertThat(readOnlyNode()).isEqualTo("replica");
+
+		writeTx.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET touched = TRUE"));
+		assertThat(readOnlyNode()).isEqualTo("primary");
+
+		// Other users are unaffected
+		authenticate(2L);
+		assertThat(readOnlyNode()).isEqualTo("replica");
+	}
+
+	private String readOnlyNode() {
+		return readOnlyTx.execute(status -> node());
+	}
+
+	private String writeNode() {
+		return writeTx.execute(status -> node());
+	}
+
+	private String node() {
+		return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+	}
+
+	private void authenticate(Long userId) {
+		UserPrincipal principal = new UserPrincipal(userId, "user" + userId, "USER");
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	private DataSource database(String name) {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:routing_" + name + "_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+		JdbcTemplate setup = new JdbcTemplate(dataSource);
+		setup.execute("CREATE TABLE node (name VARCHAR(20), touched BOOLEAN DEFAULT FALSE)");
+		setup.update("INSERT INTO node (name) VALUES (?)", name);
+		return dataSource;
+	}
+
+}
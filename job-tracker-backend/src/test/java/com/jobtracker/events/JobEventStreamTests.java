@@ -0,0 +1,121 @@
+package com.jobtracker.events;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.jobtracker.support.TestApi.create;
+import static com.jobtracker.support.TestApi.job;
+import static com.jobtracker.support.TestApi.register;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Job application changes are pushed to the user's event streams, and a reconnecting
+ * stream resumes from its Last-Event-ID
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JobEventStreamTests {
+
+	private static final Pattern EVENT = Pattern.compile("id:(\\S+)\\nevent:(\\S+)\\ndata:(.*)\\n");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void changesArePushedToTheOwnerOnly() throws Exception {
+		String token = register(mockMvc, "events-owner");
+		String otherToken = register(mockMvc, "events-other");
+		MockHttpServletResponse stream = open(token, null);
+		MockHttpServletResponse otherStream = open(otherToken, null);
+
+		long id = create(mockMvc, token, job("Backend Engineer"));
+		mockMvc.perform(delete("/api/jobs/" + id).header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk());
+
+		List<String[]> events = awaitEvents(stream, 2);
+		assertThat(events).extracting(event -> event[1]).containsExactly("change", "change");
+		assertThat((String) JsonPath.read(events.get(0)[2], "$.type")).isEqualTo("CREATED");
+		assertThat((String) JsonPath.read(events.get(1)[2], "$.type")).isEqualTo("DELETED");
+		assertThat(((Number) JsonPath.read(events.get(1)[2], "$.jobApplicationId")).longValue()).isEqualTo(id);
+		assertThat(events(otherStream)).isEmpty();
+	}
+
+	@Test
+	void reconnectReplaysMissedEvents() throws Exception {
+		String token = register(mockMvc, "events-resume");
+		MockHttpServletResponse stream = open(token, null);
+		create(mockMvc, token, job("Backend Engineer"));
+		String lastEventId = awaitEvents(stream, 1).get(0)[0];
+
+		long missed = create(mockMvc, token, job("Backend Engineer"));
+		MockHttpServletResponse resumed = open(token, lastEventId);
+
+		List<String[]> events = awaitEvents(resumed, 1);
+		assertThat(events).hasSize(1);
+		assertThat(((Number) JsonPath.read(events.get(0)[2], "$.jobApplicationId")).longValue()).isEqualTo(missed);
+
+		// An id from another run cannot be resumed from
+		List<String[]> unknown = awaitEvents(open(token, "0-1"), 1);
+		assertThat(unknown.get(0)[1]).isEqualTo("resync");
+	}
+
+	@Test
+	void slowConnectionIsClosedWhenItsBufferIsFull() {
+		JobEventConnection connection = new JobEventConnection(new SseEmitter(), 2);
+
+		assertThat(connection.offer(new JobEventConnection.Message("1", "change", "{}"))).isTrue();
+		assertThat(connection.offer(new JobEventConnection.Message("2", "change", "{}"))).isTrue();
+		assertThat(connection.offer(new JobEventConnection.Message("3", "change", "{}"))).isFalse();
+		assertThat(connection.isClosed()).isTrue();
+	}
+
+	private MockHttpServletResponse open(String token, String lastEventId) throws Exception {
+		MockHttpServletRequestBuilder request = get("/api/jobs/events").header("Authorization", "Bearer " + token);
+		if (lastEventId != null) {
+			request.header("Last-Event-ID", lastEventId);
+		}
+		MvcResult result = mockMvc.perform(request)
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		return result.getResponse();
+	}
+
+	private List<String[]> awaitEvents(MockHttpServletResponse stream, int count) throws Exception {
+		long deadline = System.currentTimeMillis() + 5000;
+		List<String[]> events = events(stream);
+		while (events.size() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			events = events(stream);
+		}
+		return events;
+	}
+
+	private List<String[]> events(MockHttpServletResponse stream) throws Exception {
+		List<String[]> events = new ArrayList<>();
+		Matcher matcher = EVENT.matcher(stream.getContentAsString());
+		while (matcher.find()) {
+			events.add(new String[] {matcher.group(1), matcher.group(2), matcher.group(3)});
+		}
+		return events;
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.jobtracker.limit;
+
+import com.jobtracker.limit.AdaptiveConcurrencyLimiter.Permit;
+import com.jobtracker.limit.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requests over the limit are shed, cheap ones keep a reserve, and the limit follows latency
+ */
+class AdaptiveConcurrencyLimiterTests {
+
+	private final AtomicLong now = new AtomicLong();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(), meterRegistry, now::get);
+
+	@Test
+	void lowPriorityRequestsLeaveRoomForCheapOnes() {
+		List<Permit> permits = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			permits.add(limiter.tryAcquire(Priority.LOW));
+		}
+
+		assertThat(permits).doesNotContainNull();
+		assertThat(limiter.tryAcquire(Priority.LOW)).isNull();
+		assertThat(limiter.tryAcquire(Priority.HIGH)).isNotNull();
+		assertThat(limiter.tryAcquire(Priority.HIGH)).isNotNull();
+		assertThat(limiter.tryAcquire(Priority.HIGH)).isNotNull();
+		assertThat(limiter.tryAcquire(Priority.HIGH)).isNull();
+		assertThat(limiter.getInFlight()).isEqualTo(10);
+		assertThat(meterRegistry.get("jobtracker.concurrency.rejected").tag("priority", "low").counter().count())
+			.isEqualTo(1);
+	}
+
+	@Test
+	void limitShrinksWhenLatencyRisesAndGrowsBackWhenItRecovers() {
+		saturate(10, 20);
+		int steady = limiter.getLimit();
+		assertThat(steady).isGreaterThan(10);
+
+		saturate(steady, 200);
+		int congested = limiter.getLimit();
+		assertThat(congested).isLessThan(steady);
+
+		saturate(congested, 20);
+		assertThat(limiter.getLimit()).isGreaterThan(congested);
+	}
+
+	@Test
+	void failuresBackOffAndIdleTrafficDoesNotGrowTheLimit() {
+		limiter.tryAcquire(Priority.HIGH).release(true);
+		assertThat(limiter.getLimit()).isEqualTo(9);
+
+		for (int i = 0; i < 50; i++) {
+			Permit permit = limiter.tryAcquire(Priority.HIGH);
+			now.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+			permit.release(false);
+		}
+		assertThat(limiter.getLimit()).isEqualTo(9);
+	}
+
+	/**
+	 * Run rounds of requests that fill the limit, each taking the given latency
+	 */
+	private void saturate(int concurrency, long latencyMillis) {
+		for (int round = 0; round < 20; round++) {
+			List<Permit> permits = new ArrayList<>();
+			for (int i = 0; i < concurrency; i++) {
+				Permit permit = limiter.tryAcquire(Priority.HIGH);
+				if (permit != null) {
+					permits.add(permit);
+				}
+			}
+			now.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+			permits.forEach(permit -> permit.release(false));
+		}
+	}
+
+	private static ConcurrencyLimitProperties properties() {
+		ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+		properties.setInitialLimit(10);
+		properties.setMinLimit(2);
+		properties.setMaxLimit(100);
+		properties.setLowPriorityShare(0.75);
+		return properties;
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.jobtracker.limit;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jobtracker.limit.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Shed requests get a 503 error body with Retry-After; paths outside the limit are not shed
+ */
+class ConcurrencyLimitFilterTests {
+
+	private final ConcurrencyLimitProperties properties = properties();
+
+	private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+
+	private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, properties, JsonMapper.builder().build());
+
+	@Test
+	void shedRequestsGetErrorResponseWithRetryAfter() throws Exception {
+		limiter.tryAcquire(Priority.HIGH);
+
+		MockHttpServletResponse response = perform("GET", "/api/dashboard");
+
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+		assertThat(response.getContentType()).startsWith("application/json");
+		String body = response.getContentAsString();
+		assertThat((Integer) JsonPath.read(body, "$.status")).isEqualTo(503);
+		assertThat((String) JsonPath.read(body, "$.error")).isEqualTo("Service Unavailable");
+		assertThat((String) JsonPath.read(body, "$.message")).isEqualTo("Server is busy, please retry");
+		assertThat((String) JsonPath.read(body, "$.timestamp")).isNotBlank();
+	}
+
+	@Test
+	void onlyLimitedPathsTakeASlot() throws Exception {
+		limiter.tryAcquire(Priority.HIGH);
+
+		assertThat(perform("GET", "/api/jobs/1").getStatus()).isEqualTo(503);
+		assertThat(perform("POST", "/api/auth/login").getStatus()).isEqualTo(200);
+		assertThat(perform("GET", "/api/jobs/events").getStatus()).isEqualTo(200);
+		assertThat(limiter.getInFlight()).isEqualTo(1);
+	}
+
+	private MockHttpServletResponse perform(String method, String path) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	private static ConcurrencyLimitProperties properties() {
+		ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+		properties.setInitialLimit(1);
+		properties.setMinLimit(1);
+		properties.setRetryAfter(Duration.ofSeconds(3));
+		return properties;
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.jobtracker.metrics;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jobtracker.entity.User;
+import com.jobtracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.jobtracker.support.TestApi.register;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exercises the API with the statement budget guard in fail mode (see application-test.properties),
+ * so any endpoint exceeding its @SqlStatementBudget fails the test
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlStatementBudgetTests {
+
+	private static final String JOB = """
+			{"title":"Backend Engineer","company":"Acme","status":"APPLIED","appliedDate":"2026-01-15","notes":"Referral"}
+			""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void jobEndpointsStayWithinBudget() throws Exception {
+		String token = register(mockMvc, "budget-user");
+
+		long id = 0;
+		for (int i = 0; i < 3; i++) {
+			String created = mockMvc.perform(post("/api/jobs").header("Authorization", "Bearer " + token)
+					.contentType(MediaType.APPLICATION_JSON).content(JOB))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+			id = ((Number) JsonPath.read(created, "$.id")).longValue();
+		}
+
+		mockMvc.perform(get("/api/jobs").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].title").value("Backend Engineer"))
+			.andExpect(jsonPath("$.content[0].notes").doesNotExist());
+		mockMvc.perform(get("/api/jobs/" + id).header("Authorization", "Bearer " + token))
+			.andExpect(jsonPath("$.notes").value("Referral"));
+		mockMvc.perform(get("/api/jobs/" + id).header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/jobs/stats").header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+		mockMvc.perform(put("/api/jobs/" + id).header("Authorization", "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON).content(JOB))
+			.andExpect(status().isOk());
+		mockMvc.perform(delete("/api/jobs/" + id).header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+
+		double listMax = meterRegistry.get("hibernate.statements.per.request")
+			.tag("method", "GET").tag("uri", "/api/jobs").summary().max();
+		assertThat(listMax).isPositive().isLessThanOrEqualTo(3);
+	}
+
+	@Test
+	void adminUserListDoesNotGrowWithUserCount() throws Exception {
+		register(mockMvc, "budget-admin");
+		User admin = userRepository.findByUsername("budget-admin").orElseThrow();
+		admin.setRole(User.Role.ADMIN);
+		userRepository.save(admin);
+
+		for (int i = 0; i < 5; i++) {
+			register(mockMvc, "budget-other-" + i);
+		}
+
+		String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"budget-admin\",\"password\":\"secret123\"}"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		String token = JsonPath.read(login, "$.token");
+
+		mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/admin/users/" + admin.getId()).header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk());
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.jobtracker.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private JwtTokenProvider tokenProvider;
+
+	@BeforeEach
+	void setUp() {
+		tokenProvider = newProvider(60000);
+	}
+
+	@Test
+	void accessTokenCarriesUserIdAndRole() {
+		String token = tokenProvider.generateAccessToken(42L, "alice", "ADMIN");
+
+		UserPrincipal principal = tokenProvider.parseAccessToken(token);
+
+		assertThat(principal.getId()).isEqualTo(42L);
+		assertThat(principal.getUsername()).isEqualTo("alice");
+		assertThat(principal.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+		assertThat(outcome("valid")).isEqualTo(1.0);
+	}
+
+	@Test
+	void refreshTokenIsNotAcceptedAsAccessToken() {
+		String refreshToken = tokenProvider.generateRefreshToken(42L, "alice");
+
+		assertThat(tokenProvider.parseAccessToken(refreshToken)).isNull();
+		assertThat(tokenProvider.parseRefreshToken(refreshToken).getId()).isNotBlank();
+		assertThat(outcome("wrong_type")).isEqualTo(1.0);
+	}
+
+	@Test
+	void countsExpiredAndMalformedTokens() {
+		JwtTokenProvider expiredProvider = newProvider(-1000);
+		String expired = expiredProvider.generateAccessToken(1L, "bob", "USER");
+
+		assertThat(tokenProvider.parseAccessToken(expired)).isNull();
+		assertThat(tokenProvider.parseAccessToken("not-a-jwt")).isNull();
+
+		assertThat(outcome("expired")).isEqualTo(1.0);
+		assertThat(outcome("malformed")).isEqualTo(1.0);
+	}
+
+	private JwtTokenProvider newProvider(long expirationMs) {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "jwtSecret", "TestSecretKeyThatIsAtLeast256BitsLongForHS256AlgorithmUse");
+		ReflectionTestUtils.setField(provider, "jwtExpirationMs", expirationMs);
+		ReflectionTestUtils.setField(provider, "refreshExpirationMs", 600000L);
+		ReflectionTestUtils.setField(provider, "meterRegistry", meterRegistry);
+		provider.init();
+		return provider;
+	}
+
+	private double outcome(String outcome) {
+		return meterRegistry.get("jwt.validation").tag("outcome", outcome).counter().count();
+	}
+
+}
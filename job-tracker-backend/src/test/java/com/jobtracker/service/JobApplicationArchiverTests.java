@@ -0,0 +1,150 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.JobApplicationRequest;
+import com.jobtracker.dto.JobApplicationResponse;
+import com.jobtracker.dto.JobApplicationSummary;
+import com.jobtracker.dto.PageResponse;
+import com.jobtracker.dto.RegisterRequest;
+import com.jobtracker.entity.JobApplication.ApplicationStatus;
+import com.jobtracker.facets.FacetIndex;
+import com.jobtracker.repository.ArchivedJobApplicationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JobApplicationArchiverTests {
+
+	@Autowired
+	private JobApplicationService jobApplicationService;
+
+	@Autowired
+	private JobApplicationArchiver archiver;
+
+	@Autowired
+	private ArchivedJobApplicationRepository archiveRepository;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private FacetIndex facetIndex;
+
+	@Test
+	void archivesOldClosedApplicationsAndRestoresOnAccess() {
+		userService.registerUser(registerRequest("archive-user"));
+		JobApplicationResponse oldRejected = create("archive-user", "Old rejected", ApplicationStatus.REJECTED);
+		JobApplicationResponse oldOpen = create("archive-user", "Old open", ApplicationStatus.INTERVIEW);
+		JobApplicationResponse recentRejected = create("archive-user", "Recent rejected", ApplicationStatus.REJECTED);
+		age(oldRejected.getId());
+		age(oldOpen.getId());
+
+		archiver.archive();
+
+		assertThat(archiveRepository.findById(oldRejected.getId())).isPresent();
+		assertThat(archiveRepository.findById(oldOpen.getId())).isEmpty();
+		assertThat(archiveRepository.findById(recentRejected.getId())).isEmpty();
+		assertThat(list("archive-user", false).getTotalElements()).isEqualTo(2);
+		assertThat(list("archive-user", true).getContent())
+			.extracting(JobApplicationSummary::getTitle)
+			.containsExactlyInAnyOrder("Old rejected", "Old open", "Recent rejected");
+		assertThat(jobApplicationService.getStatistics("archive-user").rejected).isEqualTo(2);
+
+		JobApplicationResponse restored = jobApplicationService.getJobApplicationById(oldRejected.getId(), "archive-user");
+
+		assertThat(restored.getTitle()).isEqualTo("Old rejected");
+		assertThat(restored.getNotes()).isEqualTo("Notes for Old rejected");
+		assertThat(archiveRepository.findById(oldRejected.getId())).isEmpty();
+		assertThat(list("archive-user", false).getTotalElements()).isEqualTo(3);
+
+		// Restoring counts as a change, so the next run does not archive it again
+		assertThat(restored.getUpdatedAt()).isAfter(LocalDateTime.now().minusMinutes(1));
+		archiver.archive();
+		assertThat(archiveRepository.findById(oldRejected.getId())).isEmpty();
+	}
+
+	@Test
+	void archivedApplicationsCanBeUpdatedAndDeleted() {
+		userService.registerUser(registerRequest("archive-edit-user"));
+		JobApplicationResponse updated = create("archive-edit-user", "To update", ApplicationStatus.WITHDRAWN);
+		JobApplicationResponse deleted = create("archive-edit-user", "To delete", ApplicationStatus.ACCEPTED);
+		age(updated.getId());
+		age(deleted.getId());
+		archiver.archive();
+
+		JobApplicationRequest request = request("Updated", ApplicationStatus.APPLIED);
+		assertThat(jobApplicationService.updateJobApplication(updated.getId(), request, "archive-edit-user").getStatus())
+			.isEqualTo(ApplicationStatus.APPLIED);
+		jobApplicationService.deleteJobApplication(deleted.getId(), "archive-edit-user");
+
+		assertThat(archiveRepository.findById(updated.getId())).isEmpty();
+		assertThat(archiveRepository.findById(deleted.getId())).isEmpty();
+		assertThat(list("archive-edit-user", true).getContent())
+			.extracting(JobApplicationSummary::getTitle)
+			.containsExactly("Updated");
+	}
+
+	@Test
+	void archivingReloadsTheFacets() {
+		userService.registerUser(registerRequest("archive-facet-user"));
+		Long userId = userService.findByUsername("archive-facet-user").getId();
+		JobApplicationResponse old = create("archive-facet-user", "Old rejected", ApplicationStatus.REJECTED);
+		create("archive-facet-user", "Recent rejected", ApplicationStatus.REJECTED);
+		age(old.getId());
+		assertThat(rejectedFacet(userId, false)).isEqualTo(2);
+
+		archiver.archive();
+
+		assertThat(rejectedFacet(userId, false)).isEqualTo(1);
+		assertThat(rejectedFacet(userId, true)).isEqualTo(2);
+	}
+
+	private long rejectedFacet(Long userId, boolean includeArchived) {
+		return facetIndex.facets(userId, null, null, null, null, null, includeArchived)
+			.getStatus().get(ApplicationStatus.REJECTED);
+	}
+
+	private JobApplicationResponse create(String username, String title, ApplicationStatus status) {
+		return jobApplicationService.createJobApplication(request(title, status), username);
+	}
+
+	private PageResponse<JobApplicationSummary> list(String username, boolean includeArchived) {
+		return jobApplicationService.getJobApplications(username, null, null, null, null, null, 0, 10,
+				"appliedDate", "desc", includeArchived);
+	}
+
+	private void age(Long id) {
+		jdbcTemplate.update("UPDATE job_applications SET updated_at = ? WHERE id = ?",
+				LocalDateTime.now().minusYears(1), id);
+	}
+
+	private JobApplicationRequest request(String title, ApplicationStatus status) {
+		JobApplicationRequest request = new JobApplicationRequest();
+		request.setTitle(title);
+		request.setCompany("Acme");
+		request.setStatus(status);
+		request.setAppliedDate(LocalDate.of(2025, 1, 15));
+		request.setNotes("Notes for " + title);
+		return request;
+	}
+
+	private RegisterRequest registerRequest(String username) {
+		RegisterRequest request = new RegisterRequest();
+		request.setUsername(username);
+		request.setEmail(username + "@example.com");
+		request.setPassword("secret123");
+		return request;
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.RegisterRequest;
+import com.jobtracker.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceCacheTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void usernameLookupsAreServedFromCache() {
+		User user = userService.registerUser(registerRequest("cache-user"));
+		Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		userService.findByUsername("cache-user");
+		long naturalIdHits = stats.getNaturalIdCacheHitCount();
+		long entityHits = stats.getSecondLevelCacheHitCount();
+
+		userService.findByUsername("cache-user");
+
+		assertThat(stats.getNaturalIdCacheHitCount()).isGreaterThan(naturalIdHits);
+		assertThat(stats.getSecondLevelCacheHitCount()).isGreaterThan(entityHits);
+		assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isTrue();
+	}
+
+	@Test
+	void roleChangeEvictsCachedUser() {
+		User user = userService.registerUser(registerRequest("cache-role-user"));
+		userService.findById(user.getId());
+		assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isTrue();
+
+		userService.updateRole(user.getId(), User.Role.ADMIN);
+
+		assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isFalse();
+		assertThat(userService.findByUsername("cache-role-user").getRole()).isEqualTo(User.Role.ADMIN);
+	}
+
+	private RegisterRequest registerRequest(String username) {
+		RegisterRequest request = new RegisterRequest();
+		request.setUsername(username);
+		request.setEmail(username + "@example.com");
+		request.setPassword("secret123");
+		return request;
+	}
+
+}
@@ -0,0 +1,295 @@
+package com.jobtracker.sharding;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Three embedded H2 databases stand in for the directory and two job shards
+ */
+class ShardingTests {
+
+	private static final List<String> SHARDS = List.of("shard-0", "shard-1", "shard-2");
+
+	private final Map<String, DataSource> databases = new LinkedHashMap<>();
+
+	private ShardRoutingDataSource routingDataSource;
+
+	private ShardDirectory directory;
+
+	private ShardRebalancer rebalancer;
+
+	private ShardQueryExecutor queryExecutor;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < SHARDS.size(); i++) {
+			databases.put(SHARDS.get(i), database(SHARDS.get(i), i));
+		}
+		routingDataSource = new ShardRoutingDataSource(databases, "shard-0");
+		routingDataSource.afterPropertiesSet();
+
+		directory = new ShardDirectory(new ConsistentHashRing(SHARDS, 128), "shard-0", databases.get("shard-0"));
+		directory.load();
+		rebalancer = new ShardRebalancer(directory, routingDataSource, Duration.ofSeconds(5));
+		queryExecutor = new ShardQueryExecutor(directory, new DataSourceTransactionManager(routingDataSource));
+		jdbcTemplate = new JdbcTemplate(routingDataSource);
+	}
+
+	@AfterEach
+	void tearDown() {
+		queryExecutor.close();
+		ShardContext.clear();
+	}
+
+	@Test
+	void ringSpreadsUsersEvenly() {
+		ConsistentHashRing ring = new ConsistentHashRing(SHARDS, 128);
+		Map<String, Integer> counts = new HashMap<>();
+		for (long userId = 1; userId <= 30_000; userId++) {
+			counts.merge(ring.shardFor(userId), 1, Integer::sum);
+		}
+
+		assertThat(counts).containsOnlyKeys(SHARDS);
+		assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(7_000, 13_000));
+	}
+
+	@Test
+	void addingShardOnlyMovesUsersToNewShard() {
+		ConsistentHashRing before = new ConsistentHashRing(SHARDS, 128);
+		ConsistentHashRing after = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+
+		int moved = 0;
+		for (long userId = 1; userId <= 30_000; userId++) {
+			String from = before.shardFor(userId);
+			String to = after.shardFor(userId);
+			if (!from.equals(to)) {
+				assertThat(to).isEqualTo("shard-3");
+				moved++;
+			}
+		}
+		assertThat(moved).isBetween(5_000, 10_000);
+	}
+
+	@Test
+	void routesToShardInContext() {
+		assertThat(node()).isEqualTo("shard-0");
+		assertThat(ShardContext.call("shard-2", this::node)).isEqualTo("shard-2");
+		assertThat(node()).isEqualTo("shard-0");
+	}
+
+	@Test
+	void fanOutQueriesEveryShard() {
+		Map<String, String> nodes = queryExecutor.onAllShards(this::node);
+
+		assertThat(nodes).containsExactly(entry("shard-0", "shard-0"), entry("shard-1", "shard-1"),
+				entry("shard-2", "shard-2"));
+	}
+
+	@Test
+	void rebalancerMovesUserRows() {
+		Long userId = userOn("shard-1");
+		createUser(userId);
+		rebalancer.syncUser(userId);
+		addApplications(userId, "shard-1", 3);
+		addAttachment(userId, "shard-1");
+		addTags(userId, "shard-1", "remote", "referral");
+		assertThat(applicationCount(userId, "shard-1")).isEqualTo(3);
+
+		int moved = rebalancer.moveUser(userId, "shard-2");
+
+		assertThat(moved).isEqualTo(7);
+		assertThat(directory.homeShard(userId)).isEqualTo("shard-2");
+		assertThat(applicationCount(userId, "shard-1")).isZero();
+		assertThat(applicationCount(userId, "shard-2")).isEqualTo(3);
+		for (String table : List.of("attachments", "job_application_attachments")) {
+			assertThat(rowCount(table, userId, "shard-1")).isZero();
+			assertThat(rowCount(table, userId, "shard-2")).isEqualTo(1);
+		}
+		assertThat(rowCount("job_application_tags", userId, "shard-1")).isZero();
+		assertThat(new JdbcTemplate(databases.get("shard-2")).queryForList(
+				"SELECT tag FROM job_application_tags WHERE user_id = ? ORDER BY tag", String.class, userId))
+				.containsExactly("referral", "remote");
+		assertThat(new JdbcTemplate(databases.get("shard-1"))
+				.queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, userId)).isZero();
+		assertThat(queryExecutor.onUserShard(userId, () -> applicationCount(userId, null))).isEqualTo(3);
+
+		// Assignments survive a restart
+		ShardDirectory reloaded = new ShardDirectory(new ConsistentHashRing(SHARDS, 128), "shard-0", databases.get("shard-0"));
+		reloaded.load();
+		assertThat(reloaded.homeShard(userId)).isEqualTo("shard-2");
+	}
+
+	@Test
+	void moveWaitsForInFlightRequests() throws Exception {
+		Long userId = userOn("shard-1");
+		createUser(userId);
+		rebalancer.syncUser(userId);
+		addApplications(userId, "shard-1", 2);
+		assertThat(directory.enter(userId)).isTrue();
+
+		CompletableFuture<Integer> move = CompletableFuture.supplyAsync(() -> rebalancer.moveUser(userId, "shard-2"));
+		while (!directory.isMoving(userId)) {
+			Thread.sleep(5);
+		}
+		Thread.sleep(50);
+
+		// New requests are turned away; the running one still sees its rows on the source
+		assertThat(directory.enter(userId)).isFalse();
+		assertThat(move).isNotDone();
+		assertThat(applicationCount(userId, "shard-2")).isZero();
+
+		directory.exit(userId);
+		assertThat(move.get()).isEqualTo(2);
+		assertThat(directory.homeShard(userId)).isEqualTo("shard-2");
+		assertThat(directory.enter(userId)).isTrue();
+		directory.exit(userId);
+	}
+
+	@Test
+	void moveGivesUpWhenRequestsDoNotFinish() {
+		Long userId = userOn("shard-1");
+		createUser(userId);
+		rebalancer.syncUser(userId);
+		addApplications(userId, "shard-1", 1);
+		ShardRebalancer impatient = new ShardRebalancer(directory, routingDataSource, Duration.ofMillis(50));
+		directory.enter(userId);
+
+		assertThatThrownBy(() -> impatient.moveUser(userId, "shard-2")).isInstanceOf(IllegalStateException.class);
+
+		assertThat(directory.homeShard(userId)).isEqualTo("shard-1");
+		assertThat(directory.isMoving(userId)).isFalse();
+		assertThat(applicationCount(userId, "shard-1")).isEqualTo(1);
+		directory.exit(userId);
+	}
+
+	@Test
+	void failedMoveLeavesUserOnSource() {
+		Long userId = userOn("shard-1");
+		createUser(userId);
+		rebalancer.syncUser(userId);
+		addApplications(userId, "shard-1", 2);
+
+		// Colliding id on the target: ids were not kept disjoint
+		Long otherUser = userOn("shard-2");
+		createUser(otherUser);
+		rebalancer.syncUser(otherUser);
+		Long collidingId = new JdbcTemplate(databases.get("shard-1"))
+				.queryForObject("SELECT MIN(id) FROM job_applications", Long.class);
+		new JdbcTemplate(databases.get("shard-2")).update(
+				"INSERT INTO job_applications (id, user_id, title) VALUES (?, ?, 'other')", collidingId, otherUser);
+
+		assertThatThrownBy(() -> rebalancer.moveUser(userId, "shard-2")).isInstanceOf(RuntimeException.class);
+
+		assertThat(directory.homeShard(userId)).isEqualTo("shard-1");
+		assertThat(directory.isMoving(userId)).isFalse();
+		assertThat(applicationCount(userId, "shard-1")).isEqualTo(2);
+		assertThat(applicationCount(userId, "shard-2")).isZero();
+	}
+
+	private String node() {
+		return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+	}
+
+	private Long userOn(String shard) {
+		ConsistentHashRing ring = new ConsistentHashRing(SHARDS, 128);
+		long userId = 1;
+		while (!ring.shardFor(userId).equals(shard)
+				|| new JdbcTemplate(databases.get("shard-0")).queryForObject(
+						"SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, userId) > 0) {
+			userId++;
+		}
+		return userId;
+	}
+
+	private void createUser(Long userId) {
+		new JdbcTemplate(databases.get("shard-0")).update(
+				"INSERT INTO users (id, username, role) VALUES (?, ?, 'USER')", userId, "user" + userId);
+	}
+
+	private void addApplications(Long userId, String shard, int count) {
+		JdbcTemplate shardJdbc = new JdbcTemplate(databases.get(shard));
+		for (int i = 0; i < count; i++) {
+			shardJdbc.update("INSERT INTO job_applications (user_id, title) VALUES (?, ?)", userId, "Job " + i);
+		}
+	}
+
+	/**
+	 * Attach one file to the user's first application on the shard
+	 */
+	private void addAttachment(Long userId, String shard) {
+		JdbcTemplate shardJdbc = new JdbcTemplate(databases.get(shard));
+		Long applicationId = shardJdbc.queryForObject(
+				"SELECT MIN(id) FROM job_applications WHERE user_id = ?", Long.class, userId);
+		shardJdbc.update("INSERT INTO attachments (user_id, sha256) VALUES (?, ?)", userId, "sha-" + userId);
+		Long attachmentId = shardJdbc.queryForObject(
+				"SELECT id FROM attachments WHERE user_id = ?", Long.class, userId);
+		shardJdbc.update("INSERT INTO job_application_attachments (job_application_id, attachment_id, user_id) "
+				+ "VALUES (?, ?, ?)", applicationId, attachmentId, userId);
+	}
+
+	/**
+	 * Tag the user's first application on the shard
+	 */
+	private void addTags(Long userId, String shard, String... tags) {
+		JdbcTemplate shardJdbc = new JdbcTemplate(databases.get(shard));
+		Long applicationId = shardJdbc.queryForObject(
+				"SELECT MIN(id) FROM job_applications WHERE user_id = ?", Long.class, userId);
+		for (String tag : tags) {
+			shardJdbc.update("INSERT INTO job_application_tags (job_application_id, user_id, tag) VALUES (?, ?, ?)",
+					applicationId, userId, tag);
+		}
+	}
+
+	private int applicationCount(Long userId, String shard) {
+		JdbcTemplate template = shard != null ? new JdbcTemplate(databases.get(shard)) : jdbcTemplate;
+		return template.queryForObject("SELECT COUNT(*) FROM job_applications WHERE user_id = ?", Integer.class, userId);
+	}
+
+	private int rowCount(String table, Long userId, String shard) {
+		return new JdbcTemplate(databases.get(shard))
+				.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE user_id = ?", Integer.class, userId);
+	}
+
+	private DataSource database(String name, int index) {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:sharding_" + name + "_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+		JdbcTemplate setup = new JdbcTemplate(dataSource);
+		setup.execute("CREATE TABLE node (name VARCHAR(20))");
+		setup.update("INSERT INTO node (name) VALUES (?)", name);
+		setup.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50), role VARCHAR(20))");
+		// Disjoint id ranges per shard
+		setup.execute("CREATE TABLE job_applications (id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH "
+				+ (index * 1_000_000L + 1) + ") PRIMARY KEY, "
+				+ "user_id BIGINT NOT NULL REFERENCES users (id), title VARCHAR(100))");
+		setup.execute("CREATE TABLE job_applications_archive (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, title VARCHAR(100))");
+		setup.execute("CREATE TABLE job_application_tombstones (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, deleted_at TIMESTAMP)");
+		setup.execute("CREATE TABLE attachments (id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH "
+				+ (index * 1_000_000L + 1) + ") PRIMARY KEY, "
+				+ "user_id BIGINT NOT NULL, sha256 VARCHAR(64) NOT NULL, UNIQUE (user_id, sha256))");
+		setup.execute("CREATE TABLE job_application_attachments (job_application_id BIGINT NOT NULL, "
+				+ "attachment_id BIGINT NOT NULL, user_id BIGINT NOT NULL, PRIMARY KEY (job_application_id, attachment_id))");
+		setup.execute("CREATE TABLE job_application_tags (job_application_id BIGINT NOT NULL, user_id BIGINT NOT NULL, "
+				+ "tag VARCHAR(50) NOT NULL, PRIMARY KEY (job_application_id, tag))");
+		setup.execute("CREATE TABLE user_shard_assignments (user_id BIGINT NOT NULL PRIMARY KEY, shard VARCHAR(64) NOT NULL)");
+		return dataSource;
+	}
+
+}
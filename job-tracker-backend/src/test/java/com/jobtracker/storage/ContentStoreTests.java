@@ -0,0 +1,103 @@
+package com.jobtracker.storage;
+
+import com.jobtracker.exception.PayloadTooLargeException;
+import com.jobtracker.storage.ContentStore.StoredContent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Content is stored once per SHA-256, served by range and collected when unreferenced
+ */
+class ContentStoreTests {
+
+	// SHA-256 of "hello world"
+	private static final String HELLO_SHA256 = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+	@TempDir
+	private Path root;
+
+	@Test
+	void identicalContentIsStoredOnce() throws Exception {
+		ContentStore store = new ContentStore(root, 1024);
+
+		StoredContent first = store.store(stream("hello world"));
+		StoredContent second = store.store(stream("hello world"));
+
+		assertThat(first.sha256()).isEqualTo(HELLO_SHA256);
+		assertThat(first.size()).isEqualTo(11);
+		assertThat(first.deduplicated()).isFalse();
+		assertThat(second.deduplicated()).isTrue();
+		assertThat(Files.readString(store.path(HELLO_SHA256))).isEqualTo("hello world");
+		// Only the content file remains; the upload scratch directory is empty
+		try (var files = Files.walk(root)) {
+			assertThat(files.filter(Files::isRegularFile)).containsExactly(store.path(HELLO_SHA256));
+		}
+	}
+
+	@Test
+	void transfersRequestedRange() throws Exception {
+		ContentStore store = new ContentStore(root, 1024);
+		store.store(stream("hello world"));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long sent = store.transferTo(HELLO_SHA256, 6, 5, Channels.newChannel(out));
+
+		assertThat(sent).isEqualTo(5);
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("world");
+	}
+
+	@Test
+	void rejectsContentOverMaximumSize() throws Exception {
+		ContentStore store = new ContentStore(root, 5);
+
+		assertThatThrownBy(() -> store.store(stream("hello world"))).isInstanceOf(PayloadTooLargeException.class);
+		try (var files = Files.walk(root)) {
+			assertThat(files.filter(Files::isRegularFile)).isEmpty();
+		}
+	}
+
+	@Test
+	void collectsOnlyUnreferencedContentPastGracePeriod() throws Exception {
+		ContentStore store = new ContentStore(root, 1024);
+		String kept = store.store(stream("resume")).sha256();
+		String orphaned = store.store(stream("old cover letter")).sha256();
+		String recent = store.store(stream("just uploaded")).sha256();
+		FileTime twoHoursAgo = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+		Files.setLastModifiedTime(store.path(kept), twoHoursAgo);
+		Files.setLastModifiedTime(store.path(orphaned), twoHoursAgo);
+
+		int deleted = store.collectGarbage(Set.of(kept), Duration.ofHours(1));
+
+		assertThat(deleted).isEqualTo(1);
+		assertThat(store.path(kept)).exists();
+		assertThat(store.path(orphaned)).doesNotExist();
+		// Not referenced yet, but may be about to be
+		assertThat(store.path(recent)).exists();
+	}
+
+	@Test
+	void rejectsPathsThatAreNotHashes() {
+		ContentStore store = new ContentStore(root, 1024);
+
+		assertThatThrownBy(() -> store.path("../../etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static ByteArrayInputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,115 @@
+package com.jobtracker.support;
+
+import com.jayway.jsonpath.JsonPath;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Request fixtures shared by the MockMvc tests: registering users and creating job applications
+ */
+public final class TestApi {
+
+	private TestApi() {
+	}
+
+	/**
+	 * Registers a user (email username@example.com, password secret123) and returns the access token
+	 */
+	public static String register(MockMvc mockMvc, String username) throws Exception {
+		return JsonPath.read(registration(mockMvc, username), "$.token");
+	}
+
+	/**
+	 * Registers a user and returns the whole JWT response, including the refresh token
+	 */
+	public static String registration(MockMvc mockMvc, String username) throws Exception {
+		String body = "{\"username\":\"%s\",\"email\":\"%s@example.com\",\"password\":\"secret123\"}"
+			.formatted(username, username);
+		return mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(body))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString();
+	}
+
+	/**
+	 * Creates a job application and returns its id
+	 */
+	public static long create(MockMvc mockMvc, String token, Job job) throws Exception {
+		String response = mockMvc.perform(post("/api/jobs").header("Authorization", "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON).content(job.json()))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString();
+		return ((Number) JsonPath.read(response, "$.id")).longValue();
+	}
+
+	public static Job job(String title) {
+		return new Job(title);
+	}
+
+	/**
+	 * Job application request body; company Acme, status APPLIED and applied 2026-01-15 unless set
+	 * Tags are raw JSON so tests can send values that need normalizing
+	 */
+	public static final class Job {
+
+		private final String title;
+		private String company = "Acme";
+		private String status = "APPLIED";
+		private String appliedDate = "2026-01-15";
+		private String deadline;
+		private String notes;
+		private String tags;
+
+		private Job(String title) {
+			this.title = title;
+		}
+
+		public Job company(String company) {
+			this.company = company;
+			return this;
+		}
+
+		public Job status(String status) {
+			this.status = status;
+			return this;
+		}
+
+		public Job appliedDate(Object appliedDate) {
+			this.appliedDate = appliedDate.toString();
+			return this;
+		}
+
+		public Job deadline(Object deadline) {
+			this.deadline = deadline.toString();
+			return this;
+		}
+
+		public Job notes(String notes) {
+			this.notes = notes;
+			return this;
+		}
+
+		public Job tags(String tags) {
+			this.tags = tags;
+			return this;
+		}
+
+		public String json() {
+			StringBuilder json = new StringBuilder("{\"title\":\"%s\",\"company\":\"%s\",\"status\":\"%s\",\"appliedDate\":\"%s\""
+				.formatted(title, company, status, appliedDate));
+			if (deadline != null) {
+				json.append(",\"deadline\":\"").append(deadline).append('"');
+			}
+			if (notes != null) {
+				json.append(",\"notes\":\"").append(notes).append('"');
+			}
+			if (tags != null) {
+				json.append(",\"tags\":").append(tags);
+			}
+			return json.append('}').toString();
+		}
+	}
+
+}
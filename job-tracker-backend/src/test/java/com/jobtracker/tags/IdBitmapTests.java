@@ -0,0 +1,76 @@
+package com.jobtracker.tags;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bitmaps hold the same ids as a sorted set, for sparse (array) and dense (bitmap) containers
+ */
+class IdBitmapTests {
+
+	@Test
+	void holdsDistinctIdsInOrder() {
+		IdBitmap bitmap = IdBitmap.of(70_000, 3, 3, 65_535, 65_536);
+
+		assertThat(bitmap.toList()).containsExactly(3L, 65_535L, 65_536L, 70_000L);
+		assertThat(bitmap.cardinality()).isEqualTo(4);
+		assertThat(bitmap.contains(65_536)).isTrue();
+		assertThat(bitmap.contains(4)).isFalse();
+		assertThat(IdBitmap.EMPTY.isEmpty()).isTrue();
+	}
+
+	@Test
+	void andAndOrMatchSetOperations() {
+		Random random = new Random(42);
+		for (int round = 0; round < 20; round++) {
+			// Dense rounds put more than 4096 ids in a container, so bitmap containers are exercised too
+			int range = round % 2 == 0 ? 1_000_000 : 20_000;
+			TreeSet<Long> left = randomIds(random, 6_000, range);
+			TreeSet<Long> right = randomIds(random, 6_000, range);
+
+			IdBitmap a = IdBitmap.of(toArray(left));
+			IdBitmap b = IdBitmap.of(toArray(right));
+
+			TreeSet<Long> intersection = new TreeSet<>(left);
+			intersection.retainAll(right);
+			TreeSet<Long> union = new TreeSet<>(left);
+			union.addAll(right);
+
+			assertThat(a.toList()).containsExactlyElementsOf(left);
+			assertThat(a.and(b).toList()).containsExactlyElementsOf(intersection);
+			assertThat(a.or(b).toList()).containsExactlyElementsOf(union);
+			assertThat(a.and(b).cardinality()).isEqualTo(intersection.size());
+			assertThat(a.or(b).cardinality()).isEqualTo(union.size());
+		}
+	}
+
+	@Test
+	void negativeIdsAreRejected() {
+		assertThatThrownBy(() -> IdBitmap.of(1, -1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static TreeSet<Long> randomIds(Random random, int count, int range) {
+		TreeSet<Long> ids = new TreeSet<>();
+		for (int i = 0; i < count; i++) {
+			ids.add((long) random.nextInt(range));
+		}
+		return ids;
+	}
+
+	private static long[] toArray(TreeSet<Long> ids) {
+		List<Long> list = new ArrayList<>(ids);
+		long[] result = new long[list.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = list.get(i);
+		}
+		return result;
+	}
+
+}